@@ -1,2 +1,108 @@
 alter table USER_LOGIN add column ROLE varchar(50) not null default 'APPLICANT';
 alter table USER_LOGIN add constraint check_USER_ROLE check(ROLE in ('APPLICANT'));
+
+create table JWT_SIGNING_KEY (
+	KID varchar(64) primary key,
+	ALGORITHM varchar(10) not null check(ALGORITHM in ('ES256', 'EdDSA')),
+	PUBLIC_KEY text not null,
+	PRIVATE_KEY text not null,
+	ACTIVATES_AT timestamp with time zone not null unique,
+	RETIRES_AT timestamp with time zone not null,
+	EXPIRES_AT timestamp with time zone not null,
+	CREATED_AT timestamp with time zone default current_timestamp not null
+);
+
+create table REFRESH_TOKEN_FAMILY (
+	FAMILY_ID uuid primary key,
+	USER_LOGIN_ID bigint not null references USER_LOGIN(USER_LOGIN_ID) on delete cascade,
+	GENERATION integer not null,
+	REVOKED boolean not null default false,
+	EXPIRES_AT timestamp with time zone not null,
+	UPDATED_AT timestamp with time zone default current_timestamp not null
+);
+create index idx_REFRESH_TOKEN_FAMILY_USER_LOGIN_ID on REFRESH_TOKEN_FAMILY(USER_LOGIN_ID);
+create index idx_REFRESH_TOKEN_FAMILY_EXPIRES_AT on REFRESH_TOKEN_FAMILY(EXPIRES_AT);
+
+create table TOKEN_REVOCATION (
+	TOKEN_REVOCATION_ID bigserial primary key,
+	SUBJECT bigint not null,
+	REVOKED_BEFORE timestamp with time zone not null,
+	EXPIRES_AT timestamp with time zone not null,
+	CREATED_AT timestamp with time zone default current_timestamp not null
+);
+create index idx_TOKEN_REVOCATION_CREATED_AT on TOKEN_REVOCATION(CREATED_AT);
+create index idx_TOKEN_REVOCATION_EXPIRES_AT on TOKEN_REVOCATION(EXPIRES_AT);
+
+create table OUTBOX_MESSAGE (
+	OUTBOX_MESSAGE_ID bigserial primary key,
+	EXCHANGE varchar(255) not null,
+	ROUTING_KEY varchar(255) not null,
+	PAYLOAD text not null,
+	PAYLOAD_TYPE varchar(255),
+	ATTEMPTS integer not null default 0,
+	NEXT_ATTEMPT_AT timestamp with time zone default current_timestamp not null,
+	LAST_ERROR varchar(500),
+	CREATED_AT timestamp with time zone default current_timestamp not null
+);
+create index idx_OUTBOX_MESSAGE_NEXT_ATTEMPT_AT on OUTBOX_MESSAGE(NEXT_ATTEMPT_AT);
+
+create index idx_USER_LOGIN_CREATED_AT on USER_LOGIN(CREATED_AT);
+
+-- every lookup goes through the canonical address, see EmailNormalizer; EMAIL_ADDRESS keeps the form as entered
+alter table USER_LOGIN add column EMAIL_ADDRESS_CANONICAL varchar(300);
+
+-- duplicate-merge report: accounts whose addresses differ only in case or surrounding spaces.
+-- The survivor (an ACTIVE account first, then the oldest) keeps the canonical address; the others are
+-- parked under a suffixed one so they can no longer log in and must be merged by support.
+create view USER_LOGIN_DUPLICATE_EMAIL as
+select lower(trim(EMAIL_ADDRESS)) as EMAIL_ADDRESS_CANONICAL, USER_LOGIN_ID, EMAIL_ADDRESS, STATUS, CREATED_AT,
+	row_number() over (partition by lower(trim(EMAIL_ADDRESS))
+		order by (STATUS = 'ACTIVE') desc, CREATED_AT, USER_LOGIN_ID) = 1 as SURVIVOR
+from USER_LOGIN
+where lower(trim(EMAIL_ADDRESS)) in (
+	select lower(trim(EMAIL_ADDRESS)) from USER_LOGIN group by lower(trim(EMAIL_ADDRESS)) having count(*) > 1);
+
+update USER_LOGIN u set EMAIL_ADDRESS_CANONICAL = case
+	when exists (select 1 from USER_LOGIN_DUPLICATE_EMAIL d where d.USER_LOGIN_ID = u.USER_LOGIN_ID and not d.SURVIVOR)
+		then lower(trim(u.EMAIL_ADDRESS)) || '#duplicate-' || u.USER_LOGIN_ID
+	else lower(trim(u.EMAIL_ADDRESS)) end;
+
+alter table USER_LOGIN alter column EMAIL_ADDRESS_CANONICAL set not null;
+alter table USER_LOGIN add constraint unique_USER_LOGIN_EMAIL_ADDRESS_CANONICAL unique (EMAIL_ADDRESS_CANONICAL);
+
+-- one row per cluster-wide scheduled job, see SchedulerLeaseService
+create table SCHEDULER_LEASE (
+	LEASE_NAME varchar(100) primary key,
+	OWNER varchar(100) not null,
+	EXPIRES_AT timestamp with time zone not null
+);
+
+-- PendingAccountSweeper walks pending accounts in id order
+create index idx_USER_LOGIN_PENDING_VERIFICATION on USER_LOGIN(USER_LOGIN_ID) where STATUS = 'PENDING_VERIFICATION';
+
+-- UserLogin and OutboxMessage ids are reserved in blocks of spring.jpa.properties.id.sequence.allocation.size
+-- (pooled optimizer), so Hibernate can batch their inserts. The native inserts still take nextval from the
+-- column default; the pooled blocks end at a value Hibernate fetched itself, so the two never overlap.
+alter sequence USER_LOGIN_USER_LOGIN_ID_SEQ increment by 50;
+alter sequence OUTBOX_MESSAGE_OUTBOX_MESSAGE_ID_SEQ increment by 50;
+
+-- suspensions revoke tokens for a whole chunk of accounts in one JDBC batch, see PooledSequenceGenerator
+alter sequence TOKEN_REVOCATION_TOKEN_REVOCATION_ID_SEQ increment by 50;
+
+-- failed-login counts and lockouts per canonical email, with or without an account, written in batches by
+-- LoginFailureTracker; deleting a row lifts its lock on every instance within one flush interval
+create table LOGIN_FAILURE (
+	EMAIL_ADDRESS_CANONICAL varchar(300) primary key,
+	FAILED_LOGIN_ATTEMPTS integer not null,
+	LAST_FAILED_LOGIN_AT timestamp with time zone not null,
+	LOCKED_UNTIL timestamp with time zone
+);
+create index idx_LOGIN_FAILURE_LOCKED_UNTIL on LOGIN_FAILURE(LOCKED_UNTIL) where LOCKED_UNTIL is not null;
+
+-- latest successful login, written in batches by LastLoginTracker; indexed for inactivity reports
+alter table USER_LOGIN add column LAST_LOGIN_AT timestamp with time zone;
+create index idx_USER_LOGIN_LAST_LOGIN_AT on USER_LOGIN(LAST_LOGIN_AT);
+
+-- ADMIN accounts call the /api/v1/admin endpoints; see readme-steps to-start-this-app.txt for provisioning one
+alter table USER_LOGIN drop constraint check_USER_ROLE;
+alter table USER_LOGIN add constraint check_USER_ROLE check(ROLE in ('APPLICANT', 'ADMIN'));
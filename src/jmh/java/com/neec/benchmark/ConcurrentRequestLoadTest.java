@@ -0,0 +1,125 @@
+package com.neec.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load test against a running instance: {@code load.test.connections} clients each keep one
+ * request in flight for {@code load.test.duration.seconds}, then throughput, latency and the server's
+ * heap and live threads are printed. The default target is /verify with an unknown token, which goes
+ * through the servlet and JDBC path without hashing a password.
+ * <p>
+ * To compare thread modes, run it twice against the same database, once with the service started
+ * with -Dspring.threads.virtual.enabled=false and once with =true (on Java 21, built with -Pjava21).
+ * Server memory is read from /actuator/metrics, which only the loadtest profile exposes and permits, so
+ * start the service with --spring.profiles.active=loadtest:
+ * <pre>
+ * java -Dspring.threads.virtual.enabled=true -Djdk.tracePinnedThreads=short -jar target/*.jar --spring.profiles.active=loadtest
+ * mvn -Pbenchmark -DskipTests test-compile
+ * java -Dload.test.connections=5000 -cp target/test-classes com.neec.benchmark.ConcurrentRequestLoadTest
+ * </pre>
+ * -Djdk.tracePinnedThreads=short logs any carrier pinning during the run. The client needs an open-file
+ * limit above the connection count.
+ */
+public class ConcurrentRequestLoadTest {
+	private static final Pattern MEASUREMENT_VALUE = Pattern.compile("\"value\"\\s*:\\s*([0-9.Ee+-]+)");
+
+	public static void main(String[] args) throws Exception {
+		String baseUrl = System.getProperty("load.test.base.url", "http://localhost:9051");
+		String path = System.getProperty("load.test.path", "/api/v1/auth/verify?token=load-test-" + UUID.randomUUID());
+		int connections = Integer.getInteger("load.test.connections", 5000);
+		int durationSeconds = Integer.getInteger("load.test.duration.seconds", 60);
+		int warmupSeconds = Integer.getInteger("load.test.warmup.seconds", 15);
+
+		HttpClient httpClient = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(30))
+				.build();
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.timeout(Duration.ofSeconds(60))
+				.GET()
+				.build();
+
+		LoadStatistics statistics = new LoadStatistics();
+		long warmupEnds = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+		long runEnds = warmupEnds + TimeUnit.SECONDS.toNanos(durationSeconds);
+		CountDownLatch finished = new CountDownLatch(connections);
+		for(int client = 0; client < connections; client++) {
+			send(httpClient, request, statistics, warmupEnds, runEnds, finished);
+		}
+
+		Thread.sleep(TimeUnit.NANOSECONDS.toMillis(warmupEnds - System.nanoTime()) + durationSeconds * 500L);
+		String heapUsed = serverMetric(httpClient, baseUrl, "jvm.memory.used?tag=area:heap");
+		String liveThreads = serverMetric(httpClient, baseUrl, "jvm.threads.live");
+		finished.await(durationSeconds + 120L, TimeUnit.SECONDS);
+
+		long completed = statistics.completed.sum();
+		System.out.printf("connections            %d%n", connections);
+		System.out.printf("requests completed     %d (%d failed)%n", completed, statistics.failed.sum());
+		System.out.printf("throughput             %.1f requests/s%n", completed / (double) durationSeconds);
+		System.out.printf("mean latency           %.1f ms%n",
+				completed == 0 ? 0 : statistics.latencyNanos.sum() / (double) completed / 1_000_000);
+		System.out.printf("max latency            %.1f ms%n", statistics.maxLatencyNanos.get() / 1_000_000.0);
+		System.out.printf("server heap used       %s bytes (mid-run)%n", heapUsed);
+		System.out.printf("server live threads    %s (mid-run)%n", liveThreads);
+	}
+
+	// each client sends its next request when the previous one completes, until the run ends
+	private static void send(HttpClient httpClient, HttpRequest request, LoadStatistics statistics,
+			long warmupEnds, long runEnds, CountDownLatch finished) {
+		long startedAt = System.nanoTime();
+		if(startedAt >= runEnds) {
+			finished.countDown();
+			return;
+		}
+		httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+			.whenCompleteAsync((response, ex) -> {
+				long completedAt = System.nanoTime();
+				if(startedAt >= warmupEnds && completedAt < runEnds) {
+					statistics.record(completedAt - startedAt, ex != null || response.statusCode() >= 500);
+				}
+				send(httpClient, request, statistics, warmupEnds, runEnds, finished);
+			});
+	}
+
+	private static String serverMetric(HttpClient httpClient, String baseUrl, String metric) {
+		try {
+			HttpResponse<String> response = httpClient.send(
+					HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + metric)).GET().build(),
+					HttpResponse.BodyHandlers.ofString());
+			Matcher matcher = MEASUREMENT_VALUE.matcher(response.body());
+			if(response.statusCode() == 200 && matcher.find()) {
+				return String.format("%.0f", Double.parseDouble(matcher.group(1)));
+			}
+			return "unavailable (HTTP " + response.statusCode() + ", is the loadtest profile active?)";
+		} catch (Exception ex) {
+			return "unavailable (" + ex + ")";
+		}
+	}
+
+	private static final class LoadStatistics {
+		private final LongAdder completed = new LongAdder();
+		private final LongAdder failed = new LongAdder();
+		private final LongAdder latencyNanos = new LongAdder();
+		private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+		private void record(long latency, boolean failure) {
+			completed.increment();
+			if(failure) {
+				failed.increment();
+			}
+			latencyNanos.add(latency);
+			maxLatencyNanos.accumulateAndGet(latency, Math::max);
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.neec.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neec.dto.UserCredentialDTO;
+import com.neec.enums.EnumRole;
+import com.neec.enums.EnumUserAccountStatus;
+import com.neec.service.CredentialCache;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@value #CONCURRENT_LOGINS} logins missing the credential cache at once, each on its own virtual thread,
+ * with the database read simulated by a {@value #LOAD_MILLIS} ms sleep. "compute" loads inside
+ * Cache.get(key, loader) as CredentialCache did before: the map's bin lock pins the carrier for the whole
+ * read, so at most one load per carrier is in flight. "future" is CredentialCache.get as it is now.
+ * <p>
+ * Needs Java 21: mvn -Pjava21,benchmark -DskipTests verify -Djmh.include=CredentialCacheLoadBenchmark.
+ * The fork runs on 4 carriers so results compare across machines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.virtualThreadScheduler.parallelism=4")
+public class CredentialCacheLoadBenchmark {
+	static final int CONCURRENT_LOGINS = 1000;
+	static final long LOAD_MILLIS = 5;
+
+	@Param({"compute", "future"})
+	private String loading;
+
+	private ExecutorService virtualThreads;
+	private Cache<String, Optional<UserCredentialDTO>> computeCache;
+	private CredentialCache credentialCache;
+	private long invocation;
+	private final Function<String, Optional<UserCredentialDTO>> loader = emailAddressCanonical -> {
+		try {
+			Thread.sleep(LOAD_MILLIS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		return Optional.of(UserCredentialDTO.builder()
+				.userLoginId(1L)
+				.emailAddress(emailAddressCanonical)
+				.hashedPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z5ZdP1YuOKQ3mUu0vYfP3XGa")
+				.accountStatus(EnumUserAccountStatus.ACTIVE)
+				.role(EnumRole.APPLICANT)
+				.build());
+	};
+
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+		// looked up reflectively so the benchmark sources still compile on Java 17
+		virtualThreads = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		computeCache = Caffeine.newBuilder().maximumSize(1_000_000).build();
+		// the cache without its LISTEN connection, marked as listening so get() uses it
+		credentialCache = new CredentialCache(null, null, new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(credentialCache, "credentials", Caffeine.newBuilder()
+				.maximumSize(1_000_000)
+				.expireAfterWrite(Duration.ofMinutes(5))
+				.buildAsync());
+		ReflectionTestUtils.setField(credentialCache, "entryAgeTimer", Timer.builder("entry.age").register(new SimpleMeterRegistry()));
+		ReflectionTestUtils.setField(credentialCache, "listening", true);
+	}
+
+	@TearDown
+	public void tearDown() {
+		virtualThreads.shutdownNow();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CONCURRENT_LOGINS)
+	public void concurrentMisses() throws Exception {
+		// new addresses every invocation, so every get is a miss
+		String prefix = "login-" + invocation++ + "-";
+		List<Future<Optional<UserCredentialDTO>>> logins = new ArrayList<>(CONCURRENT_LOGINS);
+		for(int login = 0; login < CONCURRENT_LOGINS; login++) {
+			String emailAddressCanonical = prefix + login + "@gmail.com";
+			logins.add(virtualThreads.submit(() -> "compute".equals(loading)
+					? computeCache.get(emailAddressCanonical, loader)
+					: credentialCache.get(emailAddressCanonical, loader)));
+		}
+		for(Future<Optional<UserCredentialDTO>> login : logins) {
+			login.get();
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package com.neec.benchmark;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.neec.entity.OutboxMessage;
+
+/**
+ * Rows per second persisted through Hibernate, {@value #ROWS_PER_TRANSACTION} per transaction as a bulk
+ * import chunk writes them. batchSize=1 sends one INSERT round trip per row, which is what IDENTITY ids
+ * forced; 50 is the configured JDBC batch. Ids come from the pooled sequence either way, so the database
+ * needs the sequence migration. Connection settings as in {@link LoginLookupBenchmark}; adding
+ * reWriteBatchedInserts=true to the URL lets the driver fold each batch into multi-row INSERTs. Not run by
+ * default; select it with -Djmh.include=InsertBatchingBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBatchingBenchmark {
+	static final int ROWS_PER_TRANSACTION = 500;
+
+	@Param({"1", "50"})
+	private int batchSize;
+
+	private SessionFactory sessionFactory;
+	private String exchange;
+
+	@Setup
+	public void setup() {
+		sessionFactory = new Configuration()
+				.addAnnotatedClass(OutboxMessage.class)
+				.setProperty("hibernate.connection.url",
+						System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/postgres"))
+				.setProperty("hibernate.connection.username", System.getProperty("benchmark.jdbc.username", "postgres"))
+				.setProperty("hibernate.connection.password", System.getProperty("benchmark.jdbc.password", "postgres"))
+				.setProperty("hibernate.hbm2ddl.auto", "none")
+				.setProperty("hibernate.jdbc.batch_size", String.valueOf(batchSize))
+				.setProperty("hibernate.order_inserts", "true")
+				.buildSessionFactory();
+		exchange = "benchmark-" + UUID.randomUUID();
+	}
+
+	@TearDown
+	public void tearDown() {
+		sessionFactory.inTransaction(session -> session.createMutationQuery(
+				"delete from OutboxMessage m where m.exchange = :exchange")
+			.setParameter("exchange", exchange)
+			.executeUpdate());
+		sessionFactory.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS_PER_TRANSACTION)
+	public void persistChunk() {
+		sessionFactory.inTransaction(session -> {
+			for(int row = 0; row < ROWS_PER_TRANSACTION; row++) {
+				session.persist(OutboxMessage.builder()
+						.exchange(exchange)
+						.routingKey("routing.verification")
+						.payload("{\"email\":\"benchmark@gmail.com\",\"token\":\"" + row + "\"}")
+						.build());
+			}
+		});
+	}
+}
@@ -0,0 +1,71 @@
+package com.neec.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.neec.enums.EnumJwtSigningAlgorithm;
+import com.neec.service.JwtKeyRing;
+import com.neec.service.JwtService;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+	private static final String SECRET_TEXT = "benchmark secret text that is long enough for HS256";
+
+	private JwtService jwtService;
+	private SecretKey secretKey;
+
+	@Setup
+	public void setup() {
+		secretKey = Keys.hmacShaKeyFor(SECRET_TEXT.getBytes(StandardCharsets.UTF_8));
+		jwtService = new JwtService(new JwtKeyRing(null));
+		ReflectionTestUtils.setField(jwtService, "jwtSecretText", SECRET_TEXT);
+		ReflectionTestUtils.setField(jwtService, "signingAlgorithm", EnumJwtSigningAlgorithm.HS256);
+		ReflectionTestUtils.setField(jwtService, "jwtTokenExpireDurationInMinutes", 10L);
+		jwtService.init();
+	}
+
+	@Benchmark
+	public String generateJwtToken() {
+		return jwtService.generateJwtToken(42L, "john.doe@gmail.com", "APPLICANT");
+	}
+
+	// the generic builder path JwtService used before HmacJwtSigner, kept as the baseline
+	@Benchmark
+	public String generateJwtTokenWithJjwtBuilder() {
+		Instant now = Instant.now();
+		return Jwts.builder()
+				.claim("emailAddress", "john.doe@gmail.com")
+				.claim("roles", List.of("APPLICANT"))
+				.subject(String.valueOf(42L))
+				.issuedAt(Date.from(now))
+				.expiration(Date.from(now.plus(10, ChronoUnit.MINUTES)))
+				.signWith(secretKey)
+				.compact();
+	}
+}
@@ -0,0 +1,100 @@
+package com.neec.benchmark;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.neec.dto.UserCredentialDTO;
+import com.neec.entity.UserLogin;
+import com.neec.enums.EnumRole;
+import com.neec.enums.EnumUserAccountStatus;
+
+/**
+ * Compares the login lookup as a managed entity against the constructor projection, both in a
+ * read-only transaction as login runs. Needs a Postgres with the USER_LOGIN table:
+ * -Dbenchmark.jdbc.url, -Dbenchmark.jdbc.username and -Dbenchmark.jdbc.password, defaulting to a local
+ * postgres/postgres. Not run by default; select it with -Djmh.include=LoginLookupBenchmark. Run with the
+ * profile's -prof gc to compare allocation per lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginLookupBenchmark {
+	private SessionFactory sessionFactory;
+	private String emailAddressCanonical;
+
+	@Setup
+	public void setup() {
+		sessionFactory = new Configuration()
+				.addAnnotatedClass(UserLogin.class)
+				.setProperty("hibernate.connection.url",
+						System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/postgres"))
+				.setProperty("hibernate.connection.username", System.getProperty("benchmark.jdbc.username", "postgres"))
+				.setProperty("hibernate.connection.password", System.getProperty("benchmark.jdbc.password", "postgres"))
+				.setProperty("hibernate.hbm2ddl.auto", "none")
+				.buildSessionFactory();
+		emailAddressCanonical = "benchmark." + UUID.randomUUID() + "@gmail.com";
+		sessionFactory.inTransaction(session -> session.persist(UserLogin.builder()
+				.emailAddress(emailAddressCanonical)
+				.hashedPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z5ZdP1YuOKQ3mUu0vYfP3XGa")
+				.accountStatus(EnumUserAccountStatus.ACTIVE)
+				.role(EnumRole.APPLICANT)
+				.verificationTokenExpiresAt(OffsetDateTime.now(ZoneOffset.UTC))
+				.build()));
+	}
+
+	@TearDown
+	public void tearDown() {
+		sessionFactory.inTransaction(session -> session.createMutationQuery(
+				"delete from UserLogin u where u.emailAddressCanonical = :emailAddressCanonical")
+			.setParameter("emailAddressCanonical", emailAddressCanonical)
+			.executeUpdate());
+		sessionFactory.close();
+	}
+
+	@Benchmark
+	public UserLogin entity() {
+		return readOnly(session -> session.createSelectionQuery(
+				"from UserLogin u where u.emailAddressCanonical = :emailAddressCanonical", UserLogin.class)
+			.setParameter("emailAddressCanonical", emailAddressCanonical)
+			.getSingleResult());
+	}
+
+	@Benchmark
+	public UserCredentialDTO projection() {
+		return readOnly(session -> session.createSelectionQuery(
+				"select new com.neec.dto.UserCredentialDTO(u.userLoginId, u.emailAddress, u.hashedPassword, "
+						+ "u.accountStatus, u.role) from UserLogin u where u.emailAddressCanonical = :emailAddressCanonical",
+				UserCredentialDTO.class)
+			.setParameter("emailAddressCanonical", emailAddressCanonical)
+			.getSingleResult());
+	}
+
+	// what Spring's @Transactional(readOnly = true) sets up for the login transaction
+	private <T> T readOnly(Function<Session, T> lookup) {
+		return sessionFactory.fromTransaction(session -> {
+			session.setDefaultReadOnly(true);
+			return lookup.apply(session);
+		});
+	}
+}
@@ -0,0 +1,63 @@
+package com.neec.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.neec.dto.LoginRequestDTO;
+import com.neec.dto.RegistrationRequestDTO;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+	private Validator validator;
+	private LoginRequestDTO validLogin;
+	private LoginRequestDTO invalidLogin;
+	private RegistrationRequestDTO validRegistration;
+	private RegistrationRequestDTO invalidRegistration;
+
+	@Setup
+	public void setup() {
+		validator = Validation.buildDefaultValidatorFactory().getValidator();
+		validLogin = LoginRequestDTO.builder().emailAddress("john.doe@gmail.com").password("P@$$w0rd").build();
+		invalidLogin = LoginRequestDTO.builder().emailAddress("john.doe#gmail.com").password("").build();
+		validRegistration = RegistrationRequestDTO.builder().emailAddress("john.doe@gmail.com").password("P@$$w0rd1").build();
+		invalidRegistration = RegistrationRequestDTO.builder().emailAddress("john.doe@gmail#com").password("password").build();
+	}
+
+	@Benchmark
+	public int validateValidLogin() {
+		return validator.validate(validLogin).size();
+	}
+
+	@Benchmark
+	public int validateInvalidLogin() {
+		return validator.validate(invalidLogin).size();
+	}
+
+	@Benchmark
+	public int validateValidRegistration() {
+		return validator.validate(validRegistration).size();
+	}
+
+	@Benchmark
+	public int validateInvalidRegistration() {
+		return validator.validate(invalidRegistration).size();
+	}
+}
@@ -0,0 +1,37 @@
+package com.neec.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import com.neec.enums.EnumRole;
+import com.neec.filter.JwtBearerAuthenticationFilter;
+import com.neec.service.TokenIntrospectionService;
+
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class AdminSecurityConfig {
+	// ahead of the public chain in SecurityConfig; every admin request carries an ADMIN access token
+	@Bean
+	@Order(1)
+	public SecurityFilterChain adminSecurityFilterChain(HttpSecurity httpSecurity,
+			TokenIntrospectionService tokenIntrospectionService) throws Exception {
+		return httpSecurity.securityMatcher("/api/v1/admin/**")
+			.csrf(csrf -> csrf.disable())
+			.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+			.addFilterBefore(new JwtBearerAuthenticationFilter(tokenIntrospectionService),
+					UsernamePasswordAuthenticationFilter.class)
+			.authorizeHttpRequests(auth -> auth.anyRequest().hasRole(EnumRole.ADMIN.name()))
+			.exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(
+					new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+			.build();
+	}
+}
@@ -1,13 +1,38 @@
 package com.neec.config;
 
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.neec.service.CalibratedPasswordEncoder;
+import com.neec.util.ClientIpResolver;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 
 @Configuration
 public class AppConfig {
 	@Bean
-	public BCryptPasswordEncoder bCryptPasswordEncoder() {
-		return new BCryptPasswordEncoder();
+	public CalibratedPasswordEncoder passwordEncoder(
+			@Value("${password.hashing.target.millis}") long targetMillis,
+			@Value("${password.hashing.bcrypt.min.strength}") int minStrength,
+			@Value("${password.hashing.bcrypt.max.strength}") int maxStrength,
+			@Value("${password.hashing.bcrypt.strength.tolerance}") int strengthTolerance) {
+		return CalibratedPasswordEncoder.calibrate(targetMillis, minStrength, maxStrength, strengthTolerance);
+	}
+
+	@Bean
+	public ClientIpResolver clientIpResolver(@Value("${login.rate.limit.trusted.proxies}") List<String> trustedProxies) {
+		return new ClientIpResolver(trustedProxies);
+	}
+
+	@Bean
+	public MeterBinder passwordHashStrengthMetrics(CalibratedPasswordEncoder passwordEncoder) {
+		return registry -> Gauge.builder("password.hashing.bcrypt.strength", passwordEncoder,
+					CalibratedPasswordEncoder::getStrength)
+				.description("BCrypt work factor chosen by startup calibration")
+				.register(registry);
 	}
 }
@@ -0,0 +1,25 @@
+package com.neec.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+
+@Configuration
+@Profile("loadtest")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class LoadTestSecurityConfig {
+	// ahead of the public chain in SecurityConfig; only under the loadtest profile, which also exposes the endpoint
+	@Bean
+	@Order(3)
+	public SecurityFilterChain loadTestSecurityFilterChain(HttpSecurity httpSecurity) throws Exception {
+		return httpSecurity.securityMatcher("/actuator/metrics/**")
+			.csrf(csrf -> csrf.disable())
+			.authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+			.build();
+	}
+}
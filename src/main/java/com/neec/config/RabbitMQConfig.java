@@ -20,6 +20,12 @@ public class RabbitMQConfig {
 	@Value("${rabbitmq.routing.key}")
 	private String routingKey;
 
+	@Value("${rabbitmq.account.status.queue.name}")
+	private String accountStatusQueueName;
+
+	@Value("${rabbitmq.account.status.routing.key}")
+	private String accountStatusRoutingKey;
+
 	@Bean
 	public TopicExchange topicExchange() {
 		return new TopicExchange(topicExchangeName);
@@ -31,10 +37,20 @@ public class RabbitMQConfig {
 	}
 
 	@Bean
-	public Binding binding(Queue queue, TopicExchange exchange) {
+	public Binding binding() {
 		return BindingBuilder.bind(verificationEmailQueue()).to(topicExchange()).with(routingKey);
 	}
 
+	@Bean
+	public Queue accountStatusQueue() {
+		return new Queue(accountStatusQueueName);
+	}
+
+	@Bean
+	public Binding accountStatusBinding() {
+		return BindingBuilder.bind(accountStatusQueue()).to(topicExchange()).with(accountStatusRoutingKey);
+	}
+
 	@Bean
 	public Jackson2JsonMessageConverter messageConverter() {
 		return new Jackson2JsonMessageConverter();
@@ -0,0 +1,28 @@
+package com.neec.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neec.filter.LoginRateLimitFilter;
+import com.neec.service.LoginRateLimiter;
+import com.neec.util.ClientIpResolver;
+
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class RateLimitConfig {
+	// ahead of the Spring Security chain, so a rejected attempt costs no authentication work
+	@Bean
+	public FilterRegistrationBean<LoginRateLimitFilter> loginRateLimitFilter(LoginRateLimiter loginRateLimiter,
+			ClientIpResolver clientIpResolver, ObjectMapper objectMapper) {
+		FilterRegistrationBean<LoginRateLimitFilter> registration = new FilterRegistrationBean<>(
+				new LoginRateLimitFilter(loginRateLimiter, clientIpResolver, objectMapper));
+		registration.addUrlPatterns("/api/v1/auth/login");
+		registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+		return registration;
+	}
+}
@@ -0,0 +1,26 @@
+package com.neec.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveSecurityConfig {
+	// the reactive tier serves logins only; every other endpoint stays on the servlet deployment
+	@Bean
+	public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity serverHttpSecurity) {
+		return serverHttpSecurity.csrf(csrf -> csrf.disable())
+			.cors(Customizer.withDefaults())
+			.httpBasic(httpBasic -> httpBasic.disable())
+			.formLogin(formLogin -> formLogin.disable())
+			.authorizeExchange(exchange -> exchange.pathMatchers(HttpMethod.POST, "/api/v1/auth/login").permitAll()
+					.anyExchange().denyAll())
+			.build();
+	}
+}
@@ -0,0 +1,44 @@
+package com.neec.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import com.neec.filter.ResourceServerAuthenticationFilter;
+
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ResourceServerSecurityConfig {
+	static final String[] RESOURCE_SERVER_ENDPOINTS = {
+		"/api/v1/auth/revocations",
+		"/api/v1/auth/introspect"
+	};
+
+	// ahead of the public chain in SecurityConfig; only resource servers check tokens and read who has been revoked,
+	// as RFC 7662 requires of an introspection endpoint
+	@Bean
+	@Order(2)
+	public SecurityFilterChain resourceServerSecurityFilterChain(HttpSecurity httpSecurity,
+			@Value("${resource.server.client.id}") String clientId,
+			@Value("${resource.server.client.secret}") String clientSecret) throws Exception {
+		return httpSecurity.securityMatcher(RESOURCE_SERVER_ENDPOINTS)
+			.csrf(csrf -> csrf.disable())
+			.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+			.addFilterBefore(new ResourceServerAuthenticationFilter(clientId, clientSecret),
+					UsernamePasswordAuthenticationFilter.class)
+			.authorizeHttpRequests(auth -> auth.anyRequest()
+					.hasRole(ResourceServerAuthenticationFilter.RESOURCE_SERVER_ROLE))
+			.exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(
+					new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+			.build();
+	}
+}
@@ -0,0 +1,45 @@
+package com.neec.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskSchedulerBuilder;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Two schedulers: {@value #BACKGROUND_TASK_SCHEDULER} for jobs that may run for seconds or minutes (the
+ * pending-account sweep, outbox relay waiting for confirms), and the default one for the short periodic
+ * syncs and flushes, so a long job never delays revocation, filter or lockout updates. Declaring the
+ * background scheduler switches off Boot's default, so the default is declared here too, built the way
+ * Boot builds it from spring.task.scheduling.* and spring.threads.virtual.enabled.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+	public static final String BACKGROUND_TASK_SCHEDULER = "backgroundTaskScheduler";
+
+	@Bean(name = "taskScheduler")
+	@ConditionalOnThreading(Threading.PLATFORM)
+	ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder threadPoolTaskSchedulerBuilder) {
+		return threadPoolTaskSchedulerBuilder.build();
+	}
+
+	@Bean(name = "taskScheduler")
+	@ConditionalOnThreading(Threading.VIRTUAL)
+	SimpleAsyncTaskScheduler taskSchedulerVirtualThreads(SimpleAsyncTaskSchedulerBuilder simpleAsyncTaskSchedulerBuilder) {
+		return simpleAsyncTaskSchedulerBuilder.build();
+	}
+
+	@Bean(name = BACKGROUND_TASK_SCHEDULER)
+	ThreadPoolTaskScheduler backgroundTaskScheduler(@Value("${scheduling.background.pool.size}") int poolSize) {
+		ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setPoolSize(poolSize);
+		scheduler.setThreadNamePrefix("background-scheduling-");
+		return scheduler;
+	}
+}
@@ -1,5 +1,7 @@
 package com.neec.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -7,11 +9,15 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class SecurityConfig {
 	private static final String[] PUBLIC_ENPOINTS = {
 		"/api/v1/auth/register",
 		"/api/v1/auth/login",
 		"/api/v1/auth/verify",
+		"/api/v1/auth/refresh",
+		"/api/v1/auth/logout",
+		"/.well-known/jwks.json",
 		"/swagger-ui/**",	// http://localhost:9051/swagger-ui/index.html
 		"/v3/api-docs/**"
 	};
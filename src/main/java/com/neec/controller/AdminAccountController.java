@@ -0,0 +1,47 @@
+package com.neec.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.neec.dto.AccountStatusChangeRequestDTO;
+import com.neec.dto.AccountStatusChangeResponseDTO;
+import com.neec.service.AccountStatusAdminService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@CrossOrigin
+@RequestMapping("/api/v1/admin/accounts")
+public class AdminAccountController {
+	private AccountStatusAdminService accountStatusAdminService;
+
+	public AdminAccountController(AccountStatusAdminService accountStatusAdminService) {
+		this.accountStatusAdminService = accountStatusAdminService;
+	}
+
+	@Tag(name = "Account Status", description = "Suspends or reactivates accounts in bulk")
+	@Operation(
+			summary = "Applies a status to a list of email addresses or to every account matching a filter",
+			responses = {
+					@ApiResponse(responseCode = "200", description = "Number of accounts changed"),
+					@ApiResponse(responseCode = "400", description = "Invalid status, list or filter"),
+					@ApiResponse(responseCode = "401", description = "Missing or inactive access token"),
+					@ApiResponse(responseCode = "403", description = "Access token without the ADMIN role")
+			}
+	)
+	@PostMapping(path = "/status", consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+	public ResponseEntity<AccountStatusChangeResponseDTO> changeStatus(@Valid @RequestBody AccountStatusChangeRequestDTO dto) {
+		return ResponseEntity.ok(accountStatusAdminService.changeStatus(dto));
+	}
+}
@@ -0,0 +1,85 @@
+package com.neec.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neec.dto.BulkImportRowResultDTO;
+import com.neec.service.BulkRegistrationImportService;
+import com.neec.service.BulkRegistrationImportService.Format;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@CrossOrigin
+@RequestMapping("/api/v1/admin/registrations")
+public class AdminRegistrationController {
+	private static final String TEXT_CSV_VALUE = "text/csv";
+
+	private BulkRegistrationImportService bulkRegistrationImportService;
+	private ObjectMapper objectMapper;
+
+	public AdminRegistrationController(BulkRegistrationImportService bulkRegistrationImportService,
+			ObjectMapper objectMapper) {
+		this.bulkRegistrationImportService = bulkRegistrationImportService;
+		this.objectMapper = objectMapper;
+	}
+
+	@Tag(name = "Bulk Registration", description = "Imports registrations from a file")
+	@Operation(
+			summary = "Registers every row of a CSV (emailAddress,password header) or NDJSON upload",
+			responses = {
+					@ApiResponse(responseCode = "200",
+						description = "One NDJSON result per row, streamed as each chunk is committed"),
+					@ApiResponse(responseCode = "400", description = "CSV header without emailAddress and password"),
+					@ApiResponse(responseCode = "401", description = "Missing or inactive access token"),
+					@ApiResponse(responseCode = "403", description = "Access token without the ADMIN role")
+			}
+	)
+	@PostMapping(path = "/import", consumes = {TEXT_CSV_VALUE}, produces = {MediaType.APPLICATION_NDJSON_VALUE})
+	public void importCsv(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		importRegistrations(request, response, Format.CSV);
+	}
+
+	@PostMapping(path = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE},
+			produces = {MediaType.APPLICATION_NDJSON_VALUE})
+	public void importNdjson(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		importRegistrations(request, response, Format.NDJSON);
+	}
+
+	// the upload is read and the report written as they go, so neither is held in memory
+	private void importRegistrations(HttpServletRequest request, HttpServletResponse response, Format format)
+			throws IOException {
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		OutputStream output = response.getOutputStream();
+		bulkRegistrationImportService.importRegistrations(request.getInputStream(), format,
+				results -> writeResults(output, results));
+	}
+
+	private void writeResults(OutputStream output, List<BulkImportRowResultDTO> results) {
+		try {
+			for(BulkImportRowResultDTO result : results) {
+				output.write(objectMapper.writeValueAsBytes(result));
+				output.write('\n');
+			}
+			output.flush();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+}
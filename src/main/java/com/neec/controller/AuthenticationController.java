@@ -1,7 +1,11 @@
 package com.neec.controller;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -10,13 +14,16 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.neec.dto.LoginRequestDTO;
 import com.neec.dto.LoginResponseDTO;
+import com.neec.dto.RefreshTokenRequestDTO;
 import com.neec.dto.RegistrationRequestDTO;
+import com.neec.exception.InvalidAccessTokenException;
 import com.neec.service.AuthenticationService;
 
 import io.micrometer.observation.annotation.Observed;
@@ -27,10 +34,13 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @CrossOrigin
 @RequestMapping("/api/v1/auth")
 @Validated
 public class AuthenticationController {
+	private static final String BEARER_PREFIX = "Bearer ";
+
 	private AuthenticationService authenticationService;
 
 	public AuthenticationController(AuthenticationService authenticationService) {
@@ -43,7 +53,8 @@ public class AuthenticationController {
 			responses = {
 					@ApiResponse(responseCode = "201", description = "Registration complete"),
 					@ApiResponse(responseCode = "400", description = "invalid email address or password"),
-					@ApiResponse(responseCode = "409", description = "Existing email address entered")
+					@ApiResponse(responseCode = "409", description = "Existing email address entered"),
+					@ApiResponse(responseCode = "503", description = "Server busy, retry after the Retry-After delay")
 			}
 	)
 	@PostMapping(path = "/register", consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
@@ -56,16 +67,52 @@ public class AuthenticationController {
 	@Operation(
 			summary = "Authenticates a user and returns a JWT",
 			responses = {
-					@ApiResponse(responseCode = "200", description = "Login successful, JWT returned"),
+					@ApiResponse(responseCode = "200", description = "Login successful, JWT and refresh token returned"),
 					@ApiResponse(responseCode = "400", description = "Invalid request body"),
 					@ApiResponse(responseCode = "401",
-						description = "Invalid credentials, user not verified, or account suspended")
+						description = "Invalid credentials, user not verified, or account suspended"),
+					@ApiResponse(responseCode = "429",
+						description = "Too many attempts from this address or for this email, or the email is locked "
+							+ "after failed logins; retry after the Retry-After delay"),
+					@ApiResponse(responseCode = "503", description = "Server busy, retry after the Retry-After delay")
 			}
 	)
 	@PostMapping("/login")
-	public ResponseEntity<?> login(@Valid @RequestBody LoginRequestDTO dto) {
-		String jwtToken = authenticationService.login(dto);
-		return ResponseEntity.ok(LoginResponseDTO.builder().jwtToken(jwtToken).build());
+	public CompletableFuture<ResponseEntity<LoginResponseDTO>> login(@Valid @RequestBody LoginRequestDTO dto) {
+		return authenticationService.login(dto).thenApply(ResponseEntity::ok);
+	}
+
+	@Tag(name = "Refresh Token", description = "Renews a JWT without re-entering the password")
+	@Operation(
+			summary = "Exchanges a refresh token for a new JWT and a new refresh token",
+			responses = {
+					@ApiResponse(responseCode = "200", description = "JWT and rotated refresh token returned"),
+					@ApiResponse(responseCode = "400", description = "Invalid request body"),
+					@ApiResponse(responseCode = "401",
+						description = "Refresh token invalid, expired, already used or revoked, or account suspended")
+			}
+	)
+	@PostMapping(path = "/refresh", consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+	public ResponseEntity<?> refreshToken(@Valid @RequestBody RefreshTokenRequestDTO dto) {
+		return ResponseEntity.ok(authenticationService.refreshToken(dto.getRefreshToken()));
+	}
+
+	@Tag(name = "Logout", description = "Revokes the user's tokens")
+	@Operation(
+			summary = "Revokes every JWT and refresh token of the bearer issued up to now",
+			responses = {
+					@ApiResponse(responseCode = "200", description = "Logged out"),
+					@ApiResponse(responseCode = "400", description = "Authorization header missing"),
+					@ApiResponse(responseCode = "401", description = "Bearer token invalid or expired")
+			}
+	)
+	@PostMapping(path = "/logout", produces = {MediaType.APPLICATION_JSON_VALUE})
+	public ResponseEntity<?> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+		if(!authorization.startsWith(BEARER_PREFIX)) {
+			throw new InvalidAccessTokenException("invalid or expired token.");
+		}
+		authenticationService.logout(authorization.substring(BEARER_PREFIX.length()).trim());
+		return ResponseEntity.ok(Map.of("status", "Logged out."));
 	}
 
 	@Tag(name = "Email Verification", description = "Verifies a user's email address")
@@ -0,0 +1,54 @@
+package com.neec.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.neec.service.JwtKeyRing;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@CrossOrigin
+public class JwksController {
+	@Value("${jwt.jwks.cache.max.age.seconds}")
+	private long cacheMaxAgeSeconds;
+
+	private JwtKeyRing jwtKeyRing;
+
+	public JwksController(JwtKeyRing jwtKeyRing) {
+		this.jwtKeyRing = jwtKeyRing;
+	}
+
+	@Tag(name = "JWKS", description = "Public keys for verifying JWTs locally")
+	@Operation(
+			summary = "Returns the JWK set of current, upcoming and recently retired signing keys",
+			responses = {
+					@ApiResponse(responseCode = "200", description = "JWK set, cacheable for max-age"),
+					@ApiResponse(responseCode = "304", description = "JWK set unchanged since the If-None-Match ETag")
+			}
+	)
+	@GetMapping(path = "/.well-known/jwks.json", produces = {MediaType.APPLICATION_JSON_VALUE})
+	public ResponseEntity<String> jwks(@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		JwtKeyRing.JwksDocument jwks = jwtKeyRing.jwks();
+		CacheControl cacheControl = CacheControl.maxAge(cacheMaxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+		if(ifNoneMatch != null && ifNoneMatch.contains(jwks.etag())) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).eTag(jwks.etag()).build();
+		}
+		return ResponseEntity.ok().cacheControl(cacheControl).eTag(jwks.etag()).body(jwks.json());
+	}
+}
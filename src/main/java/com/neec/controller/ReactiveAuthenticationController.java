@@ -0,0 +1,63 @@
+package com.neec.controller;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.neec.dto.LoginRequestDTO;
+import com.neec.service.LoginRateLimiter;
+import com.neec.service.ReactiveAuthenticationService;
+import com.neec.util.ClientIpResolver;
+
+import jakarta.validation.Valid;
+import reactor.core.publisher.Mono;
+
+/**
+ * The login endpoint of {@link AuthenticationController} on WebFlux, for the reactive profile. Request,
+ * responses and GlobalExceptionHandler mappings are the same; the per-IP and per-email limits that
+ * LoginRateLimitFilter applies on the servlet stack are checked here.
+ */
+@RestController
+@CrossOrigin
+@RequestMapping("/api/v1/auth")
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveAuthenticationController {
+	private ReactiveAuthenticationService reactiveAuthenticationService;
+	private LoginRateLimiter loginRateLimiter;
+	private ClientIpResolver clientIpResolver;
+
+	public ReactiveAuthenticationController(ReactiveAuthenticationService reactiveAuthenticationService,
+			LoginRateLimiter loginRateLimiter, ClientIpResolver clientIpResolver) {
+		this.reactiveAuthenticationService = reactiveAuthenticationService;
+		this.loginRateLimiter = loginRateLimiter;
+		this.clientIpResolver = clientIpResolver;
+	}
+
+	@PostMapping(path = "/login", consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+	public Mono<ResponseEntity<?>> login(@Valid @RequestBody LoginRequestDTO dto, ServerHttpRequest request) {
+		InetSocketAddress remoteAddress = request.getRemoteAddress();
+		long retryAfterSeconds = remoteAddress == null ? 0 : loginRateLimiter.checkClientIp(clientIpResolver.resolve(
+				remoteAddress.getAddress().getHostAddress(), request.getHeaders().getOrEmpty("X-Forwarded-For")));
+		if(retryAfterSeconds == 0) {
+			retryAfterSeconds = loginRateLimiter.checkEmailAddress(dto.getEmailAddress());
+		}
+		if(retryAfterSeconds > 0) {
+			return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+					.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+					.body(Map.of("error", "Too many login attempts. Please try again later.")));
+		}
+		return reactiveAuthenticationService.login(dto).map(ResponseEntity::ok);
+	}
+}
@@ -0,0 +1,70 @@
+package com.neec.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.neec.dto.IntrospectionRequestDTO;
+import com.neec.dto.IntrospectionResponseDTO;
+import com.neec.dto.RevocationDeltaDTO;
+import com.neec.service.TokenIntrospectionService;
+import com.neec.service.TokenRevocationService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@CrossOrigin
+@RequestMapping("/api/v1/auth")
+@Validated
+public class TokenController {
+	private TokenIntrospectionService tokenIntrospectionService;
+	private TokenRevocationService tokenRevocationService;
+
+	public TokenController(TokenIntrospectionService tokenIntrospectionService,
+			TokenRevocationService tokenRevocationService) {
+		this.tokenIntrospectionService = tokenIntrospectionService;
+		this.tokenRevocationService = tokenRevocationService;
+	}
+
+	@Tag(name = "Token Introspection", description = "Validates a JWT issued by this service")
+	@Operation(
+			summary = "Checks signature and expiry of a JWT and returns its claims",
+			responses = {
+					@ApiResponse(responseCode = "200", description = "active=true with claims, or active=false"),
+					@ApiResponse(responseCode = "400", description = "missing token"),
+					@ApiResponse(responseCode = "401", description = "missing or wrong resource server credentials")
+			}
+	)
+	@PostMapping(path = "/introspect", consumes = {MediaType.APPLICATION_JSON_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE})
+	public ResponseEntity<IntrospectionResponseDTO> introspect(@Valid @RequestBody IntrospectionRequestDTO dto) {
+		return ResponseEntity.ok(tokenIntrospectionService.introspect(dto.getToken()));
+	}
+
+	@Tag(name = "Token Revocation", description = "Incremental revocation list for local token validators")
+	@Operation(
+			summary = "Returns revocations recorded since the cursor of the previous pull",
+			responses = {
+					@ApiResponse(responseCode = "200", description = "Revocations and the cursor for the next pull"),
+					@ApiResponse(responseCode = "400", description = "since is not a number"),
+					@ApiResponse(responseCode = "401", description = "missing or wrong resource server credentials")
+			}
+	)
+	@GetMapping(path = "/revocations", produces = {MediaType.APPLICATION_JSON_VALUE})
+	public ResponseEntity<RevocationDeltaDTO> revocations(
+			@RequestParam(name = "since", defaultValue = "0") long since) {
+		return ResponseEntity.ok(tokenRevocationService.delta(since));
+	}
+}
@@ -0,0 +1,68 @@
+package com.neec.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.neec.enums.EnumUserAccountStatus;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@Schema(description = "Account status change for a list of addresses or for every account matching a filter")
+@Builder @NoArgsConstructor @AllArgsConstructor @FieldDefaults(level = AccessLevel.PRIVATE) @Getter @Setter
+public class AccountStatusChangeRequestDTO {
+	@Schema(description = "Status to apply. ACTIVE and PENDING_VERIFICATION accounts can be suspended; "
+			+ "SUSPENDED accounts are reactivated, back to PENDING_VERIFICATION if their address was never verified",
+			example = "SUSPENDED")
+	@NotNull(message = "Status cannot be null.")
+	EnumUserAccountStatus status;
+
+	@Schema(description = "Accounts to change, by email address; leave out to use the filter instead")
+	@Size(max = 100000, message = "At most 100000 email addresses per request.")
+	List<@NotBlank(message = "Email address cannot be blank.") String> emailAddresses;
+
+	@Schema(description = "Filter: accounts currently in this status, one that status can be applied to", example = "ACTIVE")
+	EnumUserAccountStatus currentStatus;
+
+	@Schema(description = "Filter: accounts created at or after this time")
+	OffsetDateTime createdFrom;
+
+	@Schema(description = "Filter: accounts created before this time, defaults to now")
+	OffsetDateTime createdBefore;
+
+	@Schema(description = "Recorded in the status change events", example = "Proctoring review 2025-07")
+	@Size(max = 500, message = "Reason must be at most 500 characters.")
+	String reason;
+
+	@JsonIgnore
+	@AssertTrue(message = "Provide either emailAddresses or a filter with a currentStatus other than status.")
+	public boolean isSelectionValid() {
+		boolean byList = emailAddresses != null && !emailAddresses.isEmpty();
+		boolean byFilter = currentStatus != null;
+		return byList != byFilter && (!byFilter || currentStatus != status);
+	}
+
+	@JsonIgnore
+	@AssertTrue(message = "Status can only be changed to ACTIVE or SUSPENDED.")
+	public boolean isStatusAssignable() {
+		return status == null || !status.assignableFrom().isEmpty();
+	}
+
+	@JsonIgnore
+	@AssertTrue(message = "Only ACTIVE or PENDING_VERIFICATION accounts can be suspended, and only SUSPENDED accounts reactivated.")
+	public boolean isTransitionAllowed() {
+		return status == null || currentStatus == null || currentStatus == status
+				|| status.assignableFrom().contains(currentStatus);
+	}
+}
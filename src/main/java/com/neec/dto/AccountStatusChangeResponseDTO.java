@@ -0,0 +1,18 @@
+package com.neec.dto;
+
+import com.neec.enums.EnumUserAccountStatus;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Builder @NoArgsConstructor @AllArgsConstructor @FieldDefaults(level = AccessLevel.PRIVATE) @Getter
+public class AccountStatusChangeResponseDTO {
+	EnumUserAccountStatus status;
+	// accounts actually changed; those already in the status are not counted
+	long updated;
+	int chunks;
+}
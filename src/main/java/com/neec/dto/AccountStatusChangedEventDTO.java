@@ -0,0 +1,26 @@
+package com.neec.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.neec.enums.EnumUserAccountStatus;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Published once per chunk of accounts moved to the same status by an admin.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder @NoArgsConstructor @AllArgsConstructor @FieldDefaults(level = AccessLevel.PRIVATE) @Getter
+public class AccountStatusChangedEventDTO {
+	EnumUserAccountStatus status;
+	List<Long> userLoginIds;
+	List<String> emailAddresses;
+	String reason;
+	long changedAt;
+}
@@ -0,0 +1,23 @@
+package com.neec.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.neec.enums.EnumBulkImportRowStatus;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder @NoArgsConstructor @AllArgsConstructor @FieldDefaults(level = AccessLevel.PRIVATE) @Getter
+public class BulkImportRowResultDTO {
+	// line number in the uploaded file, the CSV header being line 1
+	long line;
+	String emailAddress;
+	EnumBulkImportRowStatus status;
+	Map<String, String> errors;
+}
@@ -0,0 +1,19 @@
+package com.neec.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@Schema(description = "Token Introspection Request DTO")
+@Builder @NoArgsConstructor @AllArgsConstructor @FieldDefaults(level = AccessLevel.PRIVATE) @Getter @Setter
+public class IntrospectionRequestDTO {
+	@Schema(description = "JWT issued by this service")
+	@NotBlank(message = "Token cannot be blank.")
+	private String token;
+}
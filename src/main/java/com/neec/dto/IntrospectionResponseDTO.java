@@ -0,0 +1,27 @@
+package com.neec.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder @NoArgsConstructor @AllArgsConstructor @FieldDefaults(level = AccessLevel.PRIVATE) @Getter
+public class IntrospectionResponseDTO {
+	boolean active;
+	String sub;
+	String emailAddress;
+	List<String> roles;
+	Long iat;
+	Long exp;
+	// for the revocation check only; resource servers read issuedAtMillis from the token itself
+	@JsonIgnore
+	Long issuedAtMillis;
+}
@@ -4,6 +4,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,6 +19,7 @@ public class LoginRequestDTO {
 	@NotBlank(message = "Email address cannot be blank.")
 	@Email(message = "Please provide a valid email address.")
 	@Pattern(message = "Please provide a valid email address.", regexp = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$")
+	@Size(message = "Please provide a valid email address.", max = 254)
 	private String emailAddress;
 	
 	@Schema(description = "Password to login", example = "P@$$w0rd")
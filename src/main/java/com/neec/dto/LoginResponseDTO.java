@@ -10,4 +10,5 @@ import lombok.experimental.FieldDefaults;
 @Builder @NoArgsConstructor @AllArgsConstructor @FieldDefaults(level = AccessLevel.PRIVATE) @Getter
 public class LoginResponseDTO {
 	String jwtToken;
+	String refreshToken;
 }
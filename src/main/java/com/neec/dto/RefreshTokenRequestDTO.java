@@ -0,0 +1,19 @@
+package com.neec.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@Schema(description = "Refresh Token Request DTO")
+@Builder @NoArgsConstructor @AllArgsConstructor @FieldDefaults(level = AccessLevel.PRIVATE) @Getter @Setter
+public class RefreshTokenRequestDTO {
+	@Schema(description = "Refresh token returned by login or the previous refresh")
+	@NotBlank(message = "Refresh token cannot be blank.")
+	private String refreshToken;
+}
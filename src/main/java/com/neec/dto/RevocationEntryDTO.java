@@ -0,0 +1,19 @@
+package com.neec.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Builder @NoArgsConstructor @AllArgsConstructor @FieldDefaults(level = AccessLevel.PRIVATE) @Getter
+public class RevocationEntryDTO {
+	long sub;
+	// epoch seconds, rounded down: validators comparing a token's iat with <= also revoke tokens issued later
+	// in that second
+	long revokedBefore;
+	// epoch millis: tokens whose issuedAtMillis claim is below it are revoked
+	long revokedBeforeMillis;
+	long expiresAt;
+}
@@ -0,0 +1,20 @@
+package com.neec.dto;
+
+import com.neec.enums.EnumRole;
+import com.neec.enums.EnumUserAccountStatus;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Builder @NoArgsConstructor @AllArgsConstructor @FieldDefaults(level = AccessLevel.PRIVATE) @Getter
+public class UserCredentialDTO {
+	long userLoginId;
+	String emailAddress;
+	String hashedPassword;
+	EnumUserAccountStatus accountStatus;
+	EnumRole role;
+}
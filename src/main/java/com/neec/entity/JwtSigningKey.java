@@ -0,0 +1,59 @@
+package com.neec.entity;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import com.neec.enums.EnumJwtSigningAlgorithm;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@Builder @AllArgsConstructor @NoArgsConstructor @FieldDefaults(level = AccessLevel.PRIVATE) @Getter @Setter
+@Entity
+@Table(name="JWT_SIGNING_KEY")
+public class JwtSigningKey {
+	@Column(name="KID")
+	@Id
+	private String kid;
+
+	@Column(name="ALGORITHM", insertable = true, updatable = false, nullable = false, unique = false)
+	@Enumerated(EnumType.STRING)
+	private EnumJwtSigningAlgorithm algorithm;
+
+	// X.509 SubjectPublicKeyInfo, base64
+	@Column(name="PUBLIC_KEY", insertable = true, updatable = false, nullable = false, unique = false)
+	private String publicKey;
+
+	// PKCS#8, AES-GCM encrypted with a key derived from jwt.secret.text, base64
+	@Column(name="PRIVATE_KEY", insertable = true, updatable = false, nullable = false, unique = false)
+	private String privateKey;
+
+	@Column(name="ACTIVATES_AT", insertable = true, updatable = false, nullable = false, unique = true)
+	private OffsetDateTime activatesAt;
+
+	@Column(name="RETIRES_AT", insertable = true, updatable = false, nullable = false, unique = false)
+	private OffsetDateTime retiresAt;
+
+	@Column(name="EXPIRES_AT", insertable = true, updatable = false, nullable = false, unique = false)
+	private OffsetDateTime expiresAt;
+
+	@Column(name="CREATED_AT", insertable = true, updatable = false, nullable = false, unique = false)
+	private OffsetDateTime createdAt;
+
+	@PrePersist
+	void onCreate() {
+		this.createdAt = OffsetDateTime.now(ZoneOffset.UTC);
+	}
+}
@@ -0,0 +1,63 @@
+package com.neec.entity;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import com.neec.util.PooledSequence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@Builder @AllArgsConstructor @NoArgsConstructor @FieldDefaults(level = AccessLevel.PRIVATE) @Getter @Setter
+@Entity
+@Table(name="OUTBOX_MESSAGE")
+public class OutboxMessage {
+	@Column(name="OUTBOX_MESSAGE_ID")
+	@Id
+	@PooledSequence(sequenceName = "OUTBOX_MESSAGE_OUTBOX_MESSAGE_ID_SEQ")
+	private long outboxMessageId;
+
+	@Column(name="EXCHANGE", insertable = true, updatable = false, nullable = false, unique = false)
+	private String exchange;
+
+	@Column(name="ROUTING_KEY", insertable = true, updatable = false, nullable = false, unique = false)
+	private String routingKey;
+
+	// JSON
+	@Column(name="PAYLOAD", insertable = true, updatable = false, nullable = false, unique = false)
+	private String payload;
+
+	// class name of the payload, published as the __TypeId__ header so consumers deserialise the original type
+	@Column(name="PAYLOAD_TYPE", insertable = true, updatable = false, nullable = true, unique = false)
+	private String payloadType;
+
+	@Column(name="ATTEMPTS", insertable = true, updatable = true, nullable = false, unique = false)
+	private int attempts;
+
+	@Column(name="NEXT_ATTEMPT_AT", insertable = true, updatable = true, nullable = false, unique = false)
+	private OffsetDateTime nextAttemptAt;
+
+	@Column(name="LAST_ERROR", insertable = true, updatable = true, nullable = true, unique = false)
+	private String lastError;
+
+	@Column(name="CREATED_AT", insertable = true, updatable = false, nullable = false, unique = false)
+	private OffsetDateTime createdAt;
+
+	@PrePersist
+	void onCreate() {
+		this.createdAt = OffsetDateTime.now(ZoneOffset.UTC);
+		if(this.nextAttemptAt == null) {
+			this.nextAttemptAt = this.createdAt;
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package com.neec.entity;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * One row per login session. Only the current generation is stored; the refresh tokens themselves
+ * are self-contained and never persisted.
+ */
+@Builder @AllArgsConstructor @NoArgsConstructor @FieldDefaults(level = AccessLevel.PRIVATE) @Getter @Setter
+@Entity
+@Table(name="REFRESH_TOKEN_FAMILY")
+public class RefreshTokenFamily {
+	@Column(name="FAMILY_ID")
+	@Id
+	private UUID familyId;
+
+	@Column(name="USER_LOGIN_ID", insertable = true, updatable = false, nullable = false, unique = false)
+	private long userLoginId;
+
+	@Column(name="GENERATION", insertable = true, updatable = true, nullable = false, unique = false)
+	private int generation;
+
+	@Column(name="REVOKED", insertable = true, updatable = true, nullable = false, unique = false)
+	private boolean revoked;
+
+	@Column(name="EXPIRES_AT", insertable = true, updatable = true, nullable = false, unique = false)
+	private OffsetDateTime expiresAt;
+
+	@Column(name="UPDATED_AT", insertable = true, updatable = true, nullable = false, unique = false)
+	private OffsetDateTime updatedAt;
+}
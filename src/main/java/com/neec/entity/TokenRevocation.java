@@ -0,0 +1,44 @@
+package com.neec.entity;
+
+import java.time.OffsetDateTime;
+
+import com.neec.util.PooledSequence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Every token with this subject issued at or before REVOKED_BEFORE is revoked. The row is only needed
+ * until the last such token would have expired anyway. CREATED_AT is the inserting transaction's start on
+ * the database clock, set by the column default, which the delta polls in TokenRevocationService rely on.
+ */
+@Builder @AllArgsConstructor @NoArgsConstructor @FieldDefaults(level = AccessLevel.PRIVATE) @Getter @Setter
+@Entity
+@Table(name="TOKEN_REVOCATION")
+public class TokenRevocation {
+	@Column(name="TOKEN_REVOCATION_ID")
+	@Id
+	@PooledSequence(sequenceName = "TOKEN_REVOCATION_TOKEN_REVOCATION_ID_SEQ")
+	private long tokenRevocationId;
+
+	@Column(name="SUBJECT", insertable = true, updatable = false, nullable = false, unique = false)
+	private long subject;
+
+	@Column(name="REVOKED_BEFORE", insertable = true, updatable = false, nullable = false, unique = false)
+	private OffsetDateTime revokedBefore;
+
+	@Column(name="EXPIRES_AT", insertable = true, updatable = false, nullable = false, unique = false)
+	private OffsetDateTime expiresAt;
+
+	@Column(name="CREATED_AT", insertable = false, updatable = false, nullable = false, unique = false)
+	private OffsetDateTime createdAt;
+}
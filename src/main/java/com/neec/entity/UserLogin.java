@@ -5,13 +5,13 @@ import java.time.ZoneOffset;
 
 import com.neec.enums.EnumRole;
 import com.neec.enums.EnumUserAccountStatus;
+import com.neec.util.EmailNormalizer;
+import com.neec.util.PooledSequence;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
@@ -30,11 +30,14 @@ import lombok.experimental.FieldDefaults;
 public class UserLogin {
 	@Column(name="USER_LOGIN_ID")
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@PooledSequence(sequenceName = "USER_LOGIN_USER_LOGIN_ID_SEQ")
 	private long userLoginId;
 	
 	@Column(name="EMAIL_ADDRESS", nullable = false, unique = true, insertable = true, updatable = false)
 	private String emailAddress;
+
+	@Column(name="EMAIL_ADDRESS_CANONICAL", nullable = false, unique = true, insertable = true, updatable = false)
+	private String emailAddressCanonical;
 	
 	@Column(name = "HASHED_PASSWORD", insertable = true, updatable = true, nullable = false, unique = false)
 	private String hashedPassword;
@@ -55,12 +58,19 @@ public class UserLogin {
 	@Column(name="UPDATED_AT", insertable = true, updatable = true, nullable = false, unique = false)
 	private OffsetDateTime updatedAt;
 
+	// written only by LastLoginTracker
+	@Column(name="LAST_LOGIN_AT", insertable = false, updatable = false, nullable = true, unique = false)
+	private OffsetDateTime lastLoginAt;
+
 	@Column(name = "ROLE", insertable = true, updatable = true, nullable = false, unique = false)
 	@Enumerated(EnumType.STRING)
 	private EnumRole role;
 
 	@PrePersist
 	void onCreate() {
+		if(this.emailAddressCanonical == null && this.emailAddress != null) {
+			this.emailAddressCanonical = EmailNormalizer.canonical(this.emailAddress);
+		}
 		this.createdAt = OffsetDateTime.now(ZoneOffset.UTC);
 		this.updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
 	}
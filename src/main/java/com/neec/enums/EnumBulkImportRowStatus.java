@@ -0,0 +1,8 @@
+package com.neec.enums;
+
+public enum EnumBulkImportRowStatus {
+	REGISTERED,
+	DUPLICATE,
+	INVALID,
+	FAILED
+}
@@ -0,0 +1,7 @@
+package com.neec.enums;
+
+public enum EnumJwtSigningAlgorithm {
+	HS256,
+	ES256,
+	EdDSA
+}
@@ -1,7 +1,22 @@
 package com.neec.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum EnumUserAccountStatus {
 	PENDING_VERIFICATION,
 	ACTIVE,
-	SUSPENDED
+	SUSPENDED;
+
+	/**
+	 * @return the statuses an admin may move an account out of into this one; empty when admins cannot
+	 * assign it, since only verifying the email address makes an account PENDING_VERIFICATION or lifts it
+	 */
+	public Set<EnumUserAccountStatus> assignableFrom() {
+		return switch(this) {
+			case ACTIVE -> EnumSet.of(SUSPENDED);
+			case SUSPENDED -> EnumSet.of(PENDING_VERIFICATION, ACTIVE);
+			case PENDING_VERIFICATION -> EnumSet.noneOf(EnumUserAccountStatus.class);
+		};
+	}
 }
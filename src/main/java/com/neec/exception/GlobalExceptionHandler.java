@@ -3,6 +3,7 @@ package com.neec.exception;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -11,6 +12,8 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
 
 import jakarta.validation.ConstraintViolationException;
 
@@ -25,6 +28,15 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.badRequest().body(errors);
 	}
 
+	// the WebFlux counterpart of MethodArgumentNotValidException, for the reactive login tier
+	@ExceptionHandler(exception = {WebExchangeBindException.class})
+	public ResponseEntity<Map<String, String>> handleWebExchangeBindException(WebExchangeBindException ex){
+		Map<String, String> errors = ex.getFieldErrors().stream()
+				.collect(Collectors.toMap(FieldError::getField, FieldError::getDefaultMessage,
+						(existing, replacement) -> existing));
+		return ResponseEntity.badRequest().body(errors);
+	}
+
 	@ExceptionHandler(exception = {MissingServletRequestParameterException.class})
 	public ResponseEntity<Map<String, String>> handleMissingServletRequestParameterException(MissingServletRequestParameterException ex){
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", "Request parameter 'token' is required."));
@@ -45,8 +57,14 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("Request_Body_Error", "Please check request body"));
 	}
 
+	// the WebFlux counterpart of HttpMessageNotReadableException
+	@ExceptionHandler(exception = {ServerWebInputException.class})
+	public ResponseEntity<Map<String, String>> handleServerWebInputException(ServerWebInputException ex){
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("Request_Body_Error", "Please check request body"));
+	}
+
 	@ExceptionHandler(exception = {UserNotFoundException.class, UserAccountSuspendedException.class,
-			UserNotVerifiedException.class})
+			UserNotVerifiedException.class, InvalidRefreshTokenException.class, InvalidAccessTokenException.class})
 	public ResponseEntity<Map<String, String>> handleAuthenticationExceptions(RuntimeException ex){
 		return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", ex.getMessage()));
 	}
@@ -55,4 +73,24 @@ public class GlobalExceptionHandler {
 	public ResponseEntity<Map<String, String>> handleInvalidTokenException(InvalidTokenException ex){
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", ex.getMessage()));
 	}
+
+	@ExceptionHandler(exception = {InvalidBulkImportException.class})
+	public ResponseEntity<Map<String, String>> handleInvalidBulkImportException(InvalidBulkImportException ex){
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", ex.getMessage()));
+	}
+
+	// same status and body as the per-email rate limit; addresses without an account are locked the same way
+	@ExceptionHandler(exception = {AccountLockedException.class})
+	public ResponseEntity<Map<String, String>> handleAccountLockedException(AccountLockedException ex){
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+				.body(Map.of("error", ex.getMessage()));
+	}
+
+	@ExceptionHandler(exception = {ServiceOverloadedException.class})
+	public ResponseEntity<Map<String, String>> handleServiceOverloadedException(ServiceOverloadedException ex){
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+				.body(Map.of("error", ex.getMessage()));
+	}
 }
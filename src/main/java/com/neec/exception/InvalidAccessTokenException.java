@@ -0,0 +1,7 @@
+package com.neec.exception;
+
+public class InvalidAccessTokenException extends RuntimeException {
+	public InvalidAccessTokenException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,7 @@
+package com.neec.exception;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+	public InvalidRefreshTokenException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,50 @@
+package com.neec.filter;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.neec.dto.IntrospectionResponseDTO;
+import com.neec.service.TokenIntrospectionService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticates a request from its own bearer JWT, with the token's roles as ROLE_ authorities. Tokens
+ * are checked through {@link TokenIntrospectionService}, so revoked ones are refused as well. A missing
+ * or inactive token leaves the request anonymous for the authorization rules to reject.
+ */
+public class JwtBearerAuthenticationFilter extends OncePerRequestFilter {
+	private static final String BEARER_PREFIX = "Bearer ";
+
+	private TokenIntrospectionService tokenIntrospectionService;
+
+	public JwtBearerAuthenticationFilter(TokenIntrospectionService tokenIntrospectionService) {
+		this.tokenIntrospectionService = tokenIntrospectionService;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if(authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+			IntrospectionResponseDTO token =
+					tokenIntrospectionService.introspect(authorization.substring(BEARER_PREFIX.length()).trim());
+			if(token.isActive()) {
+				List<SimpleGrantedAuthority> authorities = token.getRoles() == null ? List.of()
+						: token.getRoles().stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList();
+				SecurityContextHolder.getContext().setAuthentication(
+						UsernamePasswordAuthenticationToken.authenticated(token.getSub(), null, authorities));
+			}
+		}
+		filterChain.doFilter(request, response);
+	}
+}
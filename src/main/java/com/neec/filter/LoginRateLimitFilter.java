@@ -0,0 +1,171 @@
+package com.neec.filter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neec.service.LoginRateLimiter;
+import com.neec.util.ClientIpResolver;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rejects login attempts over the per-IP or per-email limit with 429 before Spring Security and the
+ * controller see them. The IP is checked first, so a flood from one address costs no body parsing.
+ * The client IP comes from {@link ClientIpResolver}, which reads X-Forwarded-For from trusted proxies only.
+ */
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+	// a login body is two short fields; anything larger is not worth parsing
+	static final int MAX_BODY_BYTES = 8192;
+	// LoginRequestDTO's @Size cap; longer addresses fail validation and never become limiter keys
+	static final int MAX_EMAIL_ADDRESS_CHARS = 254;
+
+	private LoginRateLimiter loginRateLimiter;
+	private ClientIpResolver clientIpResolver;
+	private ObjectMapper objectMapper;
+
+	public LoginRateLimitFilter(LoginRateLimiter loginRateLimiter, ClientIpResolver clientIpResolver,
+			ObjectMapper objectMapper) {
+		this.loginRateLimiter = loginRateLimiter;
+		this.clientIpResolver = clientIpResolver;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !"POST".equals(request.getMethod());
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String clientIp = clientIpResolver.resolve(request.getRemoteAddr(),
+				Collections.list(request.getHeaders("X-Forwarded-For")));
+		long retryAfterSeconds = loginRateLimiter.checkClientIp(clientIp);
+		if(retryAfterSeconds > 0) {
+			tooManyRequests(response, retryAfterSeconds);
+			return;
+		}
+		byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+		if(body.length > MAX_BODY_BYTES) {
+			writeError(response, HttpStatus.BAD_REQUEST, Map.of("Request_Body_Error", "Please check request body"), 0);
+			return;
+		}
+		String emailAddress = readEmailAddress(body);
+		if(emailAddress != null) {
+			retryAfterSeconds = loginRateLimiter.checkEmailAddress(emailAddress);
+			if(retryAfterSeconds > 0) {
+				tooManyRequests(response, retryAfterSeconds);
+				return;
+			}
+		}
+		filterChain.doFilter(new CachedBodyRequest(request, body), response);
+	}
+
+	// null when absent, malformed or too long; validation reports that downstream
+	private String readEmailAddress(byte[] body) {
+		try {
+			JsonNode root = objectMapper.readTree(body);
+			JsonNode emailAddress = root == null ? null : root.path("emailAddress");
+			return emailAddress != null && emailAddress.isTextual()
+					&& emailAddress.asText().length() <= MAX_EMAIL_ADDRESS_CHARS ? emailAddress.asText() : null;
+		} catch (IOException ex) {
+			return null;
+		}
+	}
+
+	private void tooManyRequests(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+		writeError(response, HttpStatus.TOO_MANY_REQUESTS,
+				Map.of("error", "Too many login attempts. Please try again later."), retryAfterSeconds);
+	}
+
+	private void writeError(HttpServletResponse response, HttpStatus status, Map<String, String> body,
+			long retryAfterSeconds) throws IOException {
+		response.setStatus(status.value());
+		if(retryAfterSeconds > 0) {
+			response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+		}
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		objectMapper.writeValue(response.getOutputStream(), body);
+	}
+
+	private static class CachedBodyRequest extends HttpServletRequestWrapper {
+		private final byte[] body;
+
+		CachedBodyRequest(HttpServletRequest request, byte[] body) {
+			super(request);
+			this.body = body;
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			ByteArrayInputStream input = new ByteArrayInputStream(body);
+			return new ServletInputStream() {
+				@Override
+				public int read() {
+					return input.read();
+				}
+
+				@Override
+				public int read(byte[] buffer, int offset, int length) {
+					return input.read(buffer, offset, length);
+				}
+
+				@Override
+				public boolean isFinished() {
+					return input.available() == 0;
+				}
+
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+
+				// the body is already in memory, so it is all available at once
+				@Override
+				public void setReadListener(ReadListener readListener) {
+					try {
+						readListener.onDataAvailable();
+						readListener.onAllDataRead();
+					} catch (IOException ex) {
+						readListener.onError(ex);
+					}
+				}
+			};
+		}
+
+		@Override
+		public BufferedReader getReader() {
+			Charset charset = getCharacterEncoding() == null ? StandardCharsets.UTF_8 : Charset.forName(getCharacterEncoding());
+			return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+		}
+
+		@Override
+		public int getContentLength() {
+			return body.length;
+		}
+
+		@Override
+		public long getContentLengthLong() {
+			return body.length;
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package com.neec.repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.neec.entity.JwtSigningKey;
+
+public interface JwtSigningKeyRepository extends JpaRepository<JwtSigningKey, String> {
+	List<JwtSigningKey> findByExpiresAtAfterOrderByActivatesAtDesc(OffsetDateTime now);
+
+	@Modifying
+	@Transactional
+	@Query("delete from JwtSigningKey k where k.expiresAt <= :now")
+	int deleteExpired(@Param("now") OffsetDateTime now);
+}
@@ -0,0 +1,25 @@
+package com.neec.repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.neec.entity.OutboxMessage;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+	// rows locked by another relay are skipped rather than waited for, so relays on several instances share the backlog
+	@Query(value = "select * from OUTBOX_MESSAGE where NEXT_ATTEMPT_AT <= :now order by OUTBOX_MESSAGE_ID "
+			+ "limit :limit for update skip locked", nativeQuery = true)
+	List<OutboxMessage> lockDueMessages(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+
+	// an update, not a merge, so a row another relay has already deleted stays deleted
+	@Modifying
+	@Query("update OutboxMessage set attempts = :attempts, nextAttemptAt = :nextAttemptAt, lastError = :lastError "
+			+ "where outboxMessageId = :outboxMessageId")
+	int reschedule(@Param("outboxMessageId") long outboxMessageId, @Param("attempts") int attempts,
+			@Param("nextAttemptAt") OffsetDateTime nextAttemptAt, @Param("lastError") String lastError);
+}
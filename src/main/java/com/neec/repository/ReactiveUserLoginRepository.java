@@ -0,0 +1,46 @@
+package com.neec.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.neec.dto.UserCredentialDTO;
+import com.neec.enums.EnumRole;
+import com.neec.enums.EnumUserAccountStatus;
+
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC reads of USER_LOGIN for the reactive login tier, matching the JPA queries in
+ * {@link UserLoginRepository} column for column.
+ */
+@Repository
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveUserLoginRepository {
+	private static final String FIND_CREDENTIAL = "select USER_LOGIN_ID, EMAIL_ADDRESS, HASHED_PASSWORD, STATUS, ROLE "
+			+ "from USER_LOGIN where EMAIL_ADDRESS_CANONICAL = :emailAddressCanonical";
+
+	private DatabaseClient databaseClient;
+
+	public ReactiveUserLoginRepository(ConnectionFactory connectionFactory) {
+		this.databaseClient = DatabaseClient.create(connectionFactory);
+	}
+
+	/**
+	 * @return the login columns, or empty when no account has the address
+	 */
+	public Mono<UserCredentialDTO> findCredentialByEmailAddressCanonical(String emailAddressCanonical) {
+		return databaseClient.sql(FIND_CREDENTIAL)
+				.bind("emailAddressCanonical", emailAddressCanonical)
+				.map(row -> UserCredentialDTO.builder()
+						.userLoginId(row.get("USER_LOGIN_ID", Long.class))
+						.emailAddress(row.get("EMAIL_ADDRESS", String.class))
+						.hashedPassword(row.get("HASHED_PASSWORD", String.class))
+						.accountStatus(EnumUserAccountStatus.valueOf(row.get("STATUS", String.class)))
+						.role(EnumRole.valueOf(row.get("ROLE", String.class)))
+						.build())
+				.one();
+	}
+}
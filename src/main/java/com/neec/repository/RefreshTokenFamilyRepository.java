@@ -0,0 +1,48 @@
+package com.neec.repository;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.neec.entity.RefreshTokenFamily;
+
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, UUID> {
+	// first refresh of a session: the family row is created already advanced to the next generation
+	@Modifying
+	@Transactional
+	@Query(value = "insert into REFRESH_TOKEN_FAMILY (FAMILY_ID, USER_LOGIN_ID, GENERATION, REVOKED, EXPIRES_AT, UPDATED_AT) "
+			+ "values (:familyId, :userLoginId, :generation, false, :expiresAt, :updatedAt) "
+			+ "on conflict (FAMILY_ID) do nothing", nativeQuery = true)
+	int insertIfAbsent(@Param("familyId") UUID familyId,
+			@Param("userLoginId") long userLoginId,
+			@Param("generation") int generation,
+			@Param("expiresAt") OffsetDateTime expiresAt,
+			@Param("updatedAt") OffsetDateTime updatedAt);
+
+	// compare-and-set on the generation, so each refresh token can be redeemed exactly once
+	@Modifying
+	@Transactional
+	@Query("update RefreshTokenFamily f set f.generation = :generation + 1, f.expiresAt = :expiresAt, "
+			+ "f.updatedAt = :updatedAt where f.familyId = :familyId and f.generation = :generation and f.revoked = false")
+	int advanceGeneration(@Param("familyId") UUID familyId,
+			@Param("generation") int generation,
+			@Param("expiresAt") OffsetDateTime expiresAt,
+			@Param("updatedAt") OffsetDateTime updatedAt);
+
+	@Modifying
+	@Transactional
+	@Query("update RefreshTokenFamily f set f.revoked = true, f.updatedAt = :updatedAt where f.familyId = :familyId")
+	int revokeFamily(@Param("familyId") UUID familyId, @Param("updatedAt") OffsetDateTime updatedAt);
+
+	// one chunk per transaction; rows another instance is deleting are skipped rather than waited for
+	@Modifying
+	@Transactional
+	@Query(value = "delete from REFRESH_TOKEN_FAMILY where FAMILY_ID in (select FAMILY_ID from REFRESH_TOKEN_FAMILY "
+			+ "where EXPIRES_AT <= :now limit :limit for update skip locked)", nativeQuery = true)
+	int deleteExpired(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+}
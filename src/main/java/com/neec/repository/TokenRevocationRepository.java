@@ -0,0 +1,22 @@
+package com.neec.repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.neec.entity.TokenRevocation;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+	List<TokenRevocation> findByCreatedAtGreaterThanEqualAndExpiresAtAfterOrderByCreatedAt(OffsetDateTime createdFrom,
+			OffsetDateTime now);
+
+	@Modifying
+	@Transactional
+	@Query("delete from TokenRevocation r where r.expiresAt <= :now")
+	int deleteExpired(@Param("now") OffsetDateTime now);
+}
@@ -1,12 +1,138 @@
 package com.neec.repository;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.neec.dto.UserCredentialDTO;
 import com.neec.entity.UserLogin;
 
+import jakarta.persistence.QueryHint;
+
 public interface UserLoginRepository extends JpaRepository<UserLogin, Long> {
-	Optional<UserLogin> findByEmailAddress(String emailAddress);
+	// status set by an admin change; verification clears the token, so one still set means never verified
+	String STATUS_AFTER_CHANGE = "case when :status = 'ACTIVE' and VERIFICATION_TOKEN is not null "
+			+ "then 'PENDING_VERIFICATION' else :status end";
+
+	Optional<UserLogin> findByEmailAddressCanonical(String emailAddressCanonical);
 	Optional<UserLogin> findByVerificationToken(String verificationToken);
+
+	// login reads only these columns; the DTO is not managed, so nothing is tracked in the persistence context
+	@Query("select new com.neec.dto.UserCredentialDTO(u.userLoginId, u.emailAddress, u.hashedPassword, "
+			+ "u.accountStatus, u.role) from UserLogin u where u.emailAddressCanonical = :emailAddressCanonical")
+	Optional<UserCredentialDTO> findCredentialByEmailAddressCanonical(
+			@Param("emailAddressCanonical") String emailAddressCanonical);
+
+	// must be consumed inside a transaction and closed
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("select u.emailAddressCanonical from UserLogin u where u.createdAt >= :createdFrom")
+	Stream<String> streamEmailAddressesCreatedFrom(@Param("createdFrom") OffsetDateTime createdFrom);
+
+	// the unique constraint on EMAIL_ADDRESS_CANONICAL decides in one round trip; empty when the address is taken.
+	// CREATED_AT is the transaction's start on the database clock, which EmailExistenceFilter.sync relies on
+	@Transactional
+	@Query(value = "insert into USER_LOGIN (EMAIL_ADDRESS, EMAIL_ADDRESS_CANONICAL, HASHED_PASSWORD, STATUS, ROLE, "
+			+ "VERIFICATION_TOKEN, VERIFICATION_TOKEN_EXPIRES_AT, CREATED_AT, UPDATED_AT) "
+			+ "values (:emailAddress, :emailAddressCanonical, :hashedPassword, :status, :role, :verificationToken, "
+			+ ":verificationTokenExpiresAt, now(), now()) "
+			+ "on conflict (EMAIL_ADDRESS_CANONICAL) do nothing returning USER_LOGIN_ID", nativeQuery = true)
+	Optional<Long> insertIfAbsent(@Param("emailAddress") String emailAddress,
+			@Param("emailAddressCanonical") String emailAddressCanonical,
+			@Param("hashedPassword") String hashedPassword,
+			@Param("status") String status,
+			@Param("role") String role,
+			@Param("verificationToken") String verificationToken,
+			@Param("verificationTokenExpiresAt") OffsetDateTime verificationTokenExpiresAt);
+
+	// one round trip: activates the account when the token is valid and reports why not otherwise.
+	// a token consumed by a concurrent click fails the re-checked where clause and reads as not expired.
+	// an account suspended before verifying stays suspended; the address counts as verified, so reactivation
+	// makes it ACTIVE
+	@Transactional
+	@Query(value = "with target as (select USER_LOGIN_ID, VERIFICATION_TOKEN_EXPIRES_AT from USER_LOGIN "
+			+ "where VERIFICATION_TOKEN = :verificationToken), "
+			+ "verified as (update USER_LOGIN set STATUS = case when STATUS = 'PENDING_VERIFICATION' then 'ACTIVE' "
+			+ "else STATUS end, VERIFICATION_TOKEN = null, "
+			+ "VERIFICATION_TOKEN_EXPIRES_AT = null, UPDATED_AT = :now "
+			+ "where VERIFICATION_TOKEN = :verificationToken and VERIFICATION_TOKEN_EXPIRES_AT >= :now "
+			+ "returning EMAIL_ADDRESS_CANONICAL) "
+			+ "select (select EMAIL_ADDRESS_CANONICAL from verified) as \"emailAddressCanonical\", "
+			+ "(select VERIFICATION_TOKEN_EXPIRES_AT < :now from target) as \"expired\"", nativeQuery = true)
+	VerificationOutcome verifyByToken(@Param("verificationToken") String verificationToken,
+			@Param("now") OffsetDateTime now);
+
+	// keyset-paginated by id; rows locked by a verification in flight are skipped until the next run
+	@Transactional
+	@Query(value = "delete from USER_LOGIN where USER_LOGIN_ID in (select USER_LOGIN_ID from USER_LOGIN "
+			+ "where STATUS = 'PENDING_VERIFICATION' and VERIFICATION_TOKEN_EXPIRES_AT < :expiredBefore "
+			+ "and USER_LOGIN_ID > :afterUserLoginId order by USER_LOGIN_ID limit :limit for update skip locked) "
+			+ "returning USER_LOGIN_ID as \"userLoginId\", EMAIL_ADDRESS_CANONICAL as \"emailAddressCanonical\"",
+			nativeQuery = true)
+	List<AccountKey> deleteExpiredPendingAccounts(@Param("expiredBefore") OffsetDateTime expiredBefore,
+			@Param("afterUserLoginId") long afterUserLoginId,
+			@Param("limit") int limit);
+
+	// only accounts in one of fromStatuses change, see EnumUserAccountStatus.assignableFrom; a reactivated account
+	// whose address was never verified still holds its token and goes back to PENDING_VERIFICATION.
+	// rows are locked in id order so concurrent chunks cannot deadlock
+	@Transactional
+	@Query(value = "update USER_LOGIN set STATUS = " + STATUS_AFTER_CHANGE + ", UPDATED_AT = :now where USER_LOGIN_ID in ("
+			+ "select USER_LOGIN_ID from USER_LOGIN where EMAIL_ADDRESS_CANONICAL in (:emailAddressCanonicals) "
+			+ "and STATUS in (:fromStatuses) order by USER_LOGIN_ID for update) "
+			+ "returning USER_LOGIN_ID as \"userLoginId\", EMAIL_ADDRESS_CANONICAL as \"emailAddressCanonical\"",
+			nativeQuery = true)
+	List<AccountKey> updateStatusByEmailAddressCanonicals(
+			@Param("emailAddressCanonicals") List<String> emailAddressCanonicals,
+			@Param("fromStatuses") List<String> fromStatuses,
+			@Param("status") String status,
+			@Param("now") OffsetDateTime now);
+
+	// keyset-paginated by id like the pending-account sweep, but waits for locked rows instead of skipping them
+	@Transactional
+	@Query(value = "update USER_LOGIN set STATUS = " + STATUS_AFTER_CHANGE + ", UPDATED_AT = :now where USER_LOGIN_ID in ("
+			+ "select USER_LOGIN_ID from USER_LOGIN where STATUS = :currentStatus and STATUS in (:fromStatuses) "
+			+ "and CREATED_AT >= :createdFrom and CREATED_AT < :createdBefore and USER_LOGIN_ID > :afterUserLoginId "
+			+ "order by USER_LOGIN_ID limit :limit for update) "
+			+ "returning USER_LOGIN_ID as \"userLoginId\", EMAIL_ADDRESS_CANONICAL as \"emailAddressCanonical\"",
+			nativeQuery = true)
+	List<AccountKey> updateStatusByFilter(@Param("currentStatus") String currentStatus,
+			@Param("fromStatuses") List<String> fromStatuses,
+			@Param("createdFrom") OffsetDateTime createdFrom,
+			@Param("createdBefore") OffsetDateTime createdBefore,
+			@Param("afterUserLoginId") long afterUserLoginId,
+			@Param("limit") int limit,
+			@Param("status") String status,
+			@Param("now") OffsetDateTime now);
+
+	// compare-and-set so a rehash never overwrites a password changed in the meantime
+	@Modifying
+	@Transactional
+	@Query("update UserLogin u set u.hashedPassword = :newHashedPassword, u.updatedAt = :updatedAt "
+			+ "where u.userLoginId = :userLoginId and u.hashedPassword = :currentHashedPassword")
+	int updateHashedPassword(@Param("userLoginId") long userLoginId,
+			@Param("currentHashedPassword") String currentHashedPassword,
+			@Param("newHashedPassword") String newHashedPassword,
+			@Param("updatedAt") OffsetDateTime updatedAt);
+
+	interface VerificationOutcome {
+		// set only when this call activated the account
+		String getEmailAddressCanonical();
+		// null when no account holds the token
+		Boolean getExpired();
+	}
+
+	interface AccountKey {
+		Long getUserLoginId();
+		String getEmailAddressCanonical();
+	}
 }
@@ -0,0 +1,153 @@
+package com.neec.service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neec.dto.AccountStatusChangeRequestDTO;
+import com.neec.dto.AccountStatusChangeResponseDTO;
+import com.neec.dto.AccountStatusChangedEventDTO;
+import com.neec.enums.EnumUserAccountStatus;
+import com.neec.repository.UserLoginRepository;
+import com.neec.util.EmailNormalizer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Suspends or reactivates accounts in bulk, for a list of addresses or every account matching a filter.
+ * <p>
+ * Each chunk is one set-based UPDATE ... RETURNING in its own transaction, so row locks are held for one
+ * chunk at a time. In the same transaction, suspended accounts get their tokens revoked, the chunk's
+ * credentials are invalidated on every instance, and one aggregated event is queued in the outbox for
+ * downstream consumers.
+ */
+@Slf4j
+@Service
+public class AccountStatusAdminService {
+	private static final OffsetDateTime BEGINNING = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+	@Value("${account.status.change.chunk.size}")
+	private int chunkSize;
+
+	@Value("${rabbitmq.topic.exchange.name}")
+	private String topicExchangeName;
+
+	@Value("${rabbitmq.account.status.routing.key}")
+	private String accountStatusRoutingKey;
+
+	private UserLoginRepository userLoginRepository;
+	private TokenRevocationService tokenRevocationService;
+	private CredentialCache credentialCache;
+	private OutboxService outboxService;
+	private TransactionTemplate transactionTemplate;
+	private MeterRegistry meterRegistry;
+	private Timer chunkTimer;
+
+	public AccountStatusAdminService(UserLoginRepository userLoginRepository,
+			TokenRevocationService tokenRevocationService, CredentialCache credentialCache,
+			OutboxService outboxService, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+		this.userLoginRepository = userLoginRepository;
+		this.tokenRevocationService = tokenRevocationService;
+		this.credentialCache = credentialCache;
+		this.outboxService = outboxService;
+		this.transactionTemplate = transactionTemplate;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@PostConstruct
+	public void init() {
+		this.chunkTimer = Timer.builder("account.status.change.chunk")
+				.description("Time a chunk's rows stay locked, from its UPDATE to commit")
+				.publishPercentiles(0.5, 0.99)
+				.register(meterRegistry);
+	}
+
+	public AccountStatusChangeResponseDTO changeStatus(AccountStatusChangeRequestDTO dto) {
+		EnumUserAccountStatus status = dto.getStatus();
+		Counter rowsCounter = Counter.builder("account.status.change.rows")
+				.description("Accounts moved to a status by an admin")
+				.tag("status", status.name())
+				.register(meterRegistry);
+		// the request DTO validates this too
+		if(status.assignableFrom().isEmpty()
+				|| (dto.getCurrentStatus() != null && !status.assignableFrom().contains(dto.getCurrentStatus()))) {
+			throw new IllegalArgumentException("Accounts cannot be moved from " + dto.getCurrentStatus() + " to " + status);
+		}
+		List<String> fromStatuses = status.assignableFrom().stream().map(EnumUserAccountStatus::name).sorted().toList();
+		long updated = 0;
+		int chunks = 0;
+		if(dto.getEmailAddresses() != null && !dto.getEmailAddresses().isEmpty()) {
+			Set<String> emailAddressCanonicals = new LinkedHashSet<>();
+			dto.getEmailAddresses().forEach(emailAddress -> emailAddressCanonicals.add(EmailNormalizer.canonical(emailAddress)));
+			List<String> all = new ArrayList<>(emailAddressCanonicals);
+			for(int from = 0; from < all.size(); from += chunkSize) {
+				List<String> chunk = all.subList(from, Math.min(from + chunkSize, all.size()));
+				updated += changeChunk(dto, () -> userLoginRepository.updateStatusByEmailAddressCanonicals(chunk,
+						fromStatuses, status.name(), OffsetDateTime.now(ZoneOffset.UTC))).size();
+				chunks++;
+			}
+		} else {
+			OffsetDateTime createdFrom = dto.getCreatedFrom() == null ? BEGINNING : dto.getCreatedFrom();
+			// accounts registered while the change runs are left out
+			OffsetDateTime createdBefore = dto.getCreatedBefore() == null
+					? OffsetDateTime.now(ZoneOffset.UTC) : dto.getCreatedBefore();
+			long afterUserLoginId = 0;
+			while(true) {
+				long after = afterUserLoginId;
+				List<UserLoginRepository.AccountKey> chunk = changeChunk(dto, () -> userLoginRepository.updateStatusByFilter(
+						dto.getCurrentStatus().name(), fromStatuses, createdFrom, createdBefore, after, chunkSize,
+						status.name(), OffsetDateTime.now(ZoneOffset.UTC)));
+				if(chunk.isEmpty()) {
+					break;
+				}
+				updated += chunk.size();
+				chunks++;
+				afterUserLoginId = chunk.stream().mapToLong(UserLoginRepository.AccountKey::getUserLoginId).max().getAsLong();
+			}
+		}
+		rowsCounter.increment(updated);
+		log.info("Moved {} accounts to {} in {} chunks", updated, status, chunks);
+		return AccountStatusChangeResponseDTO.builder()
+				.status(status)
+				.updated(updated)
+				.chunks(chunks)
+				.build();
+	}
+
+	private List<UserLoginRepository.AccountKey> changeChunk(AccountStatusChangeRequestDTO dto,
+			Supplier<List<UserLoginRepository.AccountKey>> update) {
+		return chunkTimer.record(() -> transactionTemplate.execute(transactionStatus -> {
+			List<UserLoginRepository.AccountKey> changed = update.get();
+			if(changed.isEmpty()) {
+				return changed;
+			}
+			List<Long> userLoginIds = changed.stream().map(UserLoginRepository.AccountKey::getUserLoginId).toList();
+			List<String> emailAddressCanonicals =
+					changed.stream().map(UserLoginRepository.AccountKey::getEmailAddressCanonical).toList();
+			if(dto.getStatus() == EnumUserAccountStatus.SUSPENDED) {
+				tokenRevocationService.revokeAllTokens(userLoginIds);
+			}
+			credentialCache.invalidateAll(emailAddressCanonicals);
+			outboxService.enqueue(topicExchangeName, accountStatusRoutingKey, AccountStatusChangedEventDTO.builder()
+					.status(dto.getStatus())
+					.userLoginIds(userLoginIds)
+					.emailAddresses(emailAddressCanonicals)
+					.reason(dto.getReason())
+					.changedAt(System.currentTimeMillis())
+					.build());
+			return changed;
+		}));
+	}
+}
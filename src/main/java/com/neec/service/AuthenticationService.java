@@ -1,7 +1,13 @@
 package com.neec.service;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
 import com.neec.dto.LoginRequestDTO;
+import com.neec.dto.LoginResponseDTO;
 import com.neec.dto.RegistrationRequestDTO;
+import com.neec.dto.UserCredentialDTO;
 import com.neec.exception.UserNotVerifiedException;
 
 public interface AuthenticationService {
@@ -14,13 +20,40 @@ public interface AuthenticationService {
 	void registerUser(RegistrationRequestDTO dto);
 	
 	/**
-	 * method to login user. On successful login, JWT token is returned
+	 * method to login user. On successful login, JWT token and refresh token are returned.
+	 * The password is checked on the hashing pool, so the caller's thread is not held meanwhile;
+	 * the exceptions below complete the returned future.
 	 * @param loginRequestDTO
-	 * @return a JWT token
+	 * @return a JWT token and a refresh token
 	 * @throws UserNotFoundException if email or password is not found
 	 * @throws UserAccountSuspendedException when the user account is suspended
 	 * @throws UserNotVerifiedException when user account verification is in Pending stage
+	 * @throws ServiceOverloadedException when the hashing pool is saturated
+	 */
+	CompletableFuture<LoginResponseDTO> login(LoginRequestDTO loginRequestDTO);
+
+	/**
+	 * As {@link #login(LoginRequestDTO)}, reading the credential on a cache miss with the given loader
+	 * instead of JDBC, and without a transaction; the reactive tier passes an R2DBC query.
+	 * @param credentialLoader reads the credential by canonical email address without blocking
+	 */
+	CompletableFuture<LoginResponseDTO> login(LoginRequestDTO loginRequestDTO,
+			Function<String, CompletableFuture<Optional<UserCredentialDTO>>> credentialLoader);
+
+	/**
+	 * Exchanges a refresh token for a new JWT token and the next refresh token, without a password check.
+	 * @param refreshToken refresh token returned by login or the previous refresh
+	 * @return a JWT token and the rotated refresh token
+	 * @throws InvalidRefreshTokenException if the token is invalid, expired, already used or revoked
+	 * @throws UserAccountSuspendedException when the user account is suspended
+	 */
+	LoginResponseDTO refreshToken(String refreshToken);
+
+	/**
+	 * Revokes every JWT token and refresh token of the token's subject issued up to now.
+	 * @param jwtToken a JWT token issued by this service
+	 * @throws InvalidAccessTokenException if the token is invalid or expired
 	 */
-	String login(LoginRequestDTO loginRequestDTO);
+	void logout(String jwtToken);
 	void verifyUser(String token);
 }
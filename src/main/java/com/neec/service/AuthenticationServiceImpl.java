@@ -5,25 +5,34 @@ import java.time.ZoneOffset;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.neec.dto.LoginRequestDTO;
+import com.neec.dto.LoginResponseDTO;
 import com.neec.dto.RegistrationRequestDTO;
+import com.neec.dto.UserCredentialDTO;
 import com.neec.entity.UserLogin;
 import com.neec.enums.EnumRole;
 import com.neec.enums.EnumUserAccountStatus;
+import com.neec.exception.AccountLockedException;
+import com.neec.exception.InvalidAccessTokenException;
+import com.neec.exception.InvalidRefreshTokenException;
 import com.neec.exception.InvalidTokenException;
 import com.neec.exception.UserAccountSuspendedException;
 import com.neec.exception.UserAlreadyExistsException;
 import com.neec.exception.UserNotFoundException;
 import com.neec.exception.UserNotVerifiedException;
 import com.neec.repository.UserLoginRepository;
+import com.neec.util.EmailNormalizer;
 
+import io.jsonwebtoken.JwtException;
 import io.micrometer.observation.annotation.Observed;
 
 @Service
@@ -36,77 +45,186 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 	private String routingKey;
 
 	private UserLoginRepository userLoginRepository;
-	private BCryptPasswordEncoder bCryptPasswordEncoder;
+	private PasswordHashingService passwordHashingService;
+	private PasswordRehashService passwordRehashService;
 	private JwtService jwtService;
-	private RabbitTemplate rabbitTemplate;
+	private RefreshTokenService refreshTokenService;
+	private TokenRevocationService tokenRevocationService;
+	private OutboxService outboxService;
+	private EmailExistenceFilter emailExistenceFilter;
+	private CredentialCache credentialCache;
+	private LoginFailureTracker loginFailureTracker;
+	private LastLoginTracker lastLoginTracker;
+	private TransactionTemplate transactionTemplate;
 
 	public AuthenticationServiceImpl(UserLoginRepository userLoginRepository, 
-			BCryptPasswordEncoder bCryptPasswordEncoder, JwtService jwtService,
-			RabbitTemplate rabbitTemplate) {
+			PasswordHashingService passwordHashingService, PasswordRehashService passwordRehashService,
+			JwtService jwtService, RefreshTokenService refreshTokenService,
+			TokenRevocationService tokenRevocationService, OutboxService outboxService,
+			EmailExistenceFilter emailExistenceFilter, CredentialCache credentialCache,
+			LoginFailureTracker loginFailureTracker, LastLoginTracker lastLoginTracker,
+			TransactionTemplate transactionTemplate) {
 		this.userLoginRepository = userLoginRepository;
-		this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+		this.passwordHashingService = passwordHashingService;
+		this.passwordRehashService = passwordRehashService;
 		this.jwtService = jwtService;
-		this.rabbitTemplate = rabbitTemplate;
+		this.refreshTokenService = refreshTokenService;
+		this.tokenRevocationService = tokenRevocationService;
+		this.outboxService = outboxService;
+		this.emailExistenceFilter = emailExistenceFilter;
+		this.credentialCache = credentialCache;
+		this.loginFailureTracker = loginFailureTracker;
+		this.lastLoginTracker = lastLoginTracker;
+		this.transactionTemplate = transactionTemplate;
 	}
 
+	// hashed before the transaction opens, so waiting for the hashing pool holds no database connection
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	@Observed(name = "authentication.service.register.user", contextualName = "registering a new user")
 	@Override
 	public void registerUser(RegistrationRequestDTO dto) {
-		String emailAddress = dto.getEmailAddress();
-		Optional<UserLogin> optExistingUser = userLoginRepository.findByEmailAddress(emailAddress.trim());
-		if(optExistingUser.isPresent()) {
-			throw new UserAlreadyExistsException("Email is already used.");
-		}
-		UserLogin newUser = UserLogin.builder()
-				.emailAddress(emailAddress.trim())
-				.hashedPassword(bCryptPasswordEncoder.encode(dto.getPassword()))
-				.accountStatus(EnumUserAccountStatus.PENDING_VERIFICATION)
-				.role(EnumRole.APPLICANT)
-				.verificationToken(UUID.randomUUID().toString())
-				.verificationTokenExpiresAt(OffsetDateTime.now(ZoneOffset.UTC).plusHours(24))
-				.build();
-		UserLogin savedUser = userLoginRepository.save(newUser);
-		Map<String, String> message = Map.of(
-					"email", savedUser.getEmailAddress(),
-					"token", savedUser.getVerificationToken()
-				);
-		rabbitTemplate.convertAndSend(topicExchangeName, routingKey, message);
+		String emailAddress = dto.getEmailAddress().trim();
+		String emailAddressCanonical = EmailNormalizer.canonical(emailAddress);
+		String verificationToken = UUID.randomUUID().toString();
+		String hashedPassword = passwordHashingService.encode(dto.getPassword());
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		transactionTemplate.executeWithoutResult(transactionStatus -> {
+			userLoginRepository.insertIfAbsent(emailAddress, emailAddressCanonical,
+					hashedPassword,
+					EnumUserAccountStatus.PENDING_VERIFICATION.name(),
+					EnumRole.APPLICANT.name(),
+					verificationToken,
+					now.plusHours(24))
+				.orElseThrow(() -> new UserAlreadyExistsException("Email is already used."));
+			Map<String, String> message = Map.of(
+						"email", emailAddress,
+						"token", verificationToken
+					);
+			outboxService.enqueue(topicExchangeName, routingKey, message);
+		});
+		emailExistenceFilter.add(emailAddressCanonical);
 	}
 
 	@Transactional(readOnly = true)
 	@Observed(name = "authentication.service.login.user", contextualName = "user login")
 	@Override
-	public String login(LoginRequestDTO loginRequestDTO) {
-		String emailAddress = loginRequestDTO.getEmailAddress().trim();
-		UserLogin userLogin = userLoginRepository.findByEmailAddress(emailAddress)
-				.orElseThrow(() -> new UserNotFoundException("invalid email or password."));
-		if(!bCryptPasswordEncoder.matches(loginRequestDTO.getPassword(), userLogin.getHashedPassword())) {
+	public CompletableFuture<LoginResponseDTO> login(LoginRequestDTO loginRequestDTO) {
+		return login(loginRequestDTO, emailAddressCanonical -> CompletableFuture.completedFuture(
+				userLoginRepository.findCredentialByEmailAddressCanonical(emailAddressCanonical)));
+	}
+
+	// no transaction: the reactive tier calls this on an event loop, where opening one would block on the pool
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	@Override
+	public CompletableFuture<LoginResponseDTO> login(LoginRequestDTO loginRequestDTO,
+			Function<String, CompletableFuture<Optional<UserCredentialDTO>>> credentialLoader) {
+		String rawPassword = loginRequestDTO.getPassword();
+		String emailAddressCanonical = EmailNormalizer.canonical(loginRequestDTO.getEmailAddress());
+		// checked per address before the account is looked up, so a locked address costs no hash or query
+		// and answers the same whether or not an account exists
+		long lockedForSeconds = loginFailureTracker.lockedForSeconds(emailAddressCanonical);
+		if(lockedForSeconds > 0) {
+			return CompletableFuture.failedFuture(
+					new AccountLockedException("Too many login attempts. Please try again later.", lockedForSeconds));
+		}
+		if(!emailExistenceFilter.mightExist(emailAddressCanonical)) {
+			return rejectAfterDummyHash(emailAddressCanonical, rawPassword);
+		}
+		return credentialCache.getAsync(emailAddressCanonical, credentialLoader).thenCompose(optCredential -> {
+			if(optCredential.isEmpty()) {
+				emailExistenceFilter.recordFalsePositive();
+				return rejectAfterDummyHash(emailAddressCanonical, rawPassword);
+			}
+			UserCredentialDTO credential = optCredential.get();
+			// the rest is cheap and runs on the hashing worker once the hash is checked
+			return passwordHashingService.matchesAsync(rawPassword, credential.getHashedPassword())
+					.thenApply(matched -> completeLogin(credential, emailAddressCanonical, rawPassword, matched));
+		});
+	}
+
+	private LoginResponseDTO completeLogin(UserCredentialDTO credential, String emailAddressCanonical,
+			String rawPassword, boolean passwordMatched) {
+		if(!passwordMatched) {
+			loginFailureTracker.recordFailure(emailAddressCanonical);
 			throw new UserNotFoundException("invalid email or password.");
 		}
-		if(userLogin.getAccountStatus().equals(EnumUserAccountStatus.SUSPENDED)) {
+		loginFailureTracker.recordSuccess(emailAddressCanonical);
+		passwordRehashService.rehashIfNeeded(credential.getUserLoginId(), emailAddressCanonical,
+				rawPassword, credential.getHashedPassword());
+		if(credential.getAccountStatus().equals(EnumUserAccountStatus.SUSPENDED)) {
 			throw new UserAccountSuspendedException("Your account is suspended. Please contact Administrator");
 		}
-		if(userLogin.getAccountStatus().equals(EnumUserAccountStatus.PENDING_VERIFICATION)) {
+		if(credential.getAccountStatus().equals(EnumUserAccountStatus.PENDING_VERIFICATION)) {
 			throw new UserNotVerifiedException("Your account is not verified. Please check your email.");
 		}
 
+		String jwtToken = jwtService.generateJwtToken(credential.getUserLoginId(),
+				credential.getEmailAddress(),
+				credential.getRole().name());
+		// written in batches by the tracker, so login stays read-only
+		lastLoginTracker.recordLogin(credential.getUserLoginId());
+		return LoginResponseDTO.builder()
+				.jwtToken(jwtToken)
+				.refreshToken(refreshTokenService.issue(credential.getUserLoginId()))
+				.build();
+	}
+
+	// unknown addresses count towards a lockout like wrong passwords, so the two cannot be told apart
+	private CompletableFuture<LoginResponseDTO> rejectAfterDummyHash(String emailAddressCanonical, String rawPassword) {
+		return passwordHashingService.matchesNothingAsync(rawPassword)
+				.thenApply(matched -> {
+					loginFailureTracker.recordFailure(emailAddressCanonical);
+					throw new UserNotFoundException("invalid email or password.");
+				});
+	}
+
+	// a detected reuse revokes the token family, which must be committed even though the request fails
+	@Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+	@Observed(name = "authentication.service.refresh.token", contextualName = "refresh token")
+	@Override
+	public LoginResponseDTO refreshToken(String refreshToken) {
+		RefreshTokenService.RefreshToken token = refreshTokenService.verify(refreshToken);
+		if(tokenRevocationService.isRevoked(token.userLoginId(), token.issuedAtEpochMillis())) {
+			throw new InvalidRefreshTokenException("invalid or expired refresh token.");
+		}
+		UserLogin userLogin = userLoginRepository.findById(token.userLoginId())
+				.orElseThrow(() -> new InvalidRefreshTokenException("invalid or expired refresh token."));
+		if(userLogin.getAccountStatus().equals(EnumUserAccountStatus.SUSPENDED)) {
+			throw new UserAccountSuspendedException("Your account is suspended. Please contact Administrator");
+		}
+		String nextRefreshToken = refreshTokenService.rotate(token);
 		String jwtToken = jwtService.generateJwtToken(userLogin.getUserLoginId(),
 				userLogin.getEmailAddress(),
 				userLogin.getRole().name());
-		return jwtToken;
+		return LoginResponseDTO.builder()
+				.jwtToken(jwtToken)
+				.refreshToken(nextRefreshToken)
+				.build();
+	}
+
+	@Observed(name = "authentication.service.logout", contextualName = "user logout")
+	@Override
+	public void logout(String jwtToken) {
+		long subject;
+		try {
+			subject = Long.parseLong(jwtService.parseToken(jwtToken).getSubject());
+		} catch (JwtException | IllegalArgumentException ex) {
+			throw new InvalidAccessTokenException("invalid or expired token.");
+		}
+		tokenRevocationService.revokeAllTokens(subject);
 	}
 
 	@Transactional
 	@Observed(name = "authentication.service.verify.user.account", contextualName = "user account verification")
 	public void verifyUser(String token) {
-		UserLogin userLogin = userLoginRepository.findByVerificationToken(token)
-				.orElseThrow(() -> new InvalidTokenException("invalid or expired verification token."));
-		if(userLogin.getVerificationTokenExpiresAt().isBefore(OffsetDateTime.now(ZoneOffset.UTC))) {
-			throw new InvalidTokenException("Verification token has expired.");
+		UserLoginRepository.VerificationOutcome outcome =
+				userLoginRepository.verifyByToken(token, OffsetDateTime.now(ZoneOffset.UTC));
+		if(outcome.getEmailAddressCanonical() == null) {
+			if(Boolean.TRUE.equals(outcome.getExpired())) {
+				throw new InvalidTokenException("Verification token has expired.");
+			}
+			throw new InvalidTokenException("invalid or expired verification token.");
 		}
-		userLogin.setAccountStatus(EnumUserAccountStatus.ACTIVE);
-		userLogin.setVerificationToken(null);
-		userLogin.setVerificationTokenExpiresAt(null);
-		userLoginRepository.save(userLogin);
+		credentialCache.invalidate(outcome.getEmailAddressCanonical());
 	}
 }
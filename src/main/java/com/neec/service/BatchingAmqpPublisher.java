@@ -0,0 +1,214 @@
+package com.neec.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes messages in batches with asynchronous publisher confirms. Messages are gathered for up to
+ * {@code linger} or until the batch is full, then sent back to back on one cached channel without
+ * waiting for the broker in between. Each returned future completes when the broker confirms that
+ * message. Nacks and confirm timeouts are retried with backoff up to {@code max.attempts}; messages
+ * the broker returned as unroutable fail immediately.
+ */
+@Slf4j
+@Service
+public class BatchingAmqpPublisher {
+	@Value("${amqp.publisher.batch.size}")
+	private int batchSize;
+
+	@Value("${amqp.publisher.linger.millis}")
+	private long lingerMillis;
+
+	@Value("${amqp.publisher.queue.capacity}")
+	private int queueCapacity;
+
+	@Value("${amqp.publisher.confirm.timeout.millis}")
+	private long confirmTimeoutMillis;
+
+	@Value("${amqp.publisher.max.attempts}")
+	private int maxAttempts;
+
+	@Value("${amqp.publisher.retry.backoff.millis}")
+	private long retryBackoffMillis;
+
+	private RabbitTemplate rabbitTemplate;
+	private MeterRegistry meterRegistry;
+	private BlockingQueue<PendingMessage> pending;
+	private ExecutorService publisherThread;
+	private volatile boolean running;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicLong correlationIds = new AtomicLong();
+	private Timer latencyTimer;
+	private DistributionSummary batchSizeSummary;
+	private Counter retriedCounter;
+	private Counter failedCounter;
+
+	public BatchingAmqpPublisher(RabbitTemplate rabbitTemplate, MeterRegistry meterRegistry) {
+		this.rabbitTemplate = rabbitTemplate;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@PostConstruct
+	public void init() {
+		this.pending = new LinkedBlockingQueue<>(queueCapacity);
+		this.latencyTimer = Timer.builder("amqp.publisher.latency")
+				.description("Time from publish() to broker confirm, retries included")
+				.publishPercentiles(0.5, 0.95, 0.99)
+				.register(meterRegistry);
+		this.batchSizeSummary = DistributionSummary.builder("amqp.publisher.batch.size")
+				.description("Messages sent per channel batch")
+				.register(meterRegistry);
+		Gauge.builder("amqp.publisher.in.flight", inFlight, AtomicInteger::get)
+			.description("Messages accepted but not yet confirmed or failed")
+			.register(meterRegistry);
+		this.retriedCounter = Counter.builder("amqp.publisher.retried")
+				.description("Publishes retried after a nack or confirm timeout")
+				.register(meterRegistry);
+		this.failedCounter = Counter.builder("amqp.publisher.failed")
+				.description("Messages given up on")
+				.register(meterRegistry);
+		this.running = true;
+		this.publisherThread = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("amqp-publisher-"));
+		this.publisherThread.execute(this::drain);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		running = false;
+		publisherThread.shutdownNow();
+		PendingMessage message;
+		while((message = pending.poll()) != null) {
+			fail(message, "publisher shut down");
+		}
+	}
+
+	/**
+	 * @return a future completed on broker confirm, or completed exceptionally with an {@link AmqpException}
+	 * once the message is given up on
+	 */
+	public CompletableFuture<Void> publish(String exchange, String routingKey, Object payload) {
+		PendingMessage message = new PendingMessage(exchange, routingKey, payload, System.nanoTime(),
+				new CompletableFuture<>(), new AtomicInteger());
+		inFlight.incrementAndGet();
+		if(!running || !pending.offer(message)) {
+			fail(message, "publisher queue is full");
+		}
+		return message.future();
+	}
+
+	private void drain() {
+		List<PendingMessage> batch = new ArrayList<>(batchSize);
+		while(running) {
+			try {
+				PendingMessage first = pending.poll(100, TimeUnit.MILLISECONDS);
+				if(first == null) {
+					continue;
+				}
+				batch.add(first);
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+				while(batch.size() < batchSize) {
+					PendingMessage next = pending.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+					if(next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+				send(batch);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException ex) {
+				log.error("AMQP publisher batch failed", ex);
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private void send(List<PendingMessage> batch) {
+		batchSizeSummary.record(batch.size());
+		int[] sent = {0};
+		try {
+			rabbitTemplate.invoke(operations -> {
+				for(PendingMessage message : batch) {
+					CorrelationData correlationData = new CorrelationData(String.valueOf(correlationIds.incrementAndGet()));
+					operations.convertAndSend(message.exchange(), message.routingKey(), message.payload(), correlationData);
+					sent[0]++;
+					// only once sent: a message whose send threw is retried below and must not time out here too
+					correlationData.getFuture()
+						.orTimeout(confirmTimeoutMillis, TimeUnit.MILLISECONDS)
+						.whenComplete((confirm, ex) -> {
+							if(ex != null) {
+								retryOrFail(message, "confirm timed out");
+							} else if(!confirm.isAck()) {
+								retryOrFail(message, "nack: " + confirm.getReason());
+							} else if(correlationData.getReturned() != null) {
+								fail(message, "returned: " + correlationData.getReturned().getReplyText());
+							} else {
+								succeed(message);
+							}
+						});
+				}
+				return null;
+			});
+		} catch (AmqpException ex) {
+			for(PendingMessage message : batch.subList(sent[0], batch.size())) {
+				retryOrFail(message, String.valueOf(ex.getMessage()));
+			}
+		}
+	}
+
+	private void retryOrFail(PendingMessage message, String reason) {
+		if(message.attempts().incrementAndGet() >= maxAttempts || !running) {
+			fail(message, reason);
+			return;
+		}
+		retriedCounter.increment();
+		CompletableFuture.delayedExecutor(retryBackoffMillis * message.attempts().get(), TimeUnit.MILLISECONDS)
+			.execute(() -> {
+				if(!running || !pending.offer(message)) {
+					fail(message, reason);
+				}
+			});
+	}
+
+	private void succeed(PendingMessage message) {
+		inFlight.decrementAndGet();
+		latencyTimer.record(System.nanoTime() - message.enqueuedAt(), TimeUnit.NANOSECONDS);
+		message.future().complete(null);
+	}
+
+	private void fail(PendingMessage message, String reason) {
+		inFlight.decrementAndGet();
+		failedCounter.increment();
+		message.future().completeExceptionally(new AmqpException(reason));
+	}
+
+	private record PendingMessage(String exchange, String routingKey, Object payload, long enqueuedAt,
+			CompletableFuture<Void> future, AtomicInteger attempts) {
+	}
+}
@@ -0,0 +1,366 @@
+package com.neec.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neec.dto.BulkImportRowResultDTO;
+import com.neec.dto.RegistrationRequestDTO;
+import com.neec.enums.EnumBulkImportRowStatus;
+import com.neec.exception.InvalidBulkImportException;
+import com.neec.util.EmailNormalizer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registers candidates from a streamed CSV or NDJSON file, one chunk of rows at a time, so only a chunk
+ * is ever held in memory. Rows are validated like POST /register. Passwords are hashed in parallel on
+ * the import's own pool, sized below the CPU count so logins keep their share. Each chunk is inserted
+ * with one ON CONFLICT DO NOTHING statement, and its verification emails are queued in the outbox, all
+ * in one transaction. Results are reported per row after each chunk commits.
+ */
+@Slf4j
+@Service
+public class BulkRegistrationImportService {
+	public enum Format { CSV, NDJSON }
+
+	private static final String INSERT_REGISTRATIONS = "insert into USER_LOGIN (EMAIL_ADDRESS, EMAIL_ADDRESS_CANONICAL, "
+			+ "HASHED_PASSWORD, STATUS, ROLE, VERIFICATION_TOKEN, VERIFICATION_TOKEN_EXPIRES_AT, CREATED_AT, UPDATED_AT) "
+			+ "select EMAIL_ADDRESS, EMAIL_ADDRESS_CANONICAL, HASHED_PASSWORD, 'PENDING_VERIFICATION', 'APPLICANT', "
+			+ "VERIFICATION_TOKEN, ?, now(), now() "
+			+ "from unnest(?::text[], ?::text[], ?::text[], ?::text[]) "
+			+ "as ROW_VALUES(EMAIL_ADDRESS, EMAIL_ADDRESS_CANONICAL, HASHED_PASSWORD, VERIFICATION_TOKEN) "
+			+ "on conflict (EMAIL_ADDRESS_CANONICAL) do nothing returning EMAIL_ADDRESS_CANONICAL";
+
+	@Value("${bulk.import.chunk.size}")
+	private int chunkSize;
+
+	@Value("${bulk.import.hashing.pool.size}")
+	private int hashingPoolSize;
+
+	@Value("${bulk.import.max.line.length}")
+	private int maxLineLength;
+
+	@Value("${rabbitmq.topic.exchange.name}")
+	private String topicExchangeName;
+
+	@Value("${rabbitmq.routing.key}")
+	private String routingKey;
+
+	private PasswordEncoder passwordEncoder;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate transactionTemplate;
+	private OutboxService outboxService;
+	private EmailExistenceFilter emailExistenceFilter;
+	private Validator validator;
+	private ObjectMapper objectMapper;
+	private MeterRegistry meterRegistry;
+	private ExecutorService hashingExecutor;
+	private Timer chunkTimer;
+
+	public BulkRegistrationImportService(PasswordEncoder passwordEncoder, JdbcTemplate jdbcTemplate,
+			TransactionTemplate transactionTemplate, OutboxService outboxService,
+			EmailExistenceFilter emailExistenceFilter, Validator validator, ObjectMapper objectMapper,
+			MeterRegistry meterRegistry) {
+		this.passwordEncoder = passwordEncoder;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.outboxService = outboxService;
+		this.emailExistenceFilter = emailExistenceFilter;
+		this.validator = validator;
+		this.objectMapper = objectMapper;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@PostConstruct
+	public void init() {
+		int threads = hashingPoolSize > 0 ? hashingPoolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		this.hashingExecutor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("bulk-import-hashing-"));
+		this.chunkTimer = Timer.builder("bulk.import.chunk")
+				.description("Time to validate, hash and insert one chunk of imported rows")
+				.register(meterRegistry);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		hashingExecutor.shutdownNow();
+	}
+
+	/**
+	 * @param reportSink receives the results of each chunk, in file order, once the chunk is committed
+	 * @throws InvalidBulkImportException if a CSV file lacks the emailAddress and password header
+	 */
+	public void importRegistrations(InputStream input, Format format, Consumer<List<BulkImportRowResultDTO>> reportSink)
+			throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+		CsvColumns csvColumns = format == Format.CSV ? readCsvHeader(readHeader(reader)) : null;
+		long lineNumber = format == Format.CSV ? 1 : 0;
+		List<ImportRow> chunk = new ArrayList<>(chunkSize);
+		String line;
+		while((line = readLine(reader)) != null) {
+			lineNumber++;
+			if(line.isBlank()) {
+				continue;
+			}
+			if(line.length() > maxLineLength) {
+				chunk.add(new ImportRow(lineNumber, null, null,
+						Map.of("Request_Body_Error", "Line is longer than " + maxLineLength + " characters")));
+			} else {
+				chunk.add(format == Format.CSV ? parseCsvRow(lineNumber, line, csvColumns) : parseJsonRow(lineNumber, line));
+			}
+			if(chunk.size() == chunkSize) {
+				reportSink.accept(importChunk(chunk));
+				chunk = new ArrayList<>(chunkSize);
+			}
+		}
+		if(!chunk.isEmpty()) {
+			reportSink.accept(importChunk(chunk));
+		}
+	}
+
+	/**
+	 * Like {@link BufferedReader#readLine()} for \n and \r\n line ends, but holds at most one character past
+	 * the maximum line length, so a file without line breaks cannot exhaust memory. The rest of a longer
+	 * line is skipped.
+	 */
+	private String readLine(BufferedReader reader) throws IOException {
+		StringBuilder line = new StringBuilder();
+		int next;
+		while((next = reader.read()) != -1 && next != '\n') {
+			if(line.length() <= maxLineLength) {
+				line.append((char) next);
+			}
+		}
+		if(next == -1 && line.isEmpty()) {
+			return null;
+		}
+		int length = line.length();
+		if(length > 0 && length <= maxLineLength && line.charAt(length - 1) == '\r') {
+			line.setLength(length - 1);
+		}
+		return line.toString();
+	}
+
+	private String readHeader(BufferedReader reader) throws IOException {
+		String header = readLine(reader);
+		if(header != null && header.length() > maxLineLength) {
+			throw new InvalidBulkImportException("CSV header is longer than " + maxLineLength + " characters.");
+		}
+		return header;
+	}
+
+	private List<BulkImportRowResultDTO> importChunk(List<ImportRow> chunk) {
+		return chunkTimer.record(() -> {
+			// the first row of an address within the chunk is imported; the database decides against earlier chunks
+			Map<String, ImportRow> candidates = new LinkedHashMap<>();
+			for(ImportRow row : chunk) {
+				if(row.errors() == null) {
+					candidates.putIfAbsent(EmailNormalizer.canonical(row.emailAddress()), row);
+				}
+			}
+			Set<String> registered = new HashSet<>();
+			String failure = null;
+			try {
+				registered = insert(hash(candidates));
+				registered.forEach(emailExistenceFilter::add);
+			} catch (DataAccessException ex) {
+				log.warn("Bulk import of {} rows failed: {}", candidates.size(), ex.toString());
+				failure = "Rows could not be saved, please import them again.";
+			}
+			List<BulkImportRowResultDTO> results = new ArrayList<>(chunk.size());
+			for(ImportRow row : chunk) {
+				results.add(result(row, candidates, registered, failure));
+			}
+			return results;
+		});
+	}
+
+	private List<HashedRow> hash(Map<String, ImportRow> candidates) {
+		List<CompletableFuture<HashedRow>> hashing = new ArrayList<>(candidates.size());
+		candidates.forEach((emailAddressCanonical, row) -> hashing.add(CompletableFuture.supplyAsync(
+				() -> new HashedRow(row.emailAddress(), emailAddressCanonical, passwordEncoder.encode(row.password()),
+						UUID.randomUUID().toString()),
+				hashingExecutor)));
+		return hashing.stream().map(CompletableFuture::join).toList();
+	}
+
+	// returns the canonical addresses actually inserted
+	private Set<String> insert(List<HashedRow> rows) {
+		if(rows.isEmpty()) {
+			return new HashSet<>();
+		}
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		return transactionTemplate.execute(status -> {
+			Set<String> inserted = new HashSet<>();
+			jdbcTemplate.query(connection -> {
+				PreparedStatement statement = connection.prepareStatement(INSERT_REGISTRATIONS);
+				statement.setTimestamp(1, Timestamp.from(now.plusHours(24).toInstant()));
+				statement.setArray(2, connection.createArrayOf("text", rows.stream().map(HashedRow::emailAddress).toArray()));
+				statement.setArray(3, connection.createArrayOf("text", rows.stream().map(HashedRow::emailAddressCanonical).toArray()));
+				statement.setArray(4, connection.createArrayOf("text", rows.stream().map(HashedRow::hashedPassword).toArray()));
+				statement.setArray(5, connection.createArrayOf("text", rows.stream().map(HashedRow::verificationToken).toArray()));
+				return statement;
+			}, resultSet -> {
+				inserted.add(resultSet.getString(1));
+			});
+			outboxService.enqueueAll(topicExchangeName, routingKey, rows.stream()
+					.filter(row -> inserted.contains(row.emailAddressCanonical()))
+					.map(row -> Map.of("email", row.emailAddress(), "token", row.verificationToken()))
+					.toList());
+			return inserted;
+		});
+	}
+
+	private BulkImportRowResultDTO result(ImportRow row, Map<String, ImportRow> candidates, Set<String> registered,
+			String failure) {
+		EnumBulkImportRowStatus status;
+		Map<String, String> errors = row.errors();
+		if(errors != null) {
+			status = EnumBulkImportRowStatus.INVALID;
+		} else if(candidates.get(EmailNormalizer.canonical(row.emailAddress())) != row) {
+			status = EnumBulkImportRowStatus.DUPLICATE;
+		} else if(failure != null) {
+			status = EnumBulkImportRowStatus.FAILED;
+			errors = Map.of("error", failure);
+		} else if(registered.contains(EmailNormalizer.canonical(row.emailAddress()))) {
+			status = EnumBulkImportRowStatus.REGISTERED;
+		} else {
+			status = EnumBulkImportRowStatus.DUPLICATE;
+		}
+		Counter.builder("bulk.import.rows")
+			.description("Imported rows by outcome")
+			.tag("status", status.name())
+			.register(meterRegistry)
+			.increment();
+		return BulkImportRowResultDTO.builder()
+				.line(row.line())
+				.emailAddress(row.emailAddress())
+				.status(status)
+				.errors(errors)
+				.build();
+	}
+
+	private ImportRow parseJsonRow(long lineNumber, String line) {
+		try {
+			return validate(lineNumber, objectMapper.readValue(line, RegistrationRequestDTO.class));
+		} catch (JsonProcessingException ex) {
+			return new ImportRow(lineNumber, null, null, Map.of("Request_Body_Error", "Please check request body"));
+		}
+	}
+
+	private ImportRow parseCsvRow(long lineNumber, String line, CsvColumns csvColumns) {
+		List<String> fields = splitCsvLine(line);
+		return validate(lineNumber, RegistrationRequestDTO.builder()
+				.emailAddress(field(fields, csvColumns.emailAddress()))
+				.password(field(fields, csvColumns.password()))
+				.build());
+	}
+
+	private ImportRow validate(long lineNumber, RegistrationRequestDTO dto) {
+		String emailAddress = dto.getEmailAddress() == null ? null : dto.getEmailAddress().trim();
+		Map<String, String> errors = null;
+		for(ConstraintViolation<RegistrationRequestDTO> violation : validator.validate(dto)) {
+			if(errors == null) {
+				errors = new LinkedHashMap<>();
+			}
+			errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+		}
+		return new ImportRow(lineNumber, emailAddress, dto.getPassword(), errors);
+	}
+
+	private static CsvColumns readCsvHeader(String header) {
+		int emailAddress = -1;
+		int password = -1;
+		List<String> names = header == null ? List.of() : splitCsvLine(header);
+		for(int index = 0; index < names.size(); index++) {
+			String name = names.get(index).trim().toLowerCase(Locale.ROOT);
+			if(name.equals("emailaddress")) {
+				emailAddress = index;
+			} else if(name.equals("password")) {
+				password = index;
+			}
+		}
+		if(emailAddress < 0 || password < 0) {
+			throw new InvalidBulkImportException("CSV header must name the emailAddress and password columns.");
+		}
+		return new CsvColumns(emailAddress, password);
+	}
+
+	private static String field(List<String> fields, int index) {
+		return index < fields.size() ? fields.get(index) : null;
+	}
+
+	// RFC 4180 fields on one line: quoted fields may hold commas and doubled quotes
+	static List<String> splitCsvLine(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for(int index = 0; index < line.length(); index++) {
+			char current = line.charAt(index);
+			if(quoted) {
+				if(current == '"' && index + 1 < line.length() && line.charAt(index + 1) == '"') {
+					field.append('"');
+					index++;
+				} else if(current == '"') {
+					quoted = false;
+				} else {
+					field.append(current);
+				}
+			} else if(current == '"') {
+				quoted = true;
+			} else if(current == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(current);
+			}
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	private record CsvColumns(int emailAddress, int password) {
+	}
+
+	private record ImportRow(long line, String emailAddress, String password, Map<String, String> errors) {
+	}
+
+	private record HashedRow(String emailAddress, String emailAddressCanonical, String hashedPassword,
+			String verificationToken) {
+	}
+}
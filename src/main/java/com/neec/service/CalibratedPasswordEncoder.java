@@ -0,0 +1,99 @@
+package com.neec.service;
+
+import java.util.Map;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * BCrypt encoder whose work factor is chosen by benchmarking the host at startup. New hashes carry an
+ * {@code {bcrypt}} prefix; legacy unprefixed BCrypt hashes still match and are reported as needing an
+ * upgrade, as is any hash whose cost is outside the tolerated band around the calibrated strength.
+ */
+@Slf4j
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+	static final String BCRYPT_ID = "bcrypt";
+	private static final String BCRYPT_PREFIX = "{" + BCRYPT_ID + "}";
+	private static final String CALIBRATION_PASSWORD = "calibration-P@ssw0rd";
+
+	private final DelegatingPasswordEncoder delegate;
+	private final int strength;
+	private final int strengthTolerance;
+
+	public CalibratedPasswordEncoder(int strength, int strengthTolerance) {
+		this.strength = strength;
+		this.strengthTolerance = strengthTolerance;
+		this.delegate = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, new BCryptPasswordEncoder(strength)));
+		this.delegate.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+	}
+
+	/**
+	 * Picks the highest strength in [minStrength, maxStrength] whose hash time stays within targetMillis.
+	 * Never goes below minStrength, even on hardware too slow to meet the target.
+	 */
+	public static CalibratedPasswordEncoder calibrate(long targetMillis, int minStrength, int maxStrength,
+			int strengthTolerance) {
+		measureMillis(minStrength);	// warm up before timing
+		int strength = minStrength;
+		long strengthMillis = measureMillis(minStrength);
+		for(int candidate = minStrength + 1; candidate <= maxStrength && strengthMillis * 2 <= targetMillis; candidate++) {
+			long candidateMillis = measureMillis(candidate);
+			if(candidateMillis > targetMillis) {
+				break;
+			}
+			strength = candidate;
+			strengthMillis = candidateMillis;
+		}
+		log.info("Calibrated BCrypt strength {} ({} ms per hash, target {} ms)", strength, strengthMillis, targetMillis);
+		return new CalibratedPasswordEncoder(strength, strengthTolerance);
+	}
+
+	private static long measureMillis(int strength) {
+		BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+		long best = Long.MAX_VALUE;
+		for(int run = 0; run < 2; run++) {
+			long start = System.nanoTime();
+			encoder.encode(CALIBRATION_PASSWORD);
+			best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+		}
+		return best;
+	}
+
+	public int getStrength() {
+		return strength;
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return delegate.encode(rawPassword);
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return delegate.matches(rawPassword, encodedPassword);
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		if(encodedPassword == null || encodedPassword.isEmpty()) {
+			return false;
+		}
+		if(!encodedPassword.startsWith(BCRYPT_PREFIX)) {
+			return true;
+		}
+		// {bcrypt}$2a$12$<salt+hash>
+		String[] parts = encodedPassword.substring(BCRYPT_PREFIX.length()).split("\\$");
+		if(parts.length < 3) {
+			return true;
+		}
+		try {
+			int storedStrength = Integer.parseInt(parts[2]);
+			return Math.abs(storedStrength - strength) > strengthTolerance;
+		} catch (NumberFormatException ex) {
+			return true;
+		}
+	}
+}
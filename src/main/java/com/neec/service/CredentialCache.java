@@ -0,0 +1,265 @@
+package com.neec.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neec.dto.UserCredentialDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-through near-cache of login credentials keyed by canonical email address.
+ * <p>
+ * Whoever changes a user's status, role or password calls {@link #invalidate(String)} in the same
+ * transaction. That evicts the local entry and sends a Postgres NOTIFY, which every instance, this one
+ * included, receives on commit and evicts again. Each instance holds one pooled connection in LISTEN.
+ * While that connection is down, notifications may be lost, so the cache is bypassed and cleared on
+ * reconnect. {@code expire.after.write} bounds staleness if everything else fails.
+ * <p>
+ * Entries are futures. A miss installs one and loads on the caller's thread with no cache lock held, so a
+ * virtual thread waiting on the database unmounts instead of pinning its carrier; concurrent misses for
+ * the same address wait on that future. An invalidation during a load drops the future, so the loaded
+ * value still answers the logins waiting on it but is never cached.
+ */
+@Slf4j
+@Service
+public class CredentialCache {
+	static final String CHANNEL = "user_credential_changed";
+	// Postgres caps a NOTIFY payload at 8000 bytes; canonical addresses are ASCII
+	static final int MAX_PAYLOAD_CHARS = 7900;
+
+	@Value("${credential.cache.maximum.size}")
+	private long maximumSize;
+
+	@Value("${credential.cache.expire.after.write.seconds}")
+	private long expireAfterWriteSeconds;
+
+	@Value("${credential.cache.listener.poll.millis}")
+	private int listenerPollMillis;
+
+	@Value("${credential.cache.listener.retry.millis}")
+	private long listenerRetryMillis;
+
+	private DataSource dataSource;
+	private JdbcTemplate jdbcTemplate;
+	private MeterRegistry meterRegistry;
+	private AsyncCache<String, CachedCredential> credentials;
+	private ExecutorService listenerThread;
+	private volatile boolean running;
+	private volatile boolean listening;
+	private Timer entryAgeTimer;
+	private Timer invalidationLagTimer;
+	private Counter invalidationCounter;
+
+	public CredentialCache(DataSource dataSource, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+		this.dataSource = dataSource;
+		this.jdbcTemplate = jdbcTemplate;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@PostConstruct
+	public void init() {
+		this.credentials = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+				.recordStats()
+				.buildAsync();
+		CaffeineCacheMetrics.monitor(meterRegistry, credentials.synchronous(), "user.credential");
+		Gauge.builder("user.credential.cache.listening", this, cache -> cache.listening ? 1 : 0)
+			.description("1 while the invalidation listener is connected; the cache is bypassed otherwise")
+			.register(meterRegistry);
+		this.entryAgeTimer = Timer.builder("user.credential.cache.entry.age")
+				.description("Age of the credential snapshot a login was served from")
+				.publishPercentiles(0.5, 0.99)
+				.register(meterRegistry);
+		this.invalidationLagTimer = Timer.builder("user.credential.cache.invalidation.lag")
+				.description("Time from a credential change to its NOTIFY arriving here")
+				.publishPercentiles(0.5, 0.99)
+				.register(meterRegistry);
+		this.invalidationCounter = Counter.builder("user.credential.cache.invalidations")
+				.description("Credential invalidations received")
+				.register(meterRegistry);
+		this.running = true;
+		this.listenerThread = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("credential-listener-"));
+		this.listenerThread.execute(this::listen);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		running = false;
+		listenerThread.shutdownNow();
+	}
+
+	/**
+	 * @param loader reads the credential from the database; empty results are not cached
+	 */
+	public Optional<UserCredentialDTO> get(String emailAddressCanonical,
+			Function<String, Optional<UserCredentialDTO>> loader) {
+		try {
+			return getAsync(emailAddressCanonical,
+					address -> CompletableFuture.completedFuture(loader.apply(address))).join();
+		} catch (CompletionException ex) {
+			throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+		}
+	}
+
+	/**
+	 * As {@link #get(String, Function)} for a loader that does not block, such as an R2DBC query. On a miss
+	 * the result completes on the loader's thread.
+	 */
+	public CompletableFuture<Optional<UserCredentialDTO>> getAsync(String emailAddressCanonical,
+			Function<String, CompletableFuture<Optional<UserCredentialDTO>>> loader) {
+		if(!listening) {
+			return loader.apply(emailAddressCanonical);
+		}
+		CompletableFuture<CachedCredential> entry = credentials.getIfPresent(emailAddressCanonical);
+		if(entry == null) {
+			CompletableFuture<CachedCredential> loading = new CompletableFuture<>();
+			entry = credentials.asMap().putIfAbsent(emailAddressCanonical, loading);
+			if(entry == null) {
+				entry = loading;
+				try {
+					// a future completed with null is removed, so empty results are not cached
+					loader.apply(emailAddressCanonical).whenComplete((credential, ex) -> {
+						if(ex != null) {
+							loading.completeExceptionally(ex);
+						} else {
+							loading.complete(credential
+									.map(loaded -> new CachedCredential(loaded, System.nanoTime())).orElse(null));
+						}
+					});
+				} catch (RuntimeException ex) {
+					loading.completeExceptionally(ex);
+				}
+			}
+		}
+		return entry.thenApply(cached -> {
+			if(cached == null) {
+				return Optional.empty();
+			}
+			entryAgeTimer.record(System.nanoTime() - cached.loadedAt(), TimeUnit.NANOSECONDS);
+			return Optional.of(cached.credential());
+		});
+	}
+
+	/**
+	 * Evicts the credential here and, once the current transaction commits, on every instance.
+	 */
+	public void invalidate(String emailAddressCanonical) {
+		credentials.synchronous().invalidate(emailAddressCanonical);
+		publishInvalidation(System.currentTimeMillis() + ":" + emailAddressCanonical);
+	}
+
+	/**
+	 * As {@link #invalidate(String)} for many addresses, packed newline-separated into as few NOTIFYs as
+	 * the payload limit allows.
+	 */
+	public void invalidateAll(Collection<String> emailAddressCanonicals) {
+		credentials.synchronous().invalidateAll(emailAddressCanonicals);
+		String prefix = System.currentTimeMillis() + ":";
+		StringBuilder payload = new StringBuilder(prefix);
+		for(String emailAddressCanonical : emailAddressCanonicals) {
+			if(payload.length() > prefix.length()
+					&& payload.length() + 1 + emailAddressCanonical.length() > MAX_PAYLOAD_CHARS) {
+				publishInvalidation(payload.toString());
+				payload.setLength(prefix.length());
+			}
+			if(payload.length() > prefix.length()) {
+				payload.append('\n');
+			}
+			payload.append(emailAddressCanonical);
+		}
+		if(payload.length() > prefix.length()) {
+			publishInvalidation(payload.toString());
+		}
+	}
+
+	private void publishInvalidation(String payload) {
+		jdbcTemplate.query("select pg_notify(?, ?)", resultSet -> null, CHANNEL, payload);
+	}
+
+	void onNotification(String payload) {
+		int separator = payload.indexOf(':');
+		if(separator < 0) {
+			return;
+		}
+		for(String emailAddressCanonical : payload.substring(separator + 1).split("\n")) {
+			credentials.synchronous().invalidate(emailAddressCanonical);
+		}
+		try {
+			long lagMillis = System.currentTimeMillis() - Long.parseLong(payload.substring(0, separator));
+			invalidationLagTimer.record(Math.max(0, lagMillis), TimeUnit.MILLISECONDS);
+		} catch (NumberFormatException ex) {
+			log.debug("Credential invalidation without a timestamp: {}", payload);
+		}
+		invalidationCounter.increment();
+	}
+
+	private void listen() {
+		while(running) {
+			try(Connection connection = dataSource.getConnection()) {
+				try(Statement statement = connection.createStatement()) {
+					statement.execute("LISTEN " + CHANNEL);
+				}
+				PGConnection pgConnection = connection.unwrap(PGConnection.class);
+				// anything may have changed while nobody was listening
+				credentials.synchronous().invalidateAll();
+				listening = true;
+				log.info("Listening for credential invalidations on {}", CHANNEL);
+				while(running) {
+					PGNotification[] notifications = pgConnection.getNotifications(listenerPollMillis);
+					if(notifications != null) {
+						for(PGNotification notification : notifications) {
+							onNotification(notification.getParameter());
+						}
+					}
+				}
+			} catch (SQLException | RuntimeException ex) {
+				if(listening) {
+					log.warn("Credential invalidation listener lost its connection, bypassing the cache: {}", ex.toString());
+				}
+			} finally {
+				listening = false;
+			}
+			if(running) {
+				try {
+					Thread.sleep(listenerRetryMillis);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	private record CachedCredential(UserCredentialDTO credential, long loadedAt) {
+	}
+}
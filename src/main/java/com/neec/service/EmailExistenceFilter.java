@@ -0,0 +1,139 @@
+package com.neec.service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neec.repository.UserLoginRepository;
+import com.neec.util.EmailNormalizer;
+import com.neec.util.ScalableBloomFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory filter of registered email addresses, so logins for addresses that were never registered
+ * are rejected without a USER_LOGIN lookup. Loaded from USER_LOGIN at startup, updated on registration,
+ * and polled for addresses registered on other instances. It has no false negatives for what it has
+ * seen; a positive may still be a miss and is confirmed against the database.
+ * <p>
+ * Polling must not skip a row whose transaction commits late, or that address could never log in.
+ * Rows are stamped with their transaction's start on the database clock, so each poll resumes from the
+ * start of the oldest transaction that was open when the previous poll began.
+ * <p>
+ * Addresses are keyed by their canonical form, see {@link EmailNormalizer}.
+ */
+@Slf4j
+@Service
+public class EmailExistenceFilter {
+	private static final OffsetDateTime BEGINNING = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+	// includes the polling transaction itself, so never later than its own now(); TokenRevocationService polls the same way
+	static final String OLDEST_OPEN_TRANSACTION_START = "select coalesce(min(XACT_START), now()) "
+			+ "from PG_STAT_ACTIVITY where DATNAME = current_database()";
+
+	@Value("${email.filter.expected.entries}")
+	private long expectedEntries;
+
+	@Value("${email.filter.false.positive.probability}")
+	private double falsePositiveProbability;
+
+	private UserLoginRepository userLoginRepository;
+	private TransactionTemplate transactionTemplate;
+	private JdbcTemplate jdbcTemplate;
+	private MeterRegistry meterRegistry;
+	// per instance, so colliding addresses cannot be precomputed
+	private final long seed = ThreadLocalRandom.current().nextLong();
+	private ScalableBloomFilter filter;
+	private volatile OffsetDateTime syncedUpTo = BEGINNING;
+	private Counter lookupsAvoidedCounter;
+	private Counter falsePositiveCounter;
+
+	public EmailExistenceFilter(UserLoginRepository userLoginRepository, TransactionTemplate transactionTemplate,
+			JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+		this.userLoginRepository = userLoginRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.jdbcTemplate = jdbcTemplate;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@PostConstruct
+	public void init() {
+		this.filter = new ScalableBloomFilter(expectedEntries, falsePositiveProbability);
+		Gauge.builder("email.filter.memory.bytes", filter, bloomFilter -> bloomFilter.bitSize() / 8.0)
+			.description("Memory held by the email existence filter")
+			.baseUnit("bytes")
+			.register(meterRegistry);
+		Gauge.builder("email.filter.entries", filter, ScalableBloomFilter::size)
+			.description("Email addresses in the existence filter")
+			.register(meterRegistry);
+		Gauge.builder("email.filter.false.positive.probability", filter, ScalableBloomFilter::expectedFalsePositiveProbability)
+			.description("Expected false-positive probability for the current number of entries")
+			.register(meterRegistry);
+		this.lookupsAvoidedCounter = Counter.builder("email.filter.lookups.avoided")
+				.description("Logins rejected by the filter without a database lookup")
+				.register(meterRegistry);
+		this.falsePositiveCounter = Counter.builder("email.filter.false.positives")
+				.description("Filter positives the database did not confirm")
+				.register(meterRegistry);
+		sync();
+		log.info("Email existence filter loaded with {} address(es) in {} layer(s)", filter.size(), filter.layerCount());
+	}
+
+	public void add(String emailAddress) {
+		filter.put(key(emailAddress));
+	}
+
+	/**
+	 * @return false only if the address is certainly not registered
+	 */
+	public boolean mightExist(String emailAddress) {
+		if(filter.mightContain(key(emailAddress))) {
+			return true;
+		}
+		lookupsAvoidedCounter.increment();
+		return false;
+	}
+
+	public void recordFalsePositive() {
+		falsePositiveCounter.increment();
+	}
+
+	/**
+	 * Adds addresses registered since the last sync. Rows committed by then are read now; rows still
+	 * uncommitted belong to a transaction open at this point, so the next sync starts from the oldest of those.
+	 */
+	@Scheduled(fixedDelayString = "${email.filter.sync.interval.millis}",
+			initialDelayString = "${email.filter.sync.interval.millis}")
+	public void sync() {
+		OffsetDateTime since = syncedUpTo;
+		transactionTemplate.executeWithoutResult(status -> {
+			// read before the rows, so a transaction committing in between is seen by one or the other
+			OffsetDateTime next = jdbcTemplate.queryForObject(OLDEST_OPEN_TRANSACTION_START, OffsetDateTime.class);
+			try(Stream<String> emailAddresses = userLoginRepository.streamEmailAddressesCreatedFrom(since)) {
+				emailAddresses.forEach(this::add);
+			}
+			this.syncedUpTo = next;
+		});
+	}
+
+	// FNV-1a with a random offset basis; BloomFilter mixes the result further
+	private long key(String emailAddress) {
+		String normalized = EmailNormalizer.canonical(emailAddress);
+		long hash = seed;
+		for(int index = 0; index < normalized.length(); index++) {
+			hash ^= normalized.charAt(index);
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+}
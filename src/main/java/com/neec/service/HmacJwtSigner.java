@@ -0,0 +1,221 @@
+package com.neec.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+/**
+ * Mints HMAC-signed login tokens without going through the generic {@code Jwts.builder()}.
+ * The output is byte-for-byte what jjwt produces for the same claims: the {@code {"alg":"HSxxx"}}
+ * header, then emailAddress, roles, sub, iat, exp and issuedAtMillis in that order, with Jackson's string escaping.
+ * The header segment is encoded once, and every thread reuses its own {@link Mac} and byte buffers,
+ * so minting a token allocates little more than the returned String.
+ */
+public class HmacJwtSigner {
+	private static final byte[] BASE64_URL_ALPHABET =
+			"ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] HEX_DIGITS = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] EMAIL_ADDRESS_CLAIM = ascii("{\"emailAddress\":\"");
+	private static final byte[] ROLES_CLAIM = ascii("\",\"roles\":[\"");
+	private static final byte[] SUBJECT_CLAIM = ascii("\"],\"sub\":\"");
+	private static final byte[] ISSUED_AT_CLAIM = ascii("\",\"iat\":");
+	private static final byte[] EXPIRATION_CLAIM = ascii(",\"exp\":");
+	private static final byte[] ISSUED_AT_MILLIS_CLAIM = ascii(",\"issuedAtMillis\":");
+
+	private final SecretKey secretKey;
+	private final byte[] encodedHeader;
+	private final ThreadLocal<SigningBuffers> buffers;
+
+	public HmacJwtSigner(SecretKey secretKey) {
+		this.secretKey = secretKey;
+		String header = "{\"alg\":\"" + jwsAlgorithm(secretKey.getAlgorithm()) + "\"}";
+		this.encodedHeader = Base64.getUrlEncoder().withoutPadding().encode(header.getBytes(StandardCharsets.UTF_8));
+		this.buffers = ThreadLocal.withInitial(() -> new SigningBuffers(newMac()));
+		newMac();	// fail at startup rather than on the first login if the key is unusable
+	}
+
+	public String sign(long subject, String emailAddress, String role, long issuedAtEpochMillis,
+			long expiresAtEpochSeconds) {
+		Objects.requireNonNull(emailAddress, "emailAddress");
+		Objects.requireNonNull(role, "role");
+		SigningBuffers signingBuffers = buffers.get();
+
+		ByteSink payload = signingBuffers.payload.reset();
+		payload.append(EMAIL_ADDRESS_CLAIM).appendJsonString(emailAddress)
+			.append(ROLES_CLAIM).appendJsonString(role)
+			.append(SUBJECT_CLAIM).appendNumber(subject)
+			.append(ISSUED_AT_CLAIM).appendNumber(Math.floorDiv(issuedAtEpochMillis, 1000))
+			.append(EXPIRATION_CLAIM).appendNumber(expiresAtEpochSeconds)
+			.append(ISSUED_AT_MILLIS_CLAIM).appendNumber(issuedAtEpochMillis)
+			.append((byte) '}');
+
+		ByteSink token = signingBuffers.token.reset();
+		token.append(encodedHeader).append((byte) '.').appendBase64Url(payload.bytes, payload.length);
+
+		Mac mac = signingBuffers.mac;
+		mac.update(token.bytes, 0, token.length);
+		byte[] signature = signingBuffers.signature;
+		try {
+			mac.doFinal(signature, 0);
+		} catch (GeneralSecurityException ex) {
+			throw new IllegalStateException("Unable to sign JWT.", ex);
+		}
+		token.append((byte) '.').appendBase64Url(signature, mac.getMacLength());
+		return new String(token.bytes, 0, token.length, StandardCharsets.ISO_8859_1);
+	}
+
+	private Mac newMac() {
+		try {
+			Mac mac = Mac.getInstance(secretKey.getAlgorithm());
+			mac.init(secretKey);
+			return mac;
+		} catch (GeneralSecurityException ex) {
+			throw new IllegalStateException("Unable to initialise " + secretKey.getAlgorithm() + ".", ex);
+		}
+	}
+
+	private static String jwsAlgorithm(String macAlgorithm) {
+		return switch (macAlgorithm) {
+			case "HmacSHA256" -> "HS256";
+			case "HmacSHA384" -> "HS384";
+			case "HmacSHA512" -> "HS512";
+			default -> throw new IllegalArgumentException("Unsupported HMAC algorithm: " + macAlgorithm);
+		};
+	}
+
+	private static byte[] ascii(String value) {
+		return value.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	private static final class SigningBuffers {
+		private final Mac mac;
+		private final byte[] signature;
+		private final ByteSink payload = new ByteSink(256);
+		private final ByteSink token = new ByteSink(512);
+
+		private SigningBuffers(Mac mac) {
+			this.mac = mac;
+			this.signature = new byte[mac.getMacLength()];
+		}
+	}
+
+	private static final class ByteSink {
+		private byte[] bytes;
+		private int length;
+
+		private ByteSink(int initialCapacity) {
+			this.bytes = new byte[initialCapacity];
+		}
+
+		private ByteSink reset() {
+			length = 0;
+			return this;
+		}
+
+		private void ensureCapacity(int additional) {
+			if(length + additional > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + additional));
+			}
+		}
+
+		private ByteSink append(byte value) {
+			ensureCapacity(1);
+			bytes[length++] = value;
+			return this;
+		}
+
+		private ByteSink append(byte[] values) {
+			ensureCapacity(values.length);
+			System.arraycopy(values, 0, bytes, length, values.length);
+			length += values.length;
+			return this;
+		}
+
+		private ByteSink appendNumber(long value) {
+			if(value < 0) {
+				return append(ascii(Long.toString(value)));
+			}
+			int digits = 1;
+			for(long remaining = value / 10; remaining > 0; remaining /= 10) {
+				digits++;
+			}
+			ensureCapacity(digits);
+			for(int index = length + digits - 1; index >= length; index--) {
+				bytes[index] = (byte) ('0' + value % 10);
+				value /= 10;
+			}
+			length += digits;
+			return this;
+		}
+
+		// Same escaping as jjwt's Jackson serializer: quote, backslash, control characters and surrogate
+		// pairs are escaped, everything else is written as UTF-8
+		private ByteSink appendJsonString(String value) {
+			for(int index = 0; index < value.length(); index++) {
+				char c = value.charAt(index);
+				if(c == '"' || c == '\\') {
+					append((byte) '\\').append((byte) c);
+				} else if(c < 0x20) {
+					appendControlCharacter(c);
+				} else if(c < 0x80) {
+					append((byte) c);
+				} else if(c < 0x800) {
+					append((byte) (0xC0 | (c >> 6))).append((byte) (0x80 | (c & 0x3F)));
+				} else if(Character.isSurrogate(c)) {
+					appendUnicodeEscape(c);
+				} else {
+					append((byte) (0xE0 | (c >> 12)))
+						.append((byte) (0x80 | ((c >> 6) & 0x3F)))
+						.append((byte) (0x80 | (c & 0x3F)));
+				}
+			}
+			return this;
+		}
+
+		private void appendControlCharacter(char c) {
+			switch (c) {
+				case '\b' -> append((byte) '\\').append((byte) 'b');
+				case '\t' -> append((byte) '\\').append((byte) 't');
+				case '\n' -> append((byte) '\\').append((byte) 'n');
+				case '\f' -> append((byte) '\\').append((byte) 'f');
+				case '\r' -> append((byte) '\\').append((byte) 'r');
+				default -> appendUnicodeEscape(c);
+			}
+		}
+
+		private void appendUnicodeEscape(char c) {
+			append((byte) '\\').append((byte) 'u')
+				.append(HEX_DIGITS[c >> 12]).append(HEX_DIGITS[(c >> 8) & 0xF])
+				.append(HEX_DIGITS[(c >> 4) & 0xF]).append(HEX_DIGITS[c & 0xF]);
+		}
+
+		private ByteSink appendBase64Url(byte[] source, int sourceLength) {
+			ensureCapacity((sourceLength * 4 + 2) / 3);
+			int index = 0;
+			for(; index + 2 < sourceLength; index += 3) {
+				int bits = (source[index] & 0xFF) << 16 | (source[index + 1] & 0xFF) << 8 | (source[index + 2] & 0xFF);
+				bytes[length++] = BASE64_URL_ALPHABET[bits >>> 18];
+				bytes[length++] = BASE64_URL_ALPHABET[(bits >>> 12) & 0x3F];
+				bytes[length++] = BASE64_URL_ALPHABET[(bits >>> 6) & 0x3F];
+				bytes[length++] = BASE64_URL_ALPHABET[bits & 0x3F];
+			}
+			int remaining = sourceLength - index;
+			if(remaining == 1) {
+				int bits = (source[index] & 0xFF) << 16;
+				bytes[length++] = BASE64_URL_ALPHABET[bits >>> 18];
+				bytes[length++] = BASE64_URL_ALPHABET[(bits >>> 12) & 0x3F];
+			} else if(remaining == 2) {
+				int bits = (source[index] & 0xFF) << 16 | (source[index + 1] & 0xFF) << 8;
+				bytes[length++] = BASE64_URL_ALPHABET[bits >>> 18];
+				bytes[length++] = BASE64_URL_ALPHABET[(bits >>> 12) & 0x3F];
+				bytes[length++] = BASE64_URL_ALPHABET[(bits >>> 6) & 0x3F];
+			}
+			return this;
+		}
+	}
+}
@@ -0,0 +1,263 @@
+package com.neec.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.neec.entity.JwtSigningKey;
+import com.neec.enums.EnumJwtSigningAlgorithm;
+import com.neec.repository.JwtSigningKeyRepository;
+
+import io.jsonwebtoken.security.Jwks;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asymmetric signing keys shared by all instances through the JWT_SIGNING_KEY table.
+ * <p>
+ * Each key signs for one rotation interval. Its successor is generated {@code publish.ahead} before
+ * the switch and is listed in the JWKS from then on, so resource servers have cached it before the
+ * first token signed with it arrives. A retired key stays in the JWKS until every token it signed
+ * has expired. Instances converge on the same key because a successor's activation time is derived
+ * from its predecessor and is unique in the table.
+ * <p>
+ * Inactive when {@code jwt.signing.algorithm} is HS256.
+ */
+@Slf4j
+@Service
+public class JwtKeyRing {
+	private static final Duration EXPIRY_MARGIN = Duration.ofMinutes(5);
+
+	@Value("${jwt.signing.algorithm}")
+	private EnumJwtSigningAlgorithm signingAlgorithm;
+
+	@Value("${jwt.secret.text}")
+	private String jwtSecretText;
+
+	@Value("${jwt.token.expire.duration.minutes}")
+	private long jwtTokenExpireDurationInMinutes;
+
+	@Value("${jwt.signing.key.rotation.interval.hours}")
+	private long rotationIntervalHours;
+
+	@Value("${jwt.signing.key.publish.ahead.minutes}")
+	private long publishAheadMinutes;
+
+	@Value("${jwt.signing.key.unknown.kid.reload.interval.millis}")
+	private long unknownKidReloadIntervalMillis;
+
+	private JwtSigningKeyRepository jwtSigningKeyRepository;
+	private JwtSigningKeyCipher jwtSigningKeyCipher;
+	private volatile KeyRingSnapshot snapshot = KeyRingSnapshot.EMPTY;
+	private final AtomicLong lastUnknownKidReload = new AtomicLong(System.nanoTime());
+
+	public JwtKeyRing(JwtSigningKeyRepository jwtSigningKeyRepository) {
+		this.jwtSigningKeyRepository = jwtSigningKeyRepository;
+	}
+
+	@PostConstruct
+	public void init() {
+		if(!isEnabled()) {
+			return;
+		}
+		this.jwtSigningKeyCipher = new JwtSigningKeyCipher(jwtSecretText);
+		rotate();
+		if(snapshot.signingKeys().isEmpty()) {
+			throw new IllegalStateException("No usable " + signingAlgorithm + " signing key.");
+		}
+	}
+
+	public boolean isEnabled() {
+		return signingAlgorithm != EnumJwtSigningAlgorithm.HS256;
+	}
+
+	public EnumJwtSigningAlgorithm getSigningAlgorithm() {
+		return signingAlgorithm;
+	}
+
+	/**
+	 * Reloads the ring, generating the current or the next key when it is missing, and purges keys
+	 * that no longer verify any unexpired token.
+	 */
+	@Scheduled(fixedDelayString = "${jwt.signing.key.refresh.interval.millis}",
+			initialDelayString = "${jwt.signing.key.refresh.interval.millis}")
+	public void rotate() {
+		if(!isEnabled()) {
+			return;
+		}
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+		reload(now);
+		if(snapshot.signingKeys().stream().noneMatch(key -> !key.activatesAt().isAfter(now))) {
+			generateKey(now);
+			reload(now);
+		}
+		List<SigningKey> signingKeys = snapshot.signingKeys();
+		if(!signingKeys.isEmpty() && !signingKeys.get(0).retiresAt().minusMinutes(publishAheadMinutes).isAfter(now)) {
+			generateKey(signingKeys.get(0).retiresAt());
+			reload(now);
+		}
+		int purged = jwtSigningKeyRepository.deleteExpired(now);
+		if(purged > 0) {
+			log.info("Purged {} expired JWT signing key(s)", purged);
+		}
+	}
+
+	/**
+	 * @return the key to sign with now
+	 * @throws IllegalStateException if the ring holds no usable key
+	 */
+	public SigningKey currentSigningKey() {
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		for(SigningKey signingKey : snapshot.signingKeys()) {
+			if(!signingKey.activatesAt().isAfter(now)) {
+				return signingKey;
+			}
+		}
+		throw new IllegalStateException("No active JWT signing key.");
+	}
+
+	/**
+	 * Looks up a published key. An unknown kid may belong to a key another instance created since the
+	 * last refresh, so it triggers a reload, at most once per {@code unknown.kid.reload.interval}.
+	 */
+	public Optional<PublicKey> verificationKey(String kid) {
+		PublicKey publicKey = snapshot.verificationKeys().get(kid);
+		if(publicKey != null || !isEnabled()) {
+			return Optional.ofNullable(publicKey);
+		}
+		long last = lastUnknownKidReload.get();
+		long now = System.nanoTime();
+		if(now - last >= TimeUnit.MILLISECONDS.toNanos(unknownKidReloadIntervalMillis)
+				&& lastUnknownKidReload.compareAndSet(last, now)) {
+			reload(OffsetDateTime.now(ZoneOffset.UTC));
+		}
+		return Optional.ofNullable(snapshot.verificationKeys().get(kid));
+	}
+
+	public JwksDocument jwks() {
+		return snapshot.jwks();
+	}
+
+	private void generateKey(OffsetDateTime activatesAt) {
+		String kid = UUID.randomUUID().toString();
+		KeyPair keyPair = generateKeyPair();
+		OffsetDateTime retiresAt = activatesAt.plusHours(rotationIntervalHours);
+		JwtSigningKey jwtSigningKey = JwtSigningKey.builder()
+				.kid(kid)
+				.algorithm(signingAlgorithm)
+				.publicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()))
+				.privateKey(jwtSigningKeyCipher.encrypt(kid, keyPair.getPrivate().getEncoded()))
+				.activatesAt(activatesAt)
+				.retiresAt(retiresAt)
+				.expiresAt(retiresAt.plusMinutes(jwtTokenExpireDurationInMinutes).plus(EXPIRY_MARGIN))
+				.build();
+		try {
+			jwtSigningKeyRepository.save(jwtSigningKey);
+			log.info("Generated {} signing key {} active from {}", signingAlgorithm, kid, activatesAt);
+		} catch (DataIntegrityViolationException ex) {
+			log.debug("Another instance already generated the signing key active from {}", activatesAt);
+		}
+	}
+
+	private void reload(OffsetDateTime now) {
+		List<SigningKey> signingKeys = new ArrayList<>();
+		Map<String, PublicKey> verificationKeys = new HashMap<>();
+		List<String> jwks = new ArrayList<>();
+		for(JwtSigningKey jwtSigningKey : jwtSigningKeyRepository.findByExpiresAtAfterOrderByActivatesAtDesc(now)) {
+			String kid = jwtSigningKey.getKid();
+			try {
+				KeyFactory keyFactory = keyFactory(jwtSigningKey.getAlgorithm());
+				PublicKey publicKey = keyFactory.generatePublic(
+						new X509EncodedKeySpec(Base64.getDecoder().decode(jwtSigningKey.getPublicKey())));
+				verificationKeys.put(kid, publicKey);
+				jwks.add(Jwks.json(Jwks.builder().key(publicKey).id(kid).publicKeyUse("sig")
+						.algorithm(jwtSigningKey.getAlgorithm().name()).build()));
+				if(jwtSigningKey.getAlgorithm() == signingAlgorithm && jwtSigningKey.getRetiresAt().isAfter(now)) {
+					PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(
+							jwtSigningKeyCipher.decrypt(kid, jwtSigningKey.getPrivateKey())));
+					signingKeys.add(new SigningKey(kid, privateKey, jwtSigningKey.getActivatesAt(),
+							jwtSigningKey.getRetiresAt()));
+				}
+			} catch (GeneralSecurityException | RuntimeException ex) {
+				log.warn("Skipping unusable JWT signing key {}: {}", kid, ex.toString());
+			}
+		}
+		this.snapshot = new KeyRingSnapshot(List.copyOf(signingKeys), Map.copyOf(verificationKeys),
+				JwksDocument.of(jwks));
+	}
+
+	private KeyPair generateKeyPair() {
+		try {
+			return switch (signingAlgorithm) {
+				case ES256 -> {
+					KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+					generator.initialize(new ECGenParameterSpec("secp256r1"));
+					yield generator.generateKeyPair();
+				}
+				case EdDSA -> KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+				case HS256 -> throw new IllegalStateException("HS256 does not use a key pair.");
+			};
+		} catch (GeneralSecurityException ex) {
+			throw new IllegalStateException("Unable to generate " + signingAlgorithm + " key pair.", ex);
+		}
+	}
+
+	private static KeyFactory keyFactory(EnumJwtSigningAlgorithm algorithm) throws GeneralSecurityException {
+		return switch (algorithm) {
+			case ES256 -> KeyFactory.getInstance("EC");
+			case EdDSA -> KeyFactory.getInstance("Ed25519");
+			case HS256 -> throw new GeneralSecurityException("HS256 keys are not stored.");
+		};
+	}
+
+	public record SigningKey(String kid, PrivateKey privateKey, OffsetDateTime activatesAt, OffsetDateTime retiresAt) {
+	}
+
+	/**
+	 * The serialised JWK set and its ETag, built once per reload rather than per request.
+	 */
+	public record JwksDocument(String json, String etag) {
+		static JwksDocument of(List<String> jwks) {
+			String json = "{\"keys\":[" + String.join(",", jwks) + "]}";
+			try {
+				byte[] digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+				return new JwksDocument(json, "\"" + HexFormat.of().formatHex(Arrays.copyOf(digest, 16)) + "\"");
+			} catch (GeneralSecurityException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+	}
+
+	private record KeyRingSnapshot(List<SigningKey> signingKeys, Map<String, PublicKey> verificationKeys,
+			JwksDocument jwks) {
+		static final KeyRingSnapshot EMPTY = new KeyRingSnapshot(List.of(), Map.of(), JwksDocument.of(List.of()));
+	}
+}
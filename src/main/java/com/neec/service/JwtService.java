@@ -1,6 +1,7 @@
 package com.neec.service;
 
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
@@ -11,37 +12,94 @@ import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.neec.enums.EnumJwtSigningAlgorithm;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.InvalidKeyException;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureAlgorithm;
 import jakarta.annotation.PostConstruct;
 
 @Service
 public class JwtService {
+	public static final String ISSUED_AT_MILLIS_CLAIM = "issuedAtMillis";
+
 	@Value("${jwt.secret.text}")
 	private String jwtSecretText;
 
 	@Value("${jwt.token.expire.duration.minutes}")
 	private long jwtTokenExpireDurationInMinutes;
 
+	@Value("${jwt.signing.algorithm}")
+	private EnumJwtSigningAlgorithm signingAlgorithm;
+
+	private JwtKeyRing jwtKeyRing;
 	private SecretKey secretKey;
+	private HmacJwtSigner hmacJwtSigner;
+	private SignatureAlgorithm asymmetricAlgorithm;
+	private JwtParser jwtParser;
+
+	public JwtService(JwtKeyRing jwtKeyRing) {
+		this.jwtKeyRing = jwtKeyRing;
+	}
 
 	@PostConstruct
 	public void init() {
 		this.secretKey = Keys.hmacShaKeyFor(jwtSecretText.getBytes(StandardCharsets.UTF_8));
+		this.hmacJwtSigner = new HmacJwtSigner(secretKey);
+		this.asymmetricAlgorithm = switch (signingAlgorithm) {
+			case HS256 -> null;
+			case ES256 -> Jwts.SIG.ES256;
+			case EdDSA -> Jwts.SIG.EdDSA;
+		};
+		// tokens without a kid are HMAC-signed, which keeps them valid across a switch to ES256/EdDSA
+		this.jwtParser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+			@Override
+			protected Key locate(ProtectedHeader header) {
+				String kid = header.getKeyId();
+				if(kid == null) {
+					return secretKey;
+				}
+				return jwtKeyRing.verificationKey(kid)
+						.orElseThrow(() -> new InvalidKeyException("Unknown signing key id: " + kid));
+			}
+		}).build();
 	}
 
+	/**
+	 * Besides iat, which JWT keeps in whole seconds, the token carries issuedAtMillis so a revocation can
+	 * tell apart tokens issued before and after it within the same second.
+	 */
 	public String generateJwtToken(long userLoginId, String emailAddress, String userRole) {
-		Instant now = Instant.now();
+		Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
 		Instant expiration = now.plus(jwtTokenExpireDurationInMinutes, ChronoUnit.MINUTES);
-
-		String jwtToken = Jwts.builder()
+		if(asymmetricAlgorithm == null) {
+			return hmacJwtSigner.sign(userLoginId, emailAddress, userRole, now.toEpochMilli(), expiration.getEpochSecond());
+		}
+		JwtKeyRing.SigningKey signingKey = jwtKeyRing.currentSigningKey();
+		return Jwts.builder()
+				.header().keyId(signingKey.kid()).and()
 				.claim("emailAddress", emailAddress)
 				.claim("roles", List.of(userRole))
 				.subject(String.valueOf(userLoginId))
 				.issuedAt(Date.from(now))
 				.expiration(Date.from(expiration))
-				.signWith(secretKey)
+				.claim(ISSUED_AT_MILLIS_CLAIM, now.toEpochMilli())
+				.signWith(signingKey.privateKey(), asymmetricAlgorithm)
 				.compact();
-		return jwtToken;
+	}
+
+	/**
+	 * Verifies the signature and expiry of a token issued by this service. HMAC tokens are checked
+	 * against {@code jwt.secret.text}, asymmetric ones against the key ring entry named by their kid.
+	 * @return the token's claims
+	 * @throws io.jsonwebtoken.JwtException if the token is malformed, expired or its signature does not match
+	 */
+	public Claims parseToken(String jwtToken) {
+		return jwtParser.parseSignedClaims(jwtToken).getPayload();
 	}
 }
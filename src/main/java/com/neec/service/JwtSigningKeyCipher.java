@@ -0,0 +1,65 @@
+package com.neec.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Encrypts signing private keys before they are stored, with AES-GCM under a key derived from
+ * {@code jwt.secret.text}. The key id is bound in as associated data, so a ciphertext cannot be
+ * moved onto another row.
+ */
+public class JwtSigningKeyCipher {
+	private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+	private static final int IV_LENGTH = 12;
+	private static final int TAG_LENGTH_BITS = 128;
+
+	private final SecretKey encryptionKey;
+	private final SecureRandom secureRandom = new SecureRandom();
+
+	public JwtSigningKeyCipher(String jwtSecretText) {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(jwtSecretText.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+			byte[] derived = mac.doFinal("jwt-signing-key-encryption".getBytes(StandardCharsets.US_ASCII));
+			this.encryptionKey = new SecretKeySpec(derived, "AES");
+		} catch (GeneralSecurityException ex) {
+			throw new IllegalStateException("Unable to derive signing key encryption key.", ex);
+		}
+	}
+
+	public String encrypt(String kid, byte[] plaintext) {
+		byte[] iv = new byte[IV_LENGTH];
+		secureRandom.nextBytes(iv);
+		try {
+			Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+			cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+			cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+			byte[] ciphertext = cipher.doFinal(plaintext);
+			return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + ciphertext.length)
+					.put(iv).put(ciphertext).array());
+		} catch (GeneralSecurityException ex) {
+			throw new IllegalStateException("Unable to encrypt signing key " + kid + ".", ex);
+		}
+	}
+
+	/**
+	 * @throws GeneralSecurityException if the value was not produced by this cipher for this key id,
+	 * typically because {@code jwt.secret.text} has changed since the key was stored
+	 */
+	public byte[] decrypt(String kid, String encrypted) throws GeneralSecurityException {
+		byte[] bytes = Base64.getDecoder().decode(encrypted);
+		Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+		cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_LENGTH_BITS, bytes, 0, IV_LENGTH));
+		cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+		return cipher.doFinal(bytes, IV_LENGTH, bytes.length - IV_LENGTH);
+	}
+}
@@ -0,0 +1,111 @@
+package com.neec.service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records each account's latest successful login without writing on the login path. Logins only update an
+ * in-memory map, where repeated logins by the same account collapse into one entry; the map is written to
+ * USER_LOGIN.LAST_LOGIN_AT in one JDBC batch per flush interval and drained once more on shutdown.
+ * <p>
+ * The UPDATE never moves LAST_LOGIN_AT backwards, so instances flushing in any order agree on the latest
+ * login. Timestamps still pending when an instance dies are lost, which costs an inactivity report at most
+ * one interval of accuracy.
+ */
+@Slf4j
+@Service
+public class LastLoginTracker {
+	private static final String UPDATE_LAST_LOGIN = "update USER_LOGIN set LAST_LOGIN_AT = ? "
+			+ "where USER_LOGIN_ID = ? and (LAST_LOGIN_AT is null or LAST_LOGIN_AT < ?)";
+	private static final int[] UPDATE_LAST_LOGIN_TYPES =
+			{Types.TIMESTAMP_WITH_TIMEZONE, Types.BIGINT, Types.TIMESTAMP_WITH_TIMEZONE};
+
+	private JdbcTemplate jdbcTemplate;
+	private MeterRegistry meterRegistry;
+	// USER_LOGIN_ID to epoch millis of the latest login not yet written
+	private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+	// epoch millis; replaced in tests
+	LongSupplier clock = System::currentTimeMillis;
+	private Counter coalescedCounter;
+	private Timer flushTimer;
+
+	public LastLoginTracker(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@PostConstruct
+	public void init() {
+		this.coalescedCounter = Counter.builder("login.last.coalesced")
+				.description("Logins folded into an account's already pending timestamp")
+				.register(meterRegistry);
+		this.flushTimer = Timer.builder("login.last.flush")
+				.description("Time to write pending last-login timestamps")
+				.register(meterRegistry);
+		Gauge.builder("login.last.pending", pending, Map::size)
+			.description("Accounts with a last-login timestamp not yet written")
+			.register(meterRegistry);
+	}
+
+	public void recordLogin(long userLoginId) {
+		long now = clock.getAsLong();
+		if(pending.putIfAbsent(userLoginId, now) != null) {
+			pending.merge(userLoginId, now, Math::max);
+			coalescedCounter.increment();
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${login.last.flush.interval.millis}",
+			initialDelayString = "${login.last.flush.interval.millis}")
+	public void flush() {
+		flushTimer.record(() -> {
+			List<Object[]> rows = new ArrayList<>();
+			Map<Long, Long> taken = new HashMap<>();
+			for(Long userLoginId : pending.keySet()) {
+				// removed before writing, so a login recorded meanwhile is pending again for the next flush
+				Long lastLoginAt = pending.remove(userLoginId);
+				if(lastLoginAt != null) {
+					taken.put(userLoginId, lastLoginAt);
+					Timestamp timestamp = new Timestamp(lastLoginAt);
+					rows.add(new Object[] { timestamp, userLoginId, timestamp });
+				}
+			}
+			if(rows.isEmpty()) {
+				return;
+			}
+			try {
+				jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN, rows, UPDATE_LAST_LOGIN_TYPES);
+			} catch (DataAccessException ex) {
+				taken.forEach((userLoginId, lastLoginAt) -> pending.merge(userLoginId, lastLoginAt, Math::max));
+				log.warn("Could not flush {} last-login timestamps, retrying next interval: {}", rows.size(), ex.toString());
+			}
+		});
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		flush();
+		if(!pending.isEmpty()) {
+			log.warn("Dropped {} last-login timestamps on shutdown", pending.size());
+		}
+	}
+}
@@ -0,0 +1,225 @@
+package com.neec.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Failed-login counts per canonical email address, with a lockout that doubles for every failure past the
+ * threshold up to a maximum. Counts reset after a successful login or once the reset window passes without
+ * failures. Addresses without an account are counted and locked exactly like existing ones, and the lock
+ * is checked before the account is looked up, so a lockout says nothing about whether an account exists.
+ * <p>
+ * State is held in a ConcurrentHashMap updated with compute, which locks one bin rather than the map, so
+ * failures on different addresses never contend. Changed addresses are written to LOGIN_FAILURE in one
+ * JDBC batch per flush interval rather than a statement per failure. The same flush reads back the locks
+ * held in the table: a lock set by another instance applies here within one interval, and a lock whose
+ * row was cleared, by a successful login elsewhere or by deleting the row, is lifted here too. Counts
+ * below the threshold are per instance, like the login rate limits.
+ */
+@Slf4j
+@Service
+public class LoginFailureTracker {
+	// a lock is never shortened by an instance that saw fewer failures
+	private static final String UPSERT_FAILURES = "insert into LOGIN_FAILURE (EMAIL_ADDRESS_CANONICAL, "
+			+ "FAILED_LOGIN_ATTEMPTS, LAST_FAILED_LOGIN_AT, LOCKED_UNTIL) values (?, ?, ?, ?) "
+			+ "on conflict (EMAIL_ADDRESS_CANONICAL) do update set FAILED_LOGIN_ATTEMPTS = excluded.FAILED_LOGIN_ATTEMPTS, "
+			+ "LAST_FAILED_LOGIN_AT = excluded.LAST_FAILED_LOGIN_AT, "
+			+ "LOCKED_UNTIL = greatest(LOGIN_FAILURE.LOCKED_UNTIL, excluded.LOCKED_UNTIL)";
+	private static final int[] UPSERT_FAILURES_TYPES =
+			{Types.VARCHAR, Types.INTEGER, Types.TIMESTAMP_WITH_TIMEZONE, Types.TIMESTAMP_WITH_TIMEZONE};
+	private static final String DELETE_FAILURES = "delete from LOGIN_FAILURE where EMAIL_ADDRESS_CANONICAL = ?";
+	private static final int[] DELETE_FAILURES_TYPES = {Types.VARCHAR};
+	private static final String SELECT_FAILURES = "select EMAIL_ADDRESS_CANONICAL, FAILED_LOGIN_ATTEMPTS, "
+			+ "LAST_FAILED_LOGIN_AT, LOCKED_UNTIL from LOGIN_FAILURE";
+
+	@Value("${login.failure.lockout.threshold}")
+	private int lockoutThreshold;
+
+	@Value("${login.failure.lockout.base.seconds}")
+	private long lockoutBaseSeconds;
+
+	@Value("${login.failure.lockout.max.seconds}")
+	private long lockoutMaxSeconds;
+
+	@Value("${login.failure.reset.minutes}")
+	private long resetMinutes;
+
+	private JdbcTemplate jdbcTemplate;
+	private MeterRegistry meterRegistry;
+	private final Map<String, FailureState> failures = new ConcurrentHashMap<>();
+	private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+	// epoch millis; replaced in tests
+	LongSupplier clock = System::currentTimeMillis;
+	private Counter failureCounter;
+	private Counter lockoutCounter;
+	private Counter lockedRejectedCounter;
+	private Timer flushTimer;
+
+	public LoginFailureTracker(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@PostConstruct
+	public void init() {
+		this.failureCounter = Counter.builder("login.failures")
+				.description("Logins rejected for a wrong email address or password")
+				.register(meterRegistry);
+		this.lockoutCounter = Counter.builder("login.lockouts")
+				.description("Addresses locked, or relocked for longer, after repeated failures")
+				.register(meterRegistry);
+		this.lockedRejectedCounter = Counter.builder("login.locked.rejected")
+				.description("Logins to a locked address rejected without looking up the account")
+				.register(meterRegistry);
+		this.flushTimer = Timer.builder("login.failure.flush")
+				.description("Time to write changed failure counts and read back locks")
+				.register(meterRegistry);
+		Gauge.builder("login.failure.tracked", failures, Map::size)
+			.description("Addresses with failed logins held in memory")
+			.register(meterRegistry);
+		jdbcTemplate.query(SELECT_FAILURES, resultSet -> {
+			failures.put(resultSet.getString("EMAIL_ADDRESS_CANONICAL"), readState(resultSet));
+		});
+	}
+
+	/**
+	 * @return 0 when the account may try a password, otherwise the seconds until it may
+	 */
+	public long lockedForSeconds(String emailAddressCanonical) {
+		FailureState state = failures.get(emailAddressCanonical);
+		long remainingMillis = state == null ? 0 : state.lockedUntil() - clock.getAsLong();
+		if(remainingMillis <= 0) {
+			return 0;
+		}
+		lockedRejectedCounter.increment();
+		return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(remainingMillis + 999));
+	}
+
+	public void recordFailure(String emailAddressCanonical) {
+		long now = clock.getAsLong();
+		FailureState state = failures.compute(emailAddressCanonical, (address, current) -> {
+			int attempts = current == null || expired(current, now) ? 1 : current.attempts() + 1;
+			long lockedUntil = current == null ? 0 : current.lockedUntil();
+			if(attempts >= lockoutThreshold) {
+				int doublings = Math.min(attempts - lockoutThreshold, 30);
+				long lockSeconds = Math.min(lockoutMaxSeconds, lockoutBaseSeconds << doublings);
+				lockedUntil = Math.max(lockedUntil, now + TimeUnit.SECONDS.toMillis(lockSeconds));
+			}
+			return new FailureState(attempts, now, lockedUntil);
+		});
+		dirty.add(emailAddressCanonical);
+		failureCounter.increment();
+		if(state.attempts() >= lockoutThreshold) {
+			lockoutCounter.increment();
+			log.warn("Login locked for an address after {} failed logins", state.attempts());
+		}
+	}
+
+	public void recordSuccess(String emailAddressCanonical) {
+		if(failures.remove(emailAddressCanonical) != null) {
+			dirty.add(emailAddressCanonical);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${login.failure.flush.interval.millis}",
+			initialDelayString = "${login.failure.flush.interval.millis}")
+	public void flush() {
+		flushTimer.record(() -> {
+			long now = clock.getAsLong();
+			// forgotten failures are written back as cleared
+			failures.forEach((emailAddressCanonical, state) -> {
+				if(state.lockedUntil() <= now && expired(state, now) && failures.remove(emailAddressCanonical, state)) {
+					dirty.add(emailAddressCanonical);
+				}
+			});
+			List<String> taken = new ArrayList<>();
+			List<Object[]> upserts = new ArrayList<>();
+			List<Object[]> deletes = new ArrayList<>();
+			for(Iterator<String> iterator = dirty.iterator(); iterator.hasNext();) {
+				String emailAddressCanonical = iterator.next();
+				// removed before reading, so a failure recorded meanwhile marks it dirty again
+				iterator.remove();
+				FailureState state = failures.get(emailAddressCanonical);
+				taken.add(emailAddressCanonical);
+				if(state == null) {
+					deletes.add(new Object[] { emailAddressCanonical });
+				} else {
+					upserts.add(new Object[] { emailAddressCanonical, state.attempts(), new Timestamp(state.lastFailureAt()),
+							state.lockedUntil() == 0 ? null : new Timestamp(state.lockedUntil()) });
+				}
+			}
+			try {
+				if(!upserts.isEmpty()) {
+					jdbcTemplate.batchUpdate(UPSERT_FAILURES, upserts, UPSERT_FAILURES_TYPES);
+				}
+				if(!deletes.isEmpty()) {
+					jdbcTemplate.batchUpdate(DELETE_FAILURES, deletes, DELETE_FAILURES_TYPES);
+				}
+				Map<String, FailureState> locked = new HashMap<>();
+				jdbcTemplate.query(SELECT_FAILURES + " where LOCKED_UNTIL > ?", resultSet -> {
+					locked.put(resultSet.getString("EMAIL_ADDRESS_CANONICAL"), readState(resultSet));
+				}, new Timestamp(now));
+				syncLocks(locked, now);
+			} catch (DataAccessException ex) {
+				dirty.addAll(taken);
+				log.warn("Could not flush {} failed-login counts, retrying next interval: {}", taken.size(), ex.toString());
+			}
+		});
+	}
+
+	/**
+	 * Makes the table the source of truth for locks, except for addresses with a failure recorded since the
+	 * write, whose newer state is written next interval.
+	 */
+	private void syncLocks(Map<String, FailureState> locked, long now) {
+		locked.forEach((emailAddressCanonical, persisted) -> failures.merge(emailAddressCanonical, persisted,
+				(current, ignored) -> !dirty.contains(emailAddressCanonical) ? persisted
+						: current.lockedUntil() >= persisted.lockedUntil() ? current
+						: new FailureState(Math.max(current.attempts(), persisted.attempts()), current.lastFailureAt(),
+								persisted.lockedUntil())));
+		failures.forEach((emailAddressCanonical, state) -> {
+			if(state.lockedUntil() > now && !locked.containsKey(emailAddressCanonical)
+					&& !dirty.contains(emailAddressCanonical)) {
+				failures.remove(emailAddressCanonical, state);
+			}
+		});
+	}
+
+	private static FailureState readState(ResultSet resultSet) throws SQLException {
+		Timestamp lockedUntil = resultSet.getTimestamp("LOCKED_UNTIL");
+		return new FailureState(resultSet.getInt("FAILED_LOGIN_ATTEMPTS"),
+				resultSet.getTimestamp("LAST_FAILED_LOGIN_AT").getTime(),
+				lockedUntil == null ? 0 : lockedUntil.getTime());
+	}
+
+	private boolean expired(FailureState state, long now) {
+		return now - state.lastFailureAt() > TimeUnit.MINUTES.toMillis(resetMinutes);
+	}
+
+	private record FailureState(int attempts, long lastFailureAt, long lockedUntil) {
+	}
+}
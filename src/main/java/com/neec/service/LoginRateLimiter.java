@@ -0,0 +1,93 @@
+package com.neec.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.neec.util.EmailNormalizer;
+import com.neec.util.GcraRateLimiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Login attempt limits per client IP and per email address, checked before the request reaches
+ * any database lookup or password hash. Limits are per instance.
+ */
+@Service
+public class LoginRateLimiter {
+	@Value("${login.rate.limit.ip.burst}")
+	private int ipBurst;
+
+	@Value("${login.rate.limit.ip.refill.millis}")
+	private long ipRefillMillis;
+
+	@Value("${login.rate.limit.email.burst}")
+	private int emailBurst;
+
+	@Value("${login.rate.limit.email.refill.millis}")
+	private long emailRefillMillis;
+
+	@Value("${login.rate.limit.maximum.keys}")
+	private long maximumKeys;
+
+	private MeterRegistry meterRegistry;
+	private GcraRateLimiter ipLimiter;
+	private GcraRateLimiter emailLimiter;
+	private Counter ipRejectedCounter;
+	private Counter emailRejectedCounter;
+
+	public LoginRateLimiter(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@PostConstruct
+	public void init() {
+		this.ipLimiter = new GcraRateLimiter(ipBurst, ipRefillMillis, maximumKeys);
+		this.emailLimiter = new GcraRateLimiter(emailBurst, emailRefillMillis, maximumKeys);
+		this.ipRejectedCounter = rejectedCounter("ip");
+		this.emailRejectedCounter = rejectedCounter("email");
+		keysGauge("ip", ipLimiter);
+		keysGauge("email", emailLimiter);
+	}
+
+	/**
+	 * @return 0 when allowed, otherwise the seconds to wait
+	 */
+	public long checkClientIp(String clientIp) {
+		return check(ipLimiter, clientIp, ipRejectedCounter);
+	}
+
+	/**
+	 * @return 0 when allowed, otherwise the seconds to wait
+	 */
+	public long checkEmailAddress(String emailAddress) {
+		return check(emailLimiter, EmailNormalizer.canonical(emailAddress), emailRejectedCounter);
+	}
+
+	private long check(GcraRateLimiter limiter, String key, Counter rejectedCounter) {
+		long waitNanos = limiter.tryAcquire(key);
+		if(waitNanos == 0) {
+			return 0;
+		}
+		rejectedCounter.increment();
+		return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+	}
+
+	private Counter rejectedCounter(String keyType) {
+		return Counter.builder("login.rate.limit.rejected")
+				.description("Login attempts rejected with 429 before any lookup or hashing")
+				.tag("key", keyType)
+				.register(meterRegistry);
+	}
+
+	private void keysGauge(String keyType, GcraRateLimiter limiter) {
+		Gauge.builder("login.rate.limit.keys", limiter, GcraRateLimiter::estimatedKeys)
+			.description("Rate-limit buckets currently tracked")
+			.tag("key", keyType)
+			.register(meterRegistry);
+	}
+}
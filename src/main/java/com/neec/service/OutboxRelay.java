@@ -0,0 +1,176 @@
+package com.neec.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neec.config.SchedulingConfig;
+import com.neec.entity.OutboxMessage;
+import com.neec.repository.OutboxMessageRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains OUTBOX_MESSAGE to RabbitMQ in batches. A short transaction locks a batch of due rows and claims them
+ * by moving NEXT_ATTEMPT_AT past {@code claim.millis}, so other relays skip them without a lock held. The
+ * batch is then handed to {@link BatchingAmqpPublisher} and its publisher confirms are awaited together,
+ * outside any transaction; a second one deletes the confirmed rows and reschedules the rest with exponential
+ * backoff. Delivery is at-least-once: a relay that dies before that second transaction leaves its rows to be
+ * republished once the claim lapses.
+ * <p>
+ * Payloads are published as stored, as JSON with the __TypeId__ header of their original class, just as
+ * {@code Jackson2JsonMessageConverter} would have sent them directly.
+ */
+@Slf4j
+@Service
+public class OutboxRelay {
+	private static final int LAST_ERROR_MAX_LENGTH = 500;
+
+	@Value("${outbox.relay.batch.size}")
+	private int batchSize;
+
+	@Value("${outbox.relay.confirm.timeout.millis}")
+	private long confirmTimeoutMillis;
+
+	@Value("${outbox.relay.claim.millis}")
+	private long claimMillis;
+
+	@Value("${outbox.relay.backoff.initial.millis}")
+	private long backoffInitialMillis;
+
+	@Value("${outbox.relay.backoff.max.millis}")
+	private long backoffMaxMillis;
+
+	private OutboxMessageRepository outboxMessageRepository;
+	private BatchingAmqpPublisher batchingAmqpPublisher;
+	private TransactionTemplate transactionTemplate;
+	private Counter publishedCounter;
+	private Counter failedCounter;
+
+	public OutboxRelay(OutboxMessageRepository outboxMessageRepository, BatchingAmqpPublisher batchingAmqpPublisher,
+			TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+		this.outboxMessageRepository = outboxMessageRepository;
+		this.batchingAmqpPublisher = batchingAmqpPublisher;
+		this.transactionTemplate = transactionTemplate;
+		this.publishedCounter = Counter.builder("outbox.relay.published")
+				.description("Outbox messages confirmed by the broker")
+				.register(meterRegistry);
+		this.failedCounter = Counter.builder("outbox.relay.failed")
+				.description("Outbox publish attempts that were nacked, returned or timed out")
+				.register(meterRegistry);
+	}
+
+	@Scheduled(fixedDelayString = "${outbox.relay.interval.millis}",
+			scheduler = SchedulingConfig.BACKGROUND_TASK_SCHEDULER)
+	public void relay() {
+		BatchResult result;
+		do {
+			result = relayBatch();
+		} while(result.size() == batchSize && result.failed() == 0);
+	}
+
+	private BatchResult relayBatch() {
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		List<OutboxMessage> batch = transactionTemplate.execute(status -> claimDueMessages(now));
+		if(batch == null || batch.isEmpty()) {
+			return new BatchResult(0, 0);
+		}
+		List<CompletableFuture<Void>> confirmations = new ArrayList<>(batch.size());
+		for(OutboxMessage outboxMessage : batch) {
+			confirmations.add(batchingAmqpPublisher.publish(outboxMessage.getExchange(),
+					outboxMessage.getRoutingKey(), toMessage(outboxMessage)));
+		}
+
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMillis);
+		List<Long> published = new ArrayList<>(batch.size());
+		Map<OutboxMessage, String> failed = new LinkedHashMap<>();
+		for(int index = 0; index < batch.size(); index++) {
+			OutboxMessage outboxMessage = batch.get(index);
+			String error = awaitConfirm(confirmations.get(index), deadline);
+			if(error == null) {
+				published.add(outboxMessage.getOutboxMessageId());
+			} else {
+				failed.put(outboxMessage, error);
+			}
+		}
+		OffsetDateTime completedAt = OffsetDateTime.now(ZoneOffset.UTC);
+		transactionTemplate.executeWithoutResult(status -> {
+			if(!published.isEmpty()) {
+				outboxMessageRepository.deleteAllByIdInBatch(published);
+			}
+			failed.forEach((outboxMessage, error) -> reschedule(outboxMessage, error, completedAt));
+		});
+		publishedCounter.increment(published.size());
+		failedCounter.increment(failed.size());
+		return new BatchResult(batch.size(), failed.size());
+	}
+
+	private List<OutboxMessage> claimDueMessages(OffsetDateTime now) {
+		List<OutboxMessage> batch = outboxMessageRepository.lockDueMessages(now, batchSize);
+		// written on commit, releasing the row locks
+		OffsetDateTime claimedUntil = now.plusNanos(TimeUnit.MILLISECONDS.toNanos(claimMillis));
+		batch.forEach(outboxMessage -> outboxMessage.setNextAttemptAt(claimedUntil));
+		return batch;
+	}
+
+	private Message toMessage(OutboxMessage outboxMessage) {
+		MessageProperties messageProperties = new MessageProperties();
+		messageProperties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+		messageProperties.setContentEncoding(StandardCharsets.UTF_8.name());
+		// rows written before PAYLOAD_TYPE existed go without, and consumers fall back to their own default
+		if(outboxMessage.getPayloadType() != null) {
+			messageProperties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, outboxMessage.getPayloadType());
+		}
+		return new Message(outboxMessage.getPayload().getBytes(StandardCharsets.UTF_8), messageProperties);
+	}
+
+	// null when acked and routed, otherwise the reason
+	private String awaitConfirm(CompletableFuture<Void> confirmation, long deadline) {
+		try {
+			confirmation.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			return null;
+		} catch (TimeoutException ex) {
+			return "confirm timed out";
+		} catch (ExecutionException ex) {
+			return String.valueOf(ex.getCause().getMessage());
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return "interrupted";
+		}
+	}
+
+	private void reschedule(OutboxMessage outboxMessage, String error, OffsetDateTime now) {
+		int attempts = outboxMessage.getAttempts() + 1;
+		long backoffMillis = backoffInitialMillis << Math.min(attempts - 1, 30);
+		backoffMillis = Math.min(backoffMaxMillis, backoffMillis);
+		// jitter so messages that failed together do not retry together
+		backoffMillis = backoffMillis / 2 + ThreadLocalRandom.current().nextLong(backoffMillis / 2 + 1);
+		outboxMessageRepository.reschedule(outboxMessage.getOutboxMessageId(), attempts,
+				now.plusNanos(TimeUnit.MILLISECONDS.toNanos(backoffMillis)),
+				error.length() > LAST_ERROR_MAX_LENGTH ? error.substring(0, LAST_ERROR_MAX_LENGTH) : error);
+		log.warn("Outbox message {} attempt {} failed ({}), retrying in {} ms", outboxMessage.getOutboxMessageId(),
+				attempts, error, backoffMillis);
+	}
+
+	private record BatchResult(int size, int failed) {
+	}
+}
@@ -0,0 +1,54 @@
+package com.neec.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neec.entity.OutboxMessage;
+import com.neec.repository.OutboxMessageRepository;
+
+/**
+ * Records a message for {@link OutboxRelay} to publish. It must join the caller's transaction, so the
+ * message exists if and only if the business change that produced it commits.
+ */
+@Service
+public class OutboxService {
+	private OutboxMessageRepository outboxMessageRepository;
+	private ObjectMapper objectMapper;
+
+	public OutboxService(OutboxMessageRepository outboxMessageRepository, ObjectMapper objectMapper) {
+		this.outboxMessageRepository = outboxMessageRepository;
+		this.objectMapper = objectMapper;
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void enqueue(String exchange, String routingKey, Object payload) {
+		outboxMessageRepository.save(toMessage(exchange, routingKey, payload));
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void enqueueAll(String exchange, String routingKey, List<?> payloads) {
+		outboxMessageRepository.saveAll(payloads.stream()
+				.map(payload -> toMessage(exchange, routingKey, payload))
+				.toList());
+	}
+
+	private OutboxMessage toMessage(String exchange, String routingKey, Object payload) {
+		String json;
+		try {
+			json = objectMapper.writeValueAsString(payload);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalArgumentException("Outbox payload is not serialisable.", ex);
+		}
+		return OutboxMessage.builder()
+				.exchange(exchange)
+				.routingKey(routingKey)
+				.payload(json)
+				.payloadType(payload.getClass().getName())
+				.build();
+	}
+}
@@ -0,0 +1,172 @@
+package com.neec.service;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.neec.exception.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs password hashing on a dedicated pool sized to the CPU cores, so request threads wait in a bounded
+ * queue instead of competing for cores. Work that cannot be queued, or that waited longer than the
+ * configured limit, is rejected with {@link ServiceOverloadedException}.
+ */
+@Service
+public class PasswordHashingService {
+	@Value("${password.hashing.pool.size}")
+	private int poolSize;
+
+	@Value("${password.hashing.queue.capacity}")
+	private int queueCapacity;
+
+	@Value("${password.hashing.queue.max.wait.millis}")
+	private long maxQueueWaitMillis;
+
+	@Value("${password.hashing.retry.after.seconds}")
+	private long retryAfterSeconds;
+
+	private PasswordEncoder passwordEncoder;
+	private MeterRegistry meterRegistry;
+	private ThreadPoolExecutor hashingExecutor;
+	private volatile String dummyHashedPassword;
+	private Timer queueWaitTimer;
+	private Counter rejectedCounter;
+
+	public PasswordHashingService(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry) {
+		this.passwordEncoder = passwordEncoder;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@PostConstruct
+	public void init() {
+		int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+		this.hashingExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+				new ThreadPoolExecutor.AbortPolicy());
+		Gauge.builder("password.hashing.queue.depth", hashingExecutor, executor -> executor.getQueue().size())
+			.description("Hashing requests waiting for a worker")
+			.register(meterRegistry);
+		Gauge.builder("password.hashing.active", hashingExecutor, ThreadPoolExecutor::getActiveCount)
+			.description("Hashing workers currently busy")
+			.register(meterRegistry);
+		this.queueWaitTimer = Timer.builder("password.hashing.queue.wait")
+				.description("Time a hashing request spent queued before a worker picked it up")
+				.publishPercentiles(0.5, 0.95, 0.99)
+				.register(meterRegistry);
+		this.rejectedCounter = Counter.builder("password.hashing.rejected")
+				.description("Hashing requests shed because the pool was saturated")
+				.register(meterRegistry);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		hashingExecutor.shutdown();
+	}
+
+	public String encode(CharSequence rawPassword) {
+		return await(submit(() -> passwordEncoder.encode(rawPassword)));
+	}
+
+	public boolean matches(CharSequence rawPassword, String hashedPassword) {
+		return await(submit(() -> passwordEncoder.matches(rawPassword, hashedPassword)));
+	}
+
+	/**
+	 * Checks the password on a hashing worker without blocking the caller. Saturation fails the returned
+	 * future with {@link ServiceOverloadedException}.
+	 */
+	public CompletableFuture<Boolean> matchesAsync(CharSequence rawPassword, String hashedPassword) {
+		try {
+			return submit(() -> passwordEncoder.matches(rawPassword, hashedPassword));
+		} catch (ServiceOverloadedException ex) {
+			return CompletableFuture.failedFuture(ex);
+		}
+	}
+
+	/**
+	 * Spends as long as {@link #matchesAsync} against a real hash, for logins with an unknown email, so the
+	 * response time does not reveal whether an address is registered.
+	 */
+	public CompletableFuture<Boolean> matchesNothingAsync(CharSequence rawPassword) {
+		String hashedPassword = dummyHashedPassword;
+		if(hashedPassword != null) {
+			return matchesAsync(rawPassword, hashedPassword);
+		}
+		// racing threads may each compute one; any of them will do
+		return encodeAsync(UUID.randomUUID().toString())
+				.thenCompose(computed -> {
+					dummyHashedPassword = computed;
+					return matchesAsync(rawPassword, computed);
+				});
+	}
+
+	/**
+	 * Hashes without blocking the caller. Saturation is reported through the returned future rather than
+	 * thrown, for background work such as rehashing that may simply be retried later.
+	 */
+	public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+		try {
+			return submit(() -> passwordEncoder.encode(rawPassword));
+		} catch (ServiceOverloadedException ex) {
+			return CompletableFuture.failedFuture(ex);
+		}
+	}
+
+	public boolean needsRehash(String hashedPassword) {
+		return passwordEncoder.upgradeEncoding(hashedPassword);
+	}
+
+	private <T> CompletableFuture<T> submit(Supplier<T> hashOperation) {
+		long submittedAt = System.nanoTime();
+		long maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMillis);
+		try {
+			return CompletableFuture.supplyAsync(() -> {
+				long waitedNanos = System.nanoTime() - submittedAt;
+				queueWaitTimer.record(waitedNanos, TimeUnit.NANOSECONDS);
+				if(waitedNanos > maxQueueWaitNanos) {
+					throw overloaded();
+				}
+				return hashOperation.get();
+			}, hashingExecutor);
+		} catch (RejectedExecutionException ex) {
+			throw overloaded();
+		}
+	}
+
+	private <T> T await(CompletableFuture<T> future) {
+		try {
+			return future.get();
+		} catch (ExecutionException ex) {
+			if(ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException("Password hashing failed.", ex.getCause());
+		} catch (InterruptedException ex) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw overloaded();
+		}
+	}
+
+	private ServiceOverloadedException overloaded() {
+		rejectedCounter.increment();
+		return new ServiceOverloadedException("Server is busy. Please retry shortly.", retryAfterSeconds);
+	}
+}
@@ -0,0 +1,57 @@
+package com.neec.service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import org.springframework.stereotype.Service;
+
+import com.neec.repository.UserLoginRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Migrates stored hashes to the calibrated algorithm and cost after a successful login. The new hash is
+ * computed on the hashing pool and written in its own transaction, so the read-only login transaction
+ * is not affected; if the pool is saturated the upgrade is skipped and retried on the next login.
+ * The cached credential is evicted once the new hash is stored.
+ */
+@Slf4j
+@Service
+public class PasswordRehashService {
+	private PasswordHashingService passwordHashingService;
+	private UserLoginRepository userLoginRepository;
+	private CredentialCache credentialCache;
+	private Counter rehashedCounter;
+
+	public PasswordRehashService(PasswordHashingService passwordHashingService,
+			UserLoginRepository userLoginRepository, CredentialCache credentialCache, MeterRegistry meterRegistry) {
+		this.passwordHashingService = passwordHashingService;
+		this.userLoginRepository = userLoginRepository;
+		this.credentialCache = credentialCache;
+		this.rehashedCounter = Counter.builder("password.hashing.rehashed")
+				.description("Stored password hashes upgraded on login")
+				.register(meterRegistry);
+	}
+
+	public void rehashIfNeeded(long userLoginId, String emailAddressCanonical, String rawPassword,
+			String currentHashedPassword) {
+		if(!passwordHashingService.needsRehash(currentHashedPassword)) {
+			return;
+		}
+		passwordHashingService.encodeAsync(rawPassword)
+			.thenAccept(newHashedPassword -> {
+				int updated = userLoginRepository.updateHashedPassword(userLoginId, currentHashedPassword,
+						newHashedPassword, OffsetDateTime.now(ZoneOffset.UTC));
+				if(updated == 1) {
+					credentialCache.invalidate(emailAddressCanonical);
+					rehashedCounter.increment();
+				}
+			})
+			.exceptionally(ex -> {
+				log.debug("Skipped password rehash for user {}: {}", userLoginId, ex.getMessage());
+				return null;
+			});
+	}
+}
@@ -0,0 +1,112 @@
+package com.neec.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neec.config.SchedulingConfig;
+import com.neec.repository.UserLoginRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes PENDING_VERIFICATION accounts whose verification token expired more than the grace period ago,
+ * which frees their addresses for registration again. Rows go in short transactions of one keyset chunk
+ * each, with a pause in between, so no lock is held for long. Only the instance holding the
+ * {@value #LEASE_NAME} lease sweeps; it renews the lease between chunks and stops if it lost it.
+ */
+@Slf4j
+@Service
+public class PendingAccountSweeper {
+	static final String LEASE_NAME = "pending-account-sweeper";
+
+	@Value("${pending.account.sweeper.grace.period.hours}")
+	private long gracePeriodHours;
+
+	@Value("${pending.account.sweeper.chunk.size}")
+	private int chunkSize;
+
+	@Value("${pending.account.sweeper.throttle.millis}")
+	private long throttleMillis;
+
+	@Value("${pending.account.sweeper.lease.seconds}")
+	private long leaseSeconds;
+
+	private UserLoginRepository userLoginRepository;
+	private SchedulerLeaseService schedulerLeaseService;
+	private CredentialCache credentialCache;
+	private TransactionTemplate transactionTemplate;
+	private Counter deletedCounter;
+	private Timer runTimer;
+
+	public PendingAccountSweeper(UserLoginRepository userLoginRepository, SchedulerLeaseService schedulerLeaseService,
+			CredentialCache credentialCache, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+		this.userLoginRepository = userLoginRepository;
+		this.schedulerLeaseService = schedulerLeaseService;
+		this.credentialCache = credentialCache;
+		this.transactionTemplate = transactionTemplate;
+		this.deletedCounter = Counter.builder("pending.account.sweeper.deleted")
+				.description("Expired PENDING_VERIFICATION accounts deleted")
+				.register(meterRegistry);
+		this.runTimer = Timer.builder("pending.account.sweeper.run")
+				.description("Duration of sweeper runs that held the lease")
+				.register(meterRegistry);
+	}
+
+	@Scheduled(fixedDelayString = "${pending.account.sweeper.interval.millis}",
+			initialDelayString = "${pending.account.sweeper.interval.millis}",
+			scheduler = SchedulingConfig.BACKGROUND_TASK_SCHEDULER)
+	public void sweep() {
+		Duration lease = Duration.ofSeconds(leaseSeconds);
+		if(!schedulerLeaseService.tryAcquire(LEASE_NAME, lease)) {
+			return;
+		}
+		OffsetDateTime expiredBefore = OffsetDateTime.now(ZoneOffset.UTC).minusHours(gracePeriodHours);
+		long deleted = runTimer.record(() -> sweep(expiredBefore, lease));
+		if(deleted > 0) {
+			log.info("Deleted {} PENDING_VERIFICATION accounts expired before {}", deleted, expiredBefore);
+		}
+	}
+
+	private long sweep(OffsetDateTime expiredBefore, Duration lease) {
+		long deleted = 0;
+		long afterUserLoginId = 0;
+		while(true) {
+			List<UserLoginRepository.AccountKey> chunk = deleteChunk(expiredBefore, afterUserLoginId);
+			deleted += chunk.size();
+			deletedCounter.increment(chunk.size());
+			if(chunk.size() < chunkSize) {
+				return deleted;
+			}
+			afterUserLoginId = chunk.stream().mapToLong(UserLoginRepository.AccountKey::getUserLoginId).max().getAsLong();
+			try {
+				Thread.sleep(throttleMillis);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return deleted;
+			}
+			if(!schedulerLeaseService.tryAcquire(LEASE_NAME, lease)) {
+				log.warn("Lost the {} lease, stopping after {} accounts", LEASE_NAME, deleted);
+				return deleted;
+			}
+		}
+	}
+
+	private List<UserLoginRepository.AccountKey> deleteChunk(OffsetDateTime expiredBefore, long afterUserLoginId) {
+		return transactionTemplate.execute(status -> {
+			List<UserLoginRepository.AccountKey> chunk =
+					userLoginRepository.deleteExpiredPendingAccounts(expiredBefore, afterUserLoginId, chunkSize);
+			chunk.forEach(account -> credentialCache.invalidate(account.getEmailAddressCanonical()));
+			return chunk;
+		});
+	}
+}
@@ -0,0 +1,43 @@
+package com.neec.service;
+
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Service;
+
+import com.neec.dto.LoginRequestDTO;
+import com.neec.dto.LoginResponseDTO;
+import com.neec.repository.ReactiveUserLoginRepository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Login for the reactive tier. The flow is {@link AuthenticationService}'s, with the one blocking step,
+ * the credential read on a cache miss, done over R2DBC. Nothing runs on the event loop but the lockout,
+ * filter and cache checks: the read completes on an R2DBC thread, and the hash and token issue on the
+ * bounded hashing pool, which answers with ServiceOverloadedException when saturated.
+ */
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveAuthenticationService {
+	private AuthenticationService authenticationService;
+	private ReactiveUserLoginRepository reactiveUserLoginRepository;
+
+	public ReactiveAuthenticationService(AuthenticationService authenticationService,
+			ReactiveUserLoginRepository reactiveUserLoginRepository) {
+		this.authenticationService = authenticationService;
+		this.reactiveUserLoginRepository = reactiveUserLoginRepository;
+	}
+
+	/**
+	 * @see AuthenticationService#login(LoginRequestDTO) for the errors the returned Mono signals
+	 */
+	public Mono<LoginResponseDTO> login(LoginRequestDTO loginRequestDTO) {
+		return Mono.fromFuture(() -> authenticationService.login(loginRequestDTO,
+				emailAddressCanonical -> reactiveUserLoginRepository.findCredentialByEmailAddressCanonical(emailAddressCanonical)
+					.map(Optional::of)
+					.defaultIfEmpty(Optional.empty())
+					.toFuture()));
+	}
+}
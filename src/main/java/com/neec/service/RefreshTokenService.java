@@ -0,0 +1,200 @@
+package com.neec.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.neec.config.SchedulingConfig;
+import com.neec.exception.InvalidRefreshTokenException;
+import com.neec.repository.RefreshTokenFamilyRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Issues and rotates refresh tokens. A token is the HMAC-signed tuple (family, user, generation,
+ * issued at in millis, expiry in seconds), so checking one needs no lookup; the REFRESH_TOKEN_FAMILY row only records the
+ * family's current generation. Redeeming a token advances the generation by compare-and-set. Presenting an older
+ * generation means the token was copied, and revokes the whole family.
+ * <p>
+ * Issuing at login writes nothing: a family's row is created on its first refresh.
+ * <p>
+ * A family expires a fixed time after login. Each rotation carries that expiry forward rather than starting
+ * a new lifetime, so a stolen token cannot be kept alive by refreshing it. Rows of expired families are
+ * purged in chunks on the background scheduler.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+	private static final int PAYLOAD_LENGTH = 16 + 8 + 4 + 8 + 8;
+	private static final Base64.Encoder BASE64_URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+
+	@Value("${jwt.secret.text}")
+	private String jwtSecretText;
+
+	@Value("${jwt.refresh.token.expire.duration.minutes}")
+	private long refreshTokenExpireDurationInMinutes;
+
+	@Value("${jwt.refresh.family.purge.chunk.size}")
+	private int purgeChunkSize;
+
+	private RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+	private ThreadLocal<Mac> macs;
+	private Counter reuseCounter;
+	private Counter purgedCounter;
+
+	public RefreshTokenService(RefreshTokenFamilyRepository refreshTokenFamilyRepository, MeterRegistry meterRegistry) {
+		this.refreshTokenFamilyRepository = refreshTokenFamilyRepository;
+		this.reuseCounter = Counter.builder("jwt.refresh.reuse.detected")
+				.description("Refresh token families revoked because an already-used token was presented")
+				.register(meterRegistry);
+		this.purgedCounter = Counter.builder("jwt.refresh.family.purged")
+				.description("Expired refresh token family rows deleted")
+				.register(meterRegistry);
+	}
+
+	@PostConstruct
+	public void init() {
+		byte[] signingKey = hmac(new SecretKeySpec(jwtSecretText.getBytes(StandardCharsets.UTF_8), "HmacSHA256"),
+				"refresh-token".getBytes(StandardCharsets.US_ASCII));
+		SecretKeySpec refreshTokenKey = new SecretKeySpec(signingKey, "HmacSHA256");
+		this.macs = ThreadLocal.withInitial(() -> {
+			try {
+				Mac mac = Mac.getInstance("HmacSHA256");
+				mac.init(refreshTokenKey);
+				return mac;
+			} catch (GeneralSecurityException ex) {
+				throw new IllegalStateException("Unable to initialise refresh token MAC.", ex);
+			}
+		});
+	}
+
+	public String issue(long userLoginId) {
+		long now = System.currentTimeMillis();
+		return encode(new RefreshToken(UUID.randomUUID(), userLoginId, 0, now, expiresAt(now / 1000)));
+	}
+
+	/**
+	 * Checks the signature and expiry. Does not consult the family, see {@link #rotate(RefreshToken)}.
+	 * @throws InvalidRefreshTokenException if the token is malformed, tampered with or expired
+	 */
+	public RefreshToken verify(String refreshToken) {
+		int separator = refreshToken.indexOf('.');
+		if(separator < 0) {
+			throw invalid();
+		}
+		byte[] payload;
+		byte[] signature;
+		try {
+			payload = BASE64_URL_DECODER.decode(refreshToken.substring(0, separator));
+			signature = BASE64_URL_DECODER.decode(refreshToken.substring(separator + 1));
+		} catch (IllegalArgumentException ex) {
+			throw invalid();
+		}
+		if(payload.length != PAYLOAD_LENGTH || !MessageDigest.isEqual(sign(payload), signature)) {
+			throw invalid();
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(payload);
+		RefreshToken token = new RefreshToken(new UUID(buffer.getLong(), buffer.getLong()), buffer.getLong(),
+				buffer.getInt(), buffer.getLong(), buffer.getLong());
+		if(token.expiresAtEpochSeconds() <= Instant.now().getEpochSecond()) {
+			throw invalid();
+		}
+		return token;
+	}
+
+	/**
+	 * Redeems a verified token and returns its successor, which expires with the family. Must run in a
+	 * transaction that does not roll back on {@link InvalidRefreshTokenException}, or a detected reuse would
+	 * not revoke the family.
+	 * @throws InvalidRefreshTokenException if the token was already redeemed or its family is revoked
+	 */
+	public String rotate(RefreshToken token) {
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		long nextExpiresAt = token.expiresAtEpochSeconds();
+		OffsetDateTime nextExpiresAtTime = OffsetDateTime.ofInstant(Instant.ofEpochSecond(nextExpiresAt), ZoneOffset.UTC);
+		int advanced = refreshTokenFamilyRepository.advanceGeneration(token.familyId(), token.generation(),
+				nextExpiresAtTime, now);
+		if(advanced == 0 && token.generation() == 0) {
+			advanced = refreshTokenFamilyRepository.insertIfAbsent(token.familyId(), token.userLoginId(), 1,
+					nextExpiresAtTime, now);
+		}
+		if(advanced == 0) {
+			refreshTokenFamilyRepository.revokeFamily(token.familyId(), now);
+			reuseCounter.increment();
+			log.warn("Refresh token reuse for user {}, family {} revoked", token.userLoginId(), token.familyId());
+			throw invalid();
+		}
+		return encode(new RefreshToken(token.familyId(), token.userLoginId(), token.generation() + 1,
+				now.toInstant().toEpochMilli(), nextExpiresAt));
+	}
+
+	/**
+	 * Deletes family rows whose tokens have all expired, which no longer have anything to detect.
+	 */
+	@Scheduled(fixedDelayString = "${jwt.refresh.family.purge.interval.millis}",
+			initialDelayString = "${jwt.refresh.family.purge.interval.millis}",
+			scheduler = SchedulingConfig.BACKGROUND_TASK_SCHEDULER)
+	public void purgeExpiredFamilies() {
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		int deleted;
+		do {
+			deleted = refreshTokenFamilyRepository.deleteExpired(now, purgeChunkSize);
+			purgedCounter.increment(deleted);
+		} while(deleted == purgeChunkSize);
+	}
+
+	private String encode(RefreshToken token) {
+		byte[] payload = ByteBuffer.allocate(PAYLOAD_LENGTH)
+				.putLong(token.familyId().getMostSignificantBits())
+				.putLong(token.familyId().getLeastSignificantBits())
+				.putLong(token.userLoginId())
+				.putInt(token.generation())
+				.putLong(token.issuedAtEpochMillis())
+				.putLong(token.expiresAtEpochSeconds())
+				.array();
+		return BASE64_URL_ENCODER.encodeToString(payload) + "." + BASE64_URL_ENCODER.encodeToString(sign(payload));
+	}
+
+	private long expiresAt(long issuedAtEpochSeconds) {
+		return issuedAtEpochSeconds + refreshTokenExpireDurationInMinutes * 60;
+	}
+
+	private byte[] sign(byte[] payload) {
+		return macs.get().doFinal(payload);
+	}
+
+	private static byte[] hmac(SecretKeySpec key, byte[] data) {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(key);
+			return mac.doFinal(data);
+		} catch (GeneralSecurityException ex) {
+			throw new IllegalStateException("Unable to derive refresh token key.", ex);
+		}
+	}
+
+	private static InvalidRefreshTokenException invalid() {
+		return new InvalidRefreshTokenException("invalid or expired refresh token.");
+	}
+
+	public record RefreshToken(UUID familyId, long userLoginId, int generation, long issuedAtEpochMillis,
+			long expiresAtEpochSeconds) {
+	}
+}
@@ -0,0 +1,43 @@
+package com.neec.service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cluster-wide leases in SCHEDULER_LEASE, so a scheduled job runs on one instance at a time. A lease is
+ * taken when it is free or expired and renewed by its holder; expiry is judged by the database clock, so
+ * instance clock skew does not matter. A holder that dies simply lets its lease run out.
+ */
+@Slf4j
+@Service
+public class SchedulerLeaseService {
+	private final String owner = UUID.randomUUID().toString();
+
+	private JdbcTemplate jdbcTemplate;
+
+	public SchedulerLeaseService(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Takes or renews the lease for the given duration.
+	 *
+	 * @return false while another instance holds it
+	 */
+	public boolean tryAcquire(String leaseName, Duration duration) {
+		int updated = jdbcTemplate.update("insert into SCHEDULER_LEASE (LEASE_NAME, OWNER, EXPIRES_AT) "
+				+ "values (?, ?, now() + ? * interval '1 millisecond') "
+				+ "on conflict (LEASE_NAME) do update set OWNER = excluded.OWNER, EXPIRES_AT = excluded.EXPIRES_AT "
+				+ "where SCHEDULER_LEASE.OWNER = excluded.OWNER or SCHEDULER_LEASE.EXPIRES_AT < now()",
+				leaseName, owner, duration.toMillis());
+		if(updated == 0) {
+			log.debug("Lease {} is held by another instance", leaseName);
+		}
+		return updated == 1;
+	}
+}
@@ -0,0 +1,134 @@
+package com.neec.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.neec.dto.IntrospectionResponseDTO;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Validates tokens on behalf of downstream services. Successfully verified tokens are cached under
+ * their SHA-256 digest until their own {@code exp}, so a gateway re-checking the same token pays for
+ * a digest and a hash lookup instead of a signature verification. Invalid tokens are never cached.
+ * Revocation is checked on every call, cached or not, so logout takes effect immediately.
+ */
+@Service
+public class TokenIntrospectionService {
+	private static final IntrospectionResponseDTO INACTIVE = IntrospectionResponseDTO.builder().active(false).build();
+
+	@Value("${jwt.introspection.cache.maximum.size}")
+	private long cacheMaximumSize;
+
+	private JwtService jwtService;
+	private TokenRevocationService tokenRevocationService;
+	private MeterRegistry meterRegistry;
+	private Cache<String, IntrospectionResponseDTO> verifiedTokens;
+	private final ThreadLocal<MessageDigest> sha256 = ThreadLocal.withInitial(() -> {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	});
+
+	public TokenIntrospectionService(JwtService jwtService, TokenRevocationService tokenRevocationService,
+			MeterRegistry meterRegistry) {
+		this.jwtService = jwtService;
+		this.tokenRevocationService = tokenRevocationService;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@PostConstruct
+	public void init() {
+		this.verifiedTokens = Caffeine.newBuilder()
+				.maximumSize(cacheMaximumSize)
+				.expireAfter(Expiry.creating((String digest, IntrospectionResponseDTO response) ->
+						Duration.between(Instant.now(), Instant.ofEpochSecond(response.getExp()))))
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.introspection");
+	}
+
+	public IntrospectionResponseDTO introspect(String jwtToken) {
+		IntrospectionResponseDTO response = verify(jwtToken);
+		if(response.isActive() && isRevoked(response)) {
+			return INACTIVE;
+		}
+		return response;
+	}
+
+	private IntrospectionResponseDTO verify(String jwtToken) {
+		String digest = digest(jwtToken);
+		IntrospectionResponseDTO cached = verifiedTokens.getIfPresent(digest);
+		if(cached != null) {
+			return cached;
+		}
+		Claims claims;
+		try {
+			claims = jwtService.parseToken(jwtToken);
+		} catch (JwtException | IllegalArgumentException ex) {
+			return INACTIVE;
+		}
+		if(claims.getExpiration() == null) {
+			return INACTIVE;
+		}
+		IntrospectionResponseDTO response = IntrospectionResponseDTO.builder()
+				.active(true)
+				.sub(claims.getSubject())
+				.emailAddress(claims.get("emailAddress", String.class))
+				.roles(roles(claims))
+				.iat(claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant().getEpochSecond())
+				.exp(claims.getExpiration().toInstant().getEpochSecond())
+				.issuedAtMillis(issuedAtMillis(claims))
+				.build();
+		verifiedTokens.put(digest, response);
+		return response;
+	}
+
+	private boolean isRevoked(IntrospectionResponseDTO response) {
+		try {
+			return tokenRevocationService.isRevoked(Long.parseLong(response.getSub()),
+					response.getIssuedAtMillis() == null ? Long.MIN_VALUE : response.getIssuedAtMillis());
+		} catch (NumberFormatException ex) {
+			return false;
+		}
+	}
+
+	// tokens minted before issuedAtMillis existed count from the start of their iat second
+	private Long issuedAtMillis(Claims claims) {
+		Long issuedAtMillis = claims.get(JwtService.ISSUED_AT_MILLIS_CLAIM, Long.class);
+		if(issuedAtMillis != null) {
+			return issuedAtMillis;
+		}
+		return claims.getIssuedAt() == null ? null : claims.getIssuedAt().getTime();
+	}
+
+	private List<String> roles(Claims claims) {
+		Object roles = claims.get("roles");
+		if(roles instanceof List<?> list) {
+			return list.stream().map(String::valueOf).toList();
+		}
+		return List.of();
+	}
+
+	private String digest(String jwtToken) {
+		byte[] hash = sha256.get().digest(jwtToken.getBytes(StandardCharsets.US_ASCII));
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+	}
+}
@@ -0,0 +1,221 @@
+package com.neec.service;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neec.dto.RevocationDeltaDTO;
+import com.neec.dto.RevocationEntryDTO;
+import com.neec.entity.TokenRevocation;
+import com.neec.repository.TokenRevocationRepository;
+import com.neec.util.BloomFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Revokes every token of a subject issued before a point in time, for logout and suspension. Both the
+ * revocation and the tokens' issue times are kept to the millisecond, so a token issued right after a logout,
+ * within the same second, is not caught by it.
+ * <p>
+ * Entries are kept in memory as subject to issued-before, fronted by a Bloom filter so the common case,
+ * a subject with no revocation, is answered without touching the map. They are persisted in
+ * TOKEN_REVOCATION, which other instances and external validators poll for deltas by creation time.
+ * Rows are stamped with their transaction's start on the database clock, and each poll resumes from the
+ * start of the oldest transaction open when the previous poll began, as {@link EmailExistenceFilter} does,
+ * so a revocation committing late is still picked up.
+ * An entry is dropped once every token it covers, access or refresh, would have expired anyway.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+	private static final OffsetDateTime BEGINNING = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+	private static final long EXPIRY_MARGIN_SECONDS = 60;
+
+	@Value("${jwt.token.expire.duration.minutes}")
+	private long jwtTokenExpireDurationInMinutes;
+
+	@Value("${jwt.refresh.token.expire.duration.minutes}")
+	private long refreshTokenExpireDurationInMinutes;
+
+	@Value("${token.revocation.bloom.expected.entries}")
+	private long bloomExpectedEntries;
+
+	@Value("${token.revocation.bloom.false.positive.probability}")
+	private double bloomFalsePositiveProbability;
+
+	private TokenRevocationRepository tokenRevocationRepository;
+	private TransactionTemplate transactionTemplate;
+	private JdbcTemplate jdbcTemplate;
+	private MeterRegistry meterRegistry;
+	private final Map<Long, Revocation> revocations = new ConcurrentHashMap<>();
+	// writers only; readers go through the volatile filter reference and the concurrent map
+	private final ReentrantLock writeLock = new ReentrantLock();
+	private volatile BloomFilter bloomFilter;
+	private volatile OffsetDateTime syncedUpTo = BEGINNING;
+	private Counter revokedCounter;
+
+	public TokenRevocationService(TokenRevocationRepository tokenRevocationRepository,
+			TransactionTemplate transactionTemplate, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+		this.tokenRevocationRepository = tokenRevocationRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.jdbcTemplate = jdbcTemplate;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@PostConstruct
+	public void init() {
+		this.bloomFilter = new BloomFilter(bloomExpectedEntries, bloomFalsePositiveProbability);
+		Gauge.builder("token.revocation.entries", revocations, Map::size)
+			.description("Subjects with an active token revocation")
+			.register(meterRegistry);
+		this.revokedCounter = Counter.builder("token.revocation.revoked")
+				.description("Token revocations recorded by this instance")
+				.register(meterRegistry);
+		sync();
+	}
+
+	/**
+	 * Revokes every access and refresh token of the subject issued up to now.
+	 */
+	@Transactional
+	public void revokeAllTokens(long subject) {
+		TokenRevocation revocation = revocation(subject);
+		tokenRevocationRepository.save(revocation);
+		apply(revocation);
+		revokedCounter.increment();
+	}
+
+	/**
+	 * As {@link #revokeAllTokens(long)} for many subjects, written as one JDBC batch.
+	 */
+	@Transactional
+	public void revokeAllTokens(Collection<Long> subjects) {
+		List<TokenRevocation> revocations = subjects.stream().map(this::revocation).toList();
+		tokenRevocationRepository.saveAll(revocations);
+		revocations.forEach(this::apply);
+		revokedCounter.increment(revocations.size());
+	}
+
+	private TokenRevocation revocation(long subject) {
+		OffsetDateTime revokedBefore = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS);
+		long lifetimeMinutes = Math.max(jwtTokenExpireDurationInMinutes, refreshTokenExpireDurationInMinutes);
+		return TokenRevocation.builder()
+				.subject(subject)
+				.revokedBefore(revokedBefore)
+				.expiresAt(revokedBefore.plusMinutes(lifetimeMinutes).plusSeconds(EXPIRY_MARGIN_SECONDS))
+				.build();
+	}
+
+	private void apply(TokenRevocation revocation) {
+		apply(revocation.getSubject(), revocation.getRevokedBefore().toInstant().toEpochMilli(),
+				revocation.getExpiresAt().toEpochSecond());
+	}
+
+	/**
+	 * @param issuedAtEpochMillis the token's issue time; tokens issued at or after the revocation stay valid
+	 */
+	public boolean isRevoked(long subject, long issuedAtEpochMillis) {
+		if(!bloomFilter.mightContain(subject)) {
+			return false;
+		}
+		Revocation revocation = revocations.get(subject);
+		return revocation != null && issuedAtEpochMillis < revocation.revokedBeforeEpochMillis()
+				&& revocation.expiresAtEpochSeconds() > Instant.now().getEpochSecond();
+	}
+
+	/**
+	 * Revocations created at or after {@code sinceEpochMillis}. The returned cursor is the start of the
+	 * oldest transaction open before the rows were read, so rows still uncommitted now are returned by the
+	 * next pull. Entries are idempotent, so a validator simply applies everything it receives, some of it
+	 * more than once, and passes the returned cursor on its next pull; 0 returns the full list.
+	 */
+	@Transactional(readOnly = true)
+	public RevocationDeltaDTO delta(long sinceEpochMillis) {
+		OffsetDateTime since = OffsetDateTime.ofInstant(Instant.ofEpochMilli(sinceEpochMillis), ZoneOffset.UTC);
+		// read before the rows, so a transaction committing in between is seen by one or the other
+		OffsetDateTime next = oldestOpenTransactionStart();
+		List<TokenRevocation> rows = tokenRevocationRepository.findByCreatedAtGreaterThanEqualAndExpiresAtAfterOrderByCreatedAt(
+				since, OffsetDateTime.now(ZoneOffset.UTC));
+		return RevocationDeltaDTO.builder()
+				.cursor(next.toInstant().toEpochMilli())
+				.revocations(rows.stream().map(row -> RevocationEntryDTO.builder()
+						.sub(row.getSubject())
+						.revokedBefore(row.getRevokedBefore().toEpochSecond())
+						.revokedBeforeMillis(row.getRevokedBefore().toInstant().toEpochMilli())
+						.expiresAt(row.getExpiresAt().toEpochSecond())
+						.build()).toList())
+				.build();
+	}
+
+	/**
+	 * Pulls revocations recorded by other instances and drops expired entries.
+	 */
+	@Scheduled(fixedDelayString = "${token.revocation.poll.interval.millis}",
+			initialDelayString = "${token.revocation.poll.interval.millis}")
+	public void sync() {
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		OffsetDateTime since = syncedUpTo;
+		transactionTemplate.executeWithoutResult(status -> {
+			OffsetDateTime next = oldestOpenTransactionStart();
+			for(TokenRevocation row : tokenRevocationRepository
+					.findByCreatedAtGreaterThanEqualAndExpiresAtAfterOrderByCreatedAt(since, now)) {
+				apply(row.getSubject(), row.getRevokedBefore().toInstant().toEpochMilli(), row.getExpiresAt().toEpochSecond());
+			}
+			this.syncedUpTo = next;
+		});
+		purgeExpired(now.toEpochSecond());
+		tokenRevocationRepository.deleteExpired(now);
+	}
+
+	private OffsetDateTime oldestOpenTransactionStart() {
+		return jdbcTemplate.queryForObject(EmailExistenceFilter.OLDEST_OPEN_TRANSACTION_START, OffsetDateTime.class);
+	}
+
+	private void apply(long subject, long revokedBeforeEpochMillis, long expiresAtEpochSeconds) {
+		writeLock.lock();
+		try {
+			revocations.merge(subject, new Revocation(revokedBeforeEpochMillis, expiresAtEpochSeconds),
+					(current, update) -> update.revokedBeforeEpochMillis() > current.revokedBeforeEpochMillis()
+							? update : current);
+			bloomFilter.put(subject);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	// Bloom filters cannot forget, so after expiring entries a fresh filter is built and swapped in whole
+	private void purgeExpired(long nowEpochSeconds) {
+		writeLock.lock();
+		try {
+			if(!revocations.values().removeIf(revocation -> revocation.expiresAtEpochSeconds() <= nowEpochSeconds)) {
+				return;
+			}
+			BloomFilter rebuilt = new BloomFilter(Math.max(bloomExpectedEntries, 2L * revocations.size()),
+					bloomFalsePositiveProbability);
+			revocations.keySet().forEach(rebuilt::put);
+			this.bloomFilter = rebuilt;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	private record Revocation(long revokedBeforeEpochMillis, long expiresAtEpochSeconds) {
+	}
+}
@@ -0,0 +1,77 @@
+package com.neec.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over 64-bit keys. Safe for concurrent use without locking: bits are only
+ * ever set, with a CAS per word, so a reader never sees a false negative for a completed put.
+ * It cannot remove keys; callers rebuild a new filter when entries expire.
+ */
+public final class BloomFilter {
+	private final AtomicLongArray words;
+	private final long bitCount;
+	private final int hashCount;
+
+	public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+		if(falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+			throw new IllegalArgumentException("falsePositiveProbability must be in (0, 1)");
+		}
+		long insertions = Math.max(1, expectedInsertions);
+		long bits = (long) Math.ceil(-insertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+		int wordCount = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (bits + 63) >>> 6));
+		this.words = new AtomicLongArray(wordCount);
+		this.bitCount = (long) wordCount << 6;
+		this.hashCount = Math.max(1, (int) Math.round((double) bitCount / insertions * Math.log(2)));
+	}
+
+	public void put(long key) {
+		long hash1 = mix(key);
+		long hash2 = mix(hash1 ^ key) | 1;
+		for(int index = 0; index < hashCount; index++) {
+			long bit = Math.floorMod(hash1 + index * hash2, bitCount);
+			int word = (int) (bit >>> 6);
+			long mask = 1L << bit;
+			long current = words.get(word);
+			while((current & mask) == 0 && !words.weakCompareAndSetVolatile(word, current, current | mask)) {
+				current = words.get(word);
+			}
+		}
+	}
+
+	public boolean mightContain(long key) {
+		long hash1 = mix(key);
+		long hash2 = mix(hash1 ^ key) | 1;
+		for(int index = 0; index < hashCount; index++) {
+			long bit = Math.floorMod(hash1 + index * hash2, bitCount);
+			if((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public long bitSize() {
+		return bitCount;
+	}
+
+	public int hashCount() {
+		return hashCount;
+	}
+
+	/**
+	 * The false-positive probability expected once {@code insertions} distinct keys have been put.
+	 */
+	public double expectedFalsePositiveProbability(long insertions) {
+		return Math.pow(1 - Math.exp(-(double) hashCount * insertions / bitCount), hashCount);
+	}
+
+	// murmur3 fmix64 finaliser
+	private static long mix(long value) {
+		value ^= value >>> 33;
+		value *= 0xff51afd7ed558ccdL;
+		value ^= value >>> 33;
+		value *= 0xc4ceb9fe1a85ec53L;
+		value ^= value >>> 33;
+		return value;
+	}
+}
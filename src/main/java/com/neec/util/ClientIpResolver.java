@@ -0,0 +1,67 @@
+package com.neec.util;
+
+import java.util.List;
+
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+/**
+ * The client IP of a request that may have passed through reverse proxies. X-Forwarded-For is only read
+ * when the peer itself is a trusted proxy, and then from the right: each trusted proxy appends the address
+ * it received the request from, so the first untrusted entry is the client and anything to its left is
+ * whatever the client chose to send. With no trusted proxies the peer address is the client, whatever the
+ * headers say.
+ * <p>
+ * Applied here rather than through server.forward-headers-strategy, so the servlet filter and the WebFlux
+ * controller resolve clients alike; Netty's forwarded-header support trusts every peer.
+ */
+public final class ClientIpResolver {
+	private final List<IpAddressMatcher> trustedProxies;
+
+	/**
+	 * @param trustedProxies addresses or CIDR ranges, such as 10.0.0.0/8
+	 */
+	public ClientIpResolver(List<String> trustedProxies) {
+		this.trustedProxies = trustedProxies.stream()
+				.map(String::trim)
+				.filter(proxy -> !proxy.isEmpty())
+				.map(IpAddressMatcher::new)
+				.toList();
+	}
+
+	/**
+	 * @param forwardedFor every X-Forwarded-For header in order, since a proxy may add its own line rather
+	 * than append to the client's
+	 */
+	public String resolve(String remoteAddress, List<String> forwardedFor) {
+		if(forwardedFor.isEmpty() || !isTrustedProxy(remoteAddress)) {
+			return remoteAddress;
+		}
+		String[] hops = String.join(",", forwardedFor).split(",");
+		String client = remoteAddress;
+		for(int hop = hops.length - 1; hop >= 0; hop--) {
+			String address = hops[hop].trim();
+			if(address.isEmpty()) {
+				continue;
+			}
+			client = address;
+			if(!isTrustedProxy(address)) {
+				break;
+			}
+		}
+		return client;
+	}
+
+	private boolean isTrustedProxy(String address) {
+		for(IpAddressMatcher trustedProxy : trustedProxies) {
+			try {
+				if(trustedProxy.matches(address)) {
+					return true;
+				}
+			} catch (IllegalArgumentException ex) {
+				// not an IP address, so not a proxy we know
+				return false;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,20 @@
+package com.neec.util;
+
+import java.util.Locale;
+
+/**
+ * The canonical form of an email address, used for every USER_LOGIN lookup and for uniqueness:
+ * trimmed and lower-cased. Provider-specific rules such as dropping dots or plus tags are deliberately
+ * not applied, since they would merge mailboxes that are distinct on most providers.
+ * <p>
+ * Must stay in step with {@code lower(trim(EMAIL_ADDRESS))} in db/sql-ALTER.sql, which backfilled
+ * existing rows; registration only accepts ASCII addresses, for which both agree.
+ */
+public final class EmailNormalizer {
+	private EmailNormalizer() {
+	}
+
+	public static String canonical(String emailAddress) {
+		return emailAddress.trim().toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,62 @@
+package com.neec.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Keyed token-bucket limiter using the generic cell rate algorithm: each key holds one theoretical arrival
+ * time, advanced with a CAS, so checks never lock. Up to {@code burst} requests pass at once, then one per
+ * emission interval. Keys live in a bounded Caffeine cache and are dropped once idle long enough to have
+ * refilled, which loses nothing.
+ */
+public final class GcraRateLimiter {
+	private final long emissionIntervalNanos;
+	private final long burstToleranceNanos;
+	private final LongSupplier nanoClock;
+	private final Cache<String, AtomicLong> arrivals;
+
+	public GcraRateLimiter(int burst, long emissionIntervalMillis, long maximumKeys) {
+		this(burst, emissionIntervalMillis, maximumKeys, System::nanoTime);
+	}
+
+	GcraRateLimiter(int burst, long emissionIntervalMillis, long maximumKeys, LongSupplier nanoClock) {
+		if(burst < 1 || emissionIntervalMillis < 1) {
+			throw new IllegalArgumentException("burst and emissionIntervalMillis must be positive");
+		}
+		this.emissionIntervalNanos = TimeUnit.MILLISECONDS.toNanos(emissionIntervalMillis);
+		this.burstToleranceNanos = emissionIntervalNanos * burst;
+		this.nanoClock = nanoClock;
+		this.arrivals = Caffeine.newBuilder()
+				.maximumSize(maximumKeys)
+				.expireAfterAccess(burstToleranceNanos, TimeUnit.NANOSECONDS)
+				.ticker(nanoClock::getAsLong)
+				.build();
+	}
+
+	/**
+	 * @return 0 when the request may proceed, otherwise the nanoseconds until it would
+	 */
+	public long tryAcquire(String key) {
+		long now = nanoClock.getAsLong();
+		AtomicLong arrival = arrivals.get(key, absent -> new AtomicLong(now));
+		while(true) {
+			long theoreticalArrival = arrival.get();
+			long next = Math.max(theoreticalArrival, now) + emissionIntervalNanos;
+			long wait = next - now - burstToleranceNanos;
+			if(wait > 0) {
+				return wait;
+			}
+			if(arrival.compareAndSet(theoreticalArrival, next)) {
+				return 0;
+			}
+		}
+	}
+
+	public long estimatedKeys() {
+		return arrivals.estimatedSize();
+	}
+}
@@ -0,0 +1,19 @@
+package com.neec.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Ids from a database sequence through Hibernate's pooled optimizer, reserving a block of
+ * {@value PooledSequenceGenerator#ALLOCATION_SIZE_SETTING} ids per nextval, so inserts can be batched.
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledSequence {
+	String sequenceName();
+}
@@ -0,0 +1,37 @@
+package com.neec.util;
+
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * A {@link SequenceStyleGenerator} whose allocation size is read from the Hibernate settings rather than
+ * fixed in the mapping. The sequence must be altered to INCREMENT BY the same size; Hibernate refuses to
+ * start when the two differ.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+	public static final String ALLOCATION_SIZE_SETTING = "id.sequence.allocation.size";
+	static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+	private String sequenceName;
+
+	public PooledSequenceGenerator(PooledSequence config) {
+		this.sequenceName = config.sequenceName();
+	}
+
+	@Override
+	public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+		int allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+				.getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+		parameters.setProperty(SEQUENCE_PARAM, sequenceName);
+		parameters.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+		parameters.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED.getExternalName());
+		super.configure(type, parameters, serviceRegistry);
+	}
+}
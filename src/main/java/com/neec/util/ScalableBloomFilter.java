@@ -0,0 +1,102 @@
+package com.neec.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bloom filter over 64-bit keys that grows instead of degrading. When the newest layer reaches its
+ * capacity a layer twice the size is added, with half the false-positive probability, so the overall
+ * rate stays under the configured bound however many keys arrive. Safe for concurrent use.
+ */
+public final class ScalableBloomFilter {
+	private static final int GROWTH_FACTOR = 2;
+	private static final double TIGHTENING_RATIO = 0.5;
+
+	// a lock rather than a monitor: callers may be virtual threads, and allocating a large layer under
+	// synchronized would pin their carriers while others wait
+	private final ReentrantLock growLock = new ReentrantLock();
+	private volatile Layer[] layers;
+
+	public ScalableBloomFilter(long initialCapacity, double falsePositiveProbability) {
+		if(falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+			throw new IllegalArgumentException("falsePositiveProbability must be in (0, 1)");
+		}
+		this.layers = new Layer[] { new Layer(Math.max(1, initialCapacity),
+				falsePositiveProbability * (1 - TIGHTENING_RATIO)) };
+	}
+
+	public void put(long key) {
+		if(mightContain(key)) {
+			return;
+		}
+		Layer layer = layers[layers.length - 1];
+		if(layer.size.get() >= layer.capacity) {
+			layer = grow(layer);
+		}
+		layer.filter.put(key);
+		layer.size.incrementAndGet();
+	}
+
+	public boolean mightContain(long key) {
+		for(Layer layer : layers) {
+			if(layer.filter.mightContain(key)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public long size() {
+		return Arrays.stream(layers).mapToLong(layer -> layer.size.get()).sum();
+	}
+
+	public long bitSize() {
+		return Arrays.stream(layers).mapToLong(layer -> layer.filter.bitSize()).sum();
+	}
+
+	public int layerCount() {
+		return layers.length;
+	}
+
+	/**
+	 * The false-positive probability expected for the keys put so far, across all layers.
+	 */
+	public double expectedFalsePositiveProbability() {
+		double allNegative = 1;
+		for(Layer layer : layers) {
+			allNegative *= 1 - layer.filter.expectedFalsePositiveProbability(layer.size.get());
+		}
+		return 1 - allNegative;
+	}
+
+	private Layer grow(Layer full) {
+		growLock.lock();
+		try {
+			Layer newest = layers[layers.length - 1];
+			if(newest != full) {
+				return newest;
+			}
+			Layer next = new Layer(full.capacity * GROWTH_FACTOR, full.falsePositiveProbability * TIGHTENING_RATIO);
+			Layer[] grown = Arrays.copyOf(layers, layers.length + 1);
+			grown[grown.length - 1] = next;
+			this.layers = grown;
+			return next;
+		} finally {
+			growLock.unlock();
+		}
+	}
+
+	private static final class Layer {
+		private final BloomFilter filter;
+		private final long capacity;
+		private final double falsePositiveProbability;
+		private final AtomicLong size = new AtomicLong();
+
+		private Layer(long capacity, double falsePositiveProbability) {
+			this.filter = new BloomFilter(capacity, falsePositiveProbability);
+			this.capacity = capacity;
+			this.falsePositiveProbability = falsePositiveProbability;
+		}
+	}
+}
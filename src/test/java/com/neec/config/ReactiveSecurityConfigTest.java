@@ -0,0 +1,135 @@
+package com.neec.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.codec.CodecsAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.WebFluxAutoConfiguration;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neec.controller.AuthenticationController;
+import com.neec.controller.ReactiveAuthenticationController;
+import com.neec.dto.LoginResponseDTO;
+import com.neec.exception.GlobalExceptionHandler;
+import com.neec.exception.UserNotFoundException;
+import com.neec.repository.ReactiveUserLoginRepository;
+import com.neec.service.AuthenticationService;
+import com.neec.service.LoginRateLimiter;
+import com.neec.service.ReactiveAuthenticationService;
+import com.neec.util.ClientIpResolver;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ReactiveSecurityConfigTest {
+	private static final String LOGIN_BODY = "{\"emailAddress\":\"john@gmail.com\",\"password\":\"P@$$w0rd1\"}";
+
+	private static final String[] RATE_LIMIT_PROPERTIES = { "login.rate.limit.ip.burst=10",
+			"login.rate.limit.ip.refill.millis=60000",
+			"login.rate.limit.email.burst=1",
+			"login.rate.limit.email.refill.millis=60000",
+			"login.rate.limit.maximum.keys=100" };
+
+	private final AuthenticationService authenticationService = mock(AuthenticationService.class);
+
+	private final ReactiveWebApplicationContextRunner reactiveContextRunner = new ReactiveWebApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class, CodecsAutoConfiguration.class,
+					ValidationAutoConfiguration.class, WebFluxAutoConfiguration.class,
+					ReactiveSecurityAutoConfiguration.class))
+			.withUserConfiguration(ReactiveSecurityConfig.class, SecurityConfig.class, RateLimitConfig.class,
+					ReactiveAuthenticationController.class, AuthenticationController.class,
+					ReactiveAuthenticationService.class, GlobalExceptionHandler.class)
+			.withBean(AuthenticationService.class, () -> authenticationService)
+			.withBean(ReactiveUserLoginRepository.class, () -> mock(ReactiveUserLoginRepository.class))
+			.withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+			.withBean(LoginRateLimiter.class)
+			.withBean(ClientIpResolver.class, () -> new ClientIpResolver(List.of()))
+			.withPropertyValues(RATE_LIMIT_PROPERTIES);
+
+	@Test
+	void test_ReactiveContext_Serves_Login_Without_Servlet_Beans() {
+		when(authenticationService.login(any(), any())).thenReturn(CompletableFuture.completedFuture(
+				LoginResponseDTO.builder().jwtToken("jwt-token").refreshToken("refresh-token").build()));
+
+		reactiveContextRunner.run(context -> {
+			assertThat(context).hasNotFailed()
+				.hasSingleBean(ReactiveAuthenticationController.class)
+				.doesNotHaveBean(AuthenticationController.class)
+				.doesNotHaveBean(SecurityFilterChain.class)
+				.doesNotHaveBean(FilterRegistrationBean.class);
+			WebTestClient webTestClient = WebTestClient.bindToApplicationContext(context).build();
+
+			webTestClient.post().uri("/api/v1/auth/login").contentType(MediaType.APPLICATION_JSON).bodyValue(LOGIN_BODY)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.jwtToken").isEqualTo("jwt-token");
+			// over the per-email limit of one, answered as LoginRateLimitFilter does
+			webTestClient.post().uri("/api/v1/auth/login").contentType(MediaType.APPLICATION_JSON).bodyValue(LOGIN_BODY)
+				.exchange()
+				.expectStatus().isEqualTo(429)
+				.expectHeader().exists(HttpHeaders.RETRY_AFTER)
+				.expectBody().jsonPath("$.error").isEqualTo("Too many login attempts. Please try again later.");
+			// only the login is served here
+			webTestClient.get().uri("/api/v1/auth/revocations").exchange().expectStatus().is4xxClientError();
+		});
+	}
+
+	@Test
+	void test_ReactiveContext_Maps_Errors_Like_The_Servlet_Stack() {
+		when(authenticationService.login(any(), any()))
+			.thenReturn(CompletableFuture.failedFuture(new UserNotFoundException("invalid email or password.")));
+
+		reactiveContextRunner.run(context -> {
+			WebTestClient webTestClient = WebTestClient.bindToApplicationContext(context).build();
+
+			webTestClient.post().uri("/api/v1/auth/login").contentType(MediaType.APPLICATION_JSON).bodyValue(LOGIN_BODY)
+				.exchange()
+				.expectStatus().isUnauthorized()
+				.expectBody().jsonPath("$.error").isEqualTo("invalid email or password.");
+			webTestClient.post().uri("/api/v1/auth/login").contentType(MediaType.APPLICATION_JSON).bodyValue("{}")
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody().jsonPath("$.emailAddress").isEqualTo("Email address cannot be blank.");
+			webTestClient.post().uri("/api/v1/auth/login").contentType(MediaType.APPLICATION_JSON).bodyValue("{")
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody().jsonPath("$.Request_Body_Error").isEqualTo("Please check request body");
+		});
+	}
+
+	@Test
+	void test_ServletContext_Leaves_Out_Reactive_Beans() {
+		new WebApplicationContextRunner()
+			.withUserConfiguration(ReactiveSecurityConfig.class, RateLimitConfig.class,
+					ReactiveAuthenticationController.class, AuthenticationController.class,
+					ReactiveAuthenticationService.class)
+			.withBean(AuthenticationService.class, () -> authenticationService)
+			.withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+			.withBean(LoginRateLimiter.class)
+			.withBean(ClientIpResolver.class, () -> new ClientIpResolver(List.of()))
+			.withBean(ObjectMapper.class)
+			.withPropertyValues(RATE_LIMIT_PROPERTIES)
+			.run(context -> assertThat(context).hasNotFailed()
+				.hasSingleBean(AuthenticationController.class)
+				.hasSingleBean(FilterRegistrationBean.class)
+				.doesNotHaveBean(ReactiveAuthenticationController.class)
+				.doesNotHaveBean(ReactiveAuthenticationService.class));
+	}
+}
@@ -0,0 +1,83 @@
+package com.neec.config;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.neec.controller.TokenController;
+import com.neec.dto.IntrospectionResponseDTO;
+import com.neec.dto.RevocationDeltaDTO;
+import com.neec.service.TokenIntrospectionService;
+import com.neec.service.TokenRevocationService;
+
+import jakarta.servlet.Filter;
+
+public class ResourceServerSecurityConfigTest {
+	private static final String CLIENT_CREDENTIALS = "Basic "
+			+ Base64.getEncoder().encodeToString("resource-server:s3cret".getBytes(StandardCharsets.UTF_8));
+
+	private final TokenIntrospectionService tokenIntrospectionService = mock(TokenIntrospectionService.class);
+	private final TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+
+	private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class,
+					HttpMessageConvertersAutoConfiguration.class, WebMvcAutoConfiguration.class,
+					SecurityAutoConfiguration.class, SecurityFilterAutoConfiguration.class))
+			.withUserConfiguration(ResourceServerSecurityConfig.class, SecurityConfig.class, TokenController.class)
+			.withBean(TokenIntrospectionService.class, () -> tokenIntrospectionService)
+			.withBean(TokenRevocationService.class, () -> tokenRevocationService)
+			.withPropertyValues("resource.server.client.id=resource-server",
+					"resource.server.client.secret=s3cret",
+					"jwt.introspection.cache.maximum.size=100",
+					"jwt.token.expire.duration.minutes=10",
+					"jwt.refresh.token.expire.duration.minutes=480",
+					"token.revocation.bloom.expected.entries=1000",
+					"token.revocation.bloom.false.positive.probability=0.01");
+
+	@Test
+	void test_Introspect_And_Revocations_Require_ResourceServer_Credentials() {
+		when(tokenIntrospectionService.introspect(anyString()))
+			.thenReturn(IntrospectionResponseDTO.builder().active(false).build());
+		when(tokenRevocationService.delta(anyLong()))
+			.thenReturn(RevocationDeltaDTO.builder().cursor(0L).revocations(List.of()).build());
+
+		contextRunner.run(context -> {
+			MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context)
+					.addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+					.build();
+
+			mockMvc.perform(post("/api/v1/auth/introspect").contentType(MediaType.APPLICATION_JSON)
+					.content("{\"token\":\"jwt-token\"}"))
+				.andExpect(status().isUnauthorized());
+			mockMvc.perform(post("/api/v1/auth/introspect").contentType(MediaType.APPLICATION_JSON)
+					.content("{\"token\":\"jwt-token\"}")
+					.header(HttpHeaders.AUTHORIZATION, CLIENT_CREDENTIALS))
+				.andExpect(status().isOk());
+			mockMvc.perform(get("/api/v1/auth/revocations"))
+				.andExpect(status().isUnauthorized());
+			mockMvc.perform(get("/api/v1/auth/revocations").header(HttpHeaders.AUTHORIZATION, CLIENT_CREDENTIALS))
+				.andExpect(status().isOk());
+		});
+	}
+}
@@ -0,0 +1,99 @@
+package com.neec.config;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neec.repository.UserLoginRepository;
+import com.neec.service.CredentialCache;
+import com.neec.service.PendingAccountSweeper;
+import com.neec.service.SchedulerLeaseService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SchedulingConfigTest {
+	private final CountDownLatch sweeping = new CountDownLatch(1);
+	private final CountDownLatch syncedDuringSweep = new CountDownLatch(3);
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(TaskSchedulingAutoConfiguration.class))
+			.withUserConfiguration(SchedulingConfig.class)
+			.withPropertyValues("spring.task.scheduling.pool.size=2",
+					"scheduling.background.pool.size=2",
+					"pending.account.sweeper.interval.millis=10",
+					"pending.account.sweeper.grace.period.hours=72",
+					"pending.account.sweeper.chunk.size=1",
+					"pending.account.sweeper.throttle.millis=200",
+					"pending.account.sweeper.lease.seconds=120");
+
+	@Test
+	void test_ShortJobs_Keep_Firing_During_A_Throttled_Sweep() {
+		UserLoginRepository userLoginRepository = mock(UserLoginRepository.class);
+		// full chunks forever, so the sweep keeps pausing between them until the context closes
+		when(userLoginRepository.deleteExpiredPendingAccounts(any(), anyLong(), anyInt())).thenAnswer(invocation -> {
+			sweeping.countDown();
+			return List.of(accountKey(invocation.getArgument(1, Long.class) + 1));
+		});
+		SchedulerLeaseService schedulerLeaseService = mock(SchedulerLeaseService.class);
+		when(schedulerLeaseService.tryAcquire(eq("pending-account-sweeper"), any())).thenReturn(true);
+
+		contextRunner
+			.withBean(PendingAccountSweeper.class, () -> new PendingAccountSweeper(userLoginRepository,
+					schedulerLeaseService, mock(CredentialCache.class),
+					new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry()))
+			.withBean(SyncJob.class, () -> new SyncJob(this))
+			.run(context -> {
+				assertNull(context.getStartupFailure());
+				assertTrue(sweeping.await(5, TimeUnit.SECONDS), "Expected: the sweep started");
+				assertTrue(syncedDuringSweep.await(5, TimeUnit.SECONDS),
+						"Expected: the short job kept firing while the sweep was paused between chunks");
+			});
+	}
+
+	private static UserLoginRepository.AccountKey accountKey(long userLoginId) {
+		return new UserLoginRepository.AccountKey() {
+			@Override
+			public Long getUserLoginId() {
+				return userLoginId;
+			}
+
+			@Override
+			public String getEmailAddressCanonical() {
+				return userLoginId + "@x.com";
+			}
+		};
+	}
+
+	// stands in for the revocation and filter syncs and the login flushes
+	static class SyncJob {
+		private final SchedulingConfigTest test;
+
+		SyncJob(SchedulingConfigTest test) {
+			this.test = test;
+		}
+
+		@Scheduled(fixedDelay = 20)
+		public void sync() {
+			if(test.sweeping.getCount() == 0) {
+				test.syncedDuringSweep.countDown();
+			}
+		}
+	}
+}
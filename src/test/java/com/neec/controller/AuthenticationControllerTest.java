@@ -10,8 +10,11 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -32,7 +35,10 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.neec.config.SecurityConfig;
 import com.neec.dto.LoginRequestDTO;
+import com.neec.dto.LoginResponseDTO;
+import com.neec.dto.RefreshTokenRequestDTO;
 import com.neec.dto.RegistrationRequestDTO;
+import com.neec.exception.InvalidRefreshTokenException;
 import com.neec.exception.InvalidTokenException;
 import com.neec.exception.UserAccountSuspendedException;
 import com.neec.exception.UserAlreadyExistsException;
@@ -170,12 +176,12 @@ public class AuthenticationControllerTest {
 				.emailAddress("email.address.not.found@gmail.com")
 				.password("P@$$w0rd")
 				.build();
-		doThrow(new UserNotFoundException("invalid email or password."))
-			.when(mockAuthenticationService).login(any(LoginRequestDTO.class));
+		when(mockAuthenticationService.login(any(LoginRequestDTO.class)))
+			.thenReturn(CompletableFuture.failedFuture(new UserNotFoundException("invalid email or password.")));
 		RequestBuilder request = MockMvcRequestBuilders.post("/api/v1/auth/login")
 				.contentType(MediaType.APPLICATION_JSON)
 				.content(toJsonString(dto));
-		MvcResult result = mockMvc.perform(request)
+		MvcResult result = mockMvc.perform(asyncDispatch(mockMvc.perform(request).andReturn()))
 				.andDo(print())
 				.andReturn();
 		verify(mockAuthenticationService, times(1)).login(any(LoginRequestDTO.class));
@@ -190,12 +196,12 @@ public class AuthenticationControllerTest {
 				.emailAddress("email.address.found@gmail.com")
 				.password("invalid-password")
 				.build();
-		doThrow(new UserNotFoundException("invalid email or password."))
-			.when(mockAuthenticationService).login(any(LoginRequestDTO.class));
+		when(mockAuthenticationService.login(any(LoginRequestDTO.class)))
+			.thenReturn(CompletableFuture.failedFuture(new UserNotFoundException("invalid email or password.")));
 		RequestBuilder request = MockMvcRequestBuilders.post("/api/v1/auth/login")
 				.contentType(MediaType.APPLICATION_JSON)
 				.content(toJsonString(dto));
-		MvcResult result = mockMvc.perform(request)
+		MvcResult result = mockMvc.perform(asyncDispatch(mockMvc.perform(request).andReturn()))
 				.andDo(print())
 				.andReturn();
 		verify(mockAuthenticationService, times(1)).login(any(LoginRequestDTO.class));
@@ -210,12 +216,12 @@ public class AuthenticationControllerTest {
 				.emailAddress("email.address.found@gmail.com")
 				.password("valid-password")
 				.build();
-		doThrow(new UserAccountSuspendedException("Your account is suspended. Please contact Administrator"))
-			.when(mockAuthenticationService).login(any(LoginRequestDTO.class));
+		when(mockAuthenticationService.login(any(LoginRequestDTO.class)))
+			.thenReturn(CompletableFuture.failedFuture(new UserAccountSuspendedException("Your account is suspended. Please contact Administrator")));
 		RequestBuilder request = MockMvcRequestBuilders.post("/api/v1/auth/login")
 				.contentType(MediaType.APPLICATION_JSON)
 				.content(toJsonString(dto));
-		MvcResult result = mockMvc.perform(request)
+		MvcResult result = mockMvc.perform(asyncDispatch(mockMvc.perform(request).andReturn()))
 				.andDo(print())
 				.andReturn();
 		verify(mockAuthenticationService, times(1)).login(any(LoginRequestDTO.class));
@@ -230,12 +236,12 @@ public class AuthenticationControllerTest {
 				.emailAddress("email.address.found@gmail.com")
 				.password("valid-password")
 				.build();
-		doThrow(new UserNotVerifiedException("Your account is not verified. Please check your email."))
-			.when(mockAuthenticationService).login(any(LoginRequestDTO.class));
+		when(mockAuthenticationService.login(any(LoginRequestDTO.class)))
+			.thenReturn(CompletableFuture.failedFuture(new UserNotVerifiedException("Your account is not verified. Please check your email.")));
 		RequestBuilder request = MockMvcRequestBuilders.post("/api/v1/auth/login")
 				.contentType(MediaType.APPLICATION_JSON)
 				.content(toJsonString(dto));
-		MvcResult result = mockMvc.perform(request)
+		MvcResult result = mockMvc.perform(asyncDispatch(mockMvc.perform(request).andReturn()))
 				.andDo(print())
 				.andReturn();
 		verify(mockAuthenticationService, times(1)).login(any(LoginRequestDTO.class));
@@ -251,17 +257,35 @@ public class AuthenticationControllerTest {
 				.password("valid-password")
 				.build();
 		when(mockAuthenticationService.login(any(LoginRequestDTO.class)))
-			.thenReturn("jwt-token");
+			.thenReturn(CompletableFuture.completedFuture(
+					LoginResponseDTO.builder().jwtToken("jwt-token").refreshToken("refresh-token").build()));
 		RequestBuilder request = MockMvcRequestBuilders.post("/api/v1/auth/login")
 				.contentType(MediaType.APPLICATION_JSON)
 				.content(toJsonString(dto));
-		MvcResult result = mockMvc.perform(request)
+		MvcResult result = mockMvc.perform(asyncDispatch(mockMvc.perform(request).andReturn()))
 				.andDo(print())
 				.andReturn();
 		verify(mockAuthenticationService, times(1)).login(any(LoginRequestDTO.class));
 		assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus());
 		JsonNode jsonNode = toJsonNode(result.getResponse().getContentAsString());
 		assertEquals("jwt-token", jsonNode.get("jwtToken").asText());
+		assertEquals("refresh-token", jsonNode.get("refreshToken").asText());
+	}
+
+	@Test
+	void testRefreshToken_ReusedToken_Return_401_UNAUTHORIZED() throws Exception {
+		RefreshTokenRequestDTO dto = RefreshTokenRequestDTO.builder().refreshToken("reused-refresh-token").build();
+		doThrow(new InvalidRefreshTokenException("invalid or expired refresh token."))
+			.when(mockAuthenticationService).refreshToken("reused-refresh-token");
+		RequestBuilder request = MockMvcRequestBuilders.post("/api/v1/auth/refresh")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(toJsonString(dto));
+		MvcResult result = mockMvc.perform(request)
+				.andDo(print())
+				.andReturn();
+		assertEquals(HttpStatus.UNAUTHORIZED.value(), result.getResponse().getStatus());
+		JsonNode jsonNode = toJsonNode(result.getResponse().getContentAsString());
+		assertEquals("invalid or expired refresh token.", jsonNode.get("error").asText());
 	}
 
 	@ParameterizedTest
@@ -334,6 +358,10 @@ public class AuthenticationControllerTest {
 		return objectMapper.writeValueAsString(dto);
 	}
 
+	private String toJsonString(RefreshTokenRequestDTO dto) throws JsonProcessingException {
+		return objectMapper.writeValueAsString(dto);
+	}
+
 	private JsonNode toJsonNode(String jsonString) throws JsonMappingException, JsonProcessingException {
 		return objectMapper.readTree(jsonString);
 	}
@@ -0,0 +1,63 @@
+package com.neec.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import com.neec.dto.LoginRequestDTO;
+import com.neec.service.LoginRateLimiter;
+import com.neec.service.ReactiveAuthenticationService;
+import com.neec.util.ClientIpResolver;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveAuthenticationControllerTest {
+	@Mock
+	private ReactiveAuthenticationService mockReactiveAuthenticationService;
+	@Mock
+	private LoginRateLimiter mockLoginRateLimiter;
+	private LoginRequestDTO loginRequestDTO = LoginRequestDTO.builder()
+			.emailAddress("john@gmail.com").password("P@$$w0rd1").build();
+
+	@Test
+	void test_login_Behind_TrustedProxy_Limits_Forwarded_Client() {
+		ReactiveAuthenticationController controller = new ReactiveAuthenticationController(
+				mockReactiveAuthenticationService, mockLoginRateLimiter, new ClientIpResolver(List.of("10.0.0.0/8")));
+		when(mockLoginRateLimiter.checkClientIp("203.0.113.7")).thenReturn(3L);
+
+		ResponseEntity<?> response = controller.login(loginRequestDTO, MockServerHttpRequest.post("/api/v1/auth/login")
+				.remoteAddress(new InetSocketAddress("10.0.0.2", 51000))
+				.header("X-Forwarded-For", "1.1.1.1, 203.0.113.7")
+				.build()).block();
+
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+		assertEquals("3", response.getHeaders().getFirst("Retry-After"));
+		verify(mockLoginRateLimiter, never()).checkEmailAddress("john@gmail.com");
+	}
+
+	@Test
+	void test_login_ForwardedFor_From_UntrustedPeer_Is_Ignored() {
+		ReactiveAuthenticationController controller = new ReactiveAuthenticationController(
+				mockReactiveAuthenticationService, mockLoginRateLimiter, new ClientIpResolver(List.of()));
+		when(mockLoginRateLimiter.checkClientIp("198.51.100.9")).thenReturn(3L);
+
+		ResponseEntity<?> response = controller.login(loginRequestDTO, MockServerHttpRequest.post("/api/v1/auth/login")
+				.remoteAddress(new InetSocketAddress("198.51.100.9", 51000))
+				.header("X-Forwarded-For", "203.0.113.7")
+				.build()).block();
+
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+		verify(mockLoginRateLimiter, never()).checkClientIp("203.0.113.7");
+	}
+}
@@ -0,0 +1,76 @@
+package com.neec.dto;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.neec.enums.EnumUserAccountStatus;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+public class AccountStatusChangeRequestDTOTest {
+	private Validator validator;
+
+	@BeforeEach
+	void setup() {
+		validator = Validation.buildDefaultValidatorFactory().getValidator();
+	}
+
+	@Test
+	void test_selection_List_Or_Filter_Valid() {
+		assertFalse(hasViolation(AccountStatusChangeRequestDTO.builder()
+				.status(EnumUserAccountStatus.SUSPENDED)
+				.emailAddresses(List.of("john@x.com"))
+				.build(), "selectionValid"));
+		assertFalse(hasViolation(AccountStatusChangeRequestDTO.builder()
+				.status(EnumUserAccountStatus.ACTIVE)
+				.currentStatus(EnumUserAccountStatus.SUSPENDED)
+				.build(), "selectionValid"));
+	}
+
+	@Test
+	void test_selection_Neither_Both_Or_NoOp_Filter_Invalid() {
+		assertTrue(hasViolation(AccountStatusChangeRequestDTO.builder()
+				.status(EnumUserAccountStatus.SUSPENDED)
+				.build(), "selectionValid"), "Expected: an empty selection would change every account");
+		assertTrue(hasViolation(AccountStatusChangeRequestDTO.builder()
+				.status(EnumUserAccountStatus.SUSPENDED)
+				.emailAddresses(List.of("john@x.com"))
+				.currentStatus(EnumUserAccountStatus.ACTIVE)
+				.build(), "selectionValid"));
+		assertTrue(hasViolation(AccountStatusChangeRequestDTO.builder()
+				.status(EnumUserAccountStatus.SUSPENDED)
+				.currentStatus(EnumUserAccountStatus.SUSPENDED)
+				.build(), "selectionValid"));
+	}
+
+	@Test
+	void test_status_PendingVerification_Invalid() {
+		assertTrue(hasViolation(AccountStatusChangeRequestDTO.builder()
+				.status(EnumUserAccountStatus.PENDING_VERIFICATION)
+				.emailAddresses(List.of("john@x.com"))
+				.build(), "statusAssignable"));
+	}
+
+	@Test
+	void test_transition_Pending_To_Active_Invalid_Pending_To_Suspended_Valid() {
+		assertTrue(hasViolation(AccountStatusChangeRequestDTO.builder()
+				.status(EnumUserAccountStatus.ACTIVE)
+				.currentStatus(EnumUserAccountStatus.PENDING_VERIFICATION)
+				.build(), "transitionAllowed"), "Expected: reactivation must not skip email verification");
+		assertFalse(hasViolation(AccountStatusChangeRequestDTO.builder()
+				.status(EnumUserAccountStatus.SUSPENDED)
+				.currentStatus(EnumUserAccountStatus.PENDING_VERIFICATION)
+				.build(), "transitionAllowed"));
+	}
+
+	private boolean hasViolation(AccountStatusChangeRequestDTO dto, String property) {
+		return validator.validate(dto).stream()
+				.anyMatch(violation -> violation.getPropertyPath().toString().equals(property));
+	}
+}
@@ -0,0 +1,77 @@
+package com.neec.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.neec.dto.IntrospectionResponseDTO;
+import com.neec.service.TokenIntrospectionService;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtBearerAuthenticationFilterTest {
+	@Mock
+	private TokenIntrospectionService mockTokenIntrospectionService;
+	private MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/admin/registrations/import");
+	private MockHttpServletResponse response = new MockHttpServletResponse();
+	private MockFilterChain filterChain = new MockFilterChain();
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void test_doFilter_ActiveToken_Authenticates_With_Role_Authorities() throws Exception {
+		request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer admin-token");
+		when(mockTokenIntrospectionService.introspect("admin-token")).thenReturn(IntrospectionResponseDTO.builder()
+				.active(true).sub("7").roles(List.of("ADMIN")).build());
+
+		new JwtBearerAuthenticationFilter(mockTokenIntrospectionService).doFilter(request, response, filterChain);
+
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		assertNotNull(authentication);
+		assertEquals("7", authentication.getName());
+		assertEquals(List.of("ROLE_ADMIN"),
+				authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+		assertNotNull(filterChain.getRequest());
+	}
+
+	@Test
+	void test_doFilter_InactiveToken_Leaves_Request_Anonymous() throws Exception {
+		request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer revoked-token");
+		when(mockTokenIntrospectionService.introspect("revoked-token"))
+			.thenReturn(IntrospectionResponseDTO.builder().active(false).build());
+
+		new JwtBearerAuthenticationFilter(mockTokenIntrospectionService).doFilter(request, response, filterChain);
+
+		assertNull(SecurityContextHolder.getContext().getAuthentication());
+		assertNotNull(filterChain.getRequest());
+	}
+
+	@Test
+	void test_doFilter_NoBearerHeader_Skips_Introspection() throws Exception {
+		new JwtBearerAuthenticationFilter(mockTokenIntrospectionService).doFilter(request, response, filterChain);
+
+		verify(mockTokenIntrospectionService, never()).introspect(anyString());
+		assertNull(SecurityContextHolder.getContext().getAuthentication());
+	}
+}
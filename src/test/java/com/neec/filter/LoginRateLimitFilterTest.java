@@ -0,0 +1,162 @@
+package com.neec.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neec.service.LoginRateLimiter;
+import com.neec.util.ClientIpResolver;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+@ExtendWith(MockitoExtension.class)
+public class LoginRateLimitFilterTest {
+	@Mock
+	private LoginRateLimiter mockLoginRateLimiter;
+	private LoginRateLimitFilter loginRateLimitFilter;
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response = new MockHttpServletResponse();
+	private MockFilterChain filterChain = new MockFilterChain();
+
+	@BeforeEach
+	void setUp() {
+		loginRateLimitFilter = new LoginRateLimitFilter(mockLoginRateLimiter,
+				new ClientIpResolver(List.of("192.168.0.0/16")), new ObjectMapper());
+		request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+		request.setRemoteAddr("10.0.0.1");
+		request.setContent("{\"emailAddress\":\"John@x.com\",\"password\":\"P@$$w0rd\"}".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void test_doFilter_WithinLimits_Passes_Body_Through() throws Exception {
+		when(mockLoginRateLimiter.checkClientIp("10.0.0.1")).thenReturn(0L);
+		when(mockLoginRateLimiter.checkEmailAddress("John@x.com")).thenReturn(0L);
+
+		loginRateLimitFilter.doFilter(request, response, filterChain);
+
+		assertEquals(HttpStatus.OK.value(), response.getStatus());
+		String forwardedBody = new String(filterChain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+		assertEquals("{\"emailAddress\":\"John@x.com\",\"password\":\"P@$$w0rd\"}", forwardedBody);
+	}
+
+	@Test
+	void test_doFilter_IpOverLimit_Returns_429_Without_Parsing() throws Exception {
+		when(mockLoginRateLimiter.checkClientIp("10.0.0.1")).thenReturn(4L);
+
+		loginRateLimitFilter.doFilter(request, response, filterChain);
+
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+		assertEquals("4", response.getHeader(HttpHeaders.RETRY_AFTER));
+		assertNull(filterChain.getRequest());
+		verify(mockLoginRateLimiter, never()).checkEmailAddress(anyString());
+	}
+
+	@Test
+	void test_doFilter_Behind_TrustedProxy_Limits_Forwarded_Client() throws Exception {
+		request.setRemoteAddr("192.168.1.5");
+		request.addHeader("X-Forwarded-For", "1.1.1.1, 203.0.113.7");
+		when(mockLoginRateLimiter.checkClientIp("203.0.113.7")).thenReturn(4L);
+
+		loginRateLimitFilter.doFilter(request, response, filterChain);
+
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+		verify(mockLoginRateLimiter, never()).checkClientIp("192.168.1.5");
+	}
+
+	@Test
+	void test_doFilter_ForwardedFor_From_UntrustedPeer_Is_Ignored() throws Exception {
+		request.addHeader("X-Forwarded-For", "203.0.113.7");
+		when(mockLoginRateLimiter.checkClientIp("10.0.0.1")).thenReturn(4L);
+
+		loginRateLimitFilter.doFilter(request, response, filterChain);
+
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+		verify(mockLoginRateLimiter, never()).checkClientIp("203.0.113.7");
+	}
+
+	@Test
+	void test_doFilter_EmailOverLimit_Returns_429() throws Exception {
+		when(mockLoginRateLimiter.checkClientIp("10.0.0.1")).thenReturn(0L);
+		when(mockLoginRateLimiter.checkEmailAddress("John@x.com")).thenReturn(12L);
+
+		loginRateLimitFilter.doFilter(request, response, filterChain);
+
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+		assertEquals("12", response.getHeader(HttpHeaders.RETRY_AFTER));
+		assertNull(filterChain.getRequest());
+	}
+
+	@Test
+	void test_doFilter_MalformedBody_Passes_Through_For_Validation() throws Exception {
+		request.setContent("not json".getBytes(StandardCharsets.UTF_8));
+		when(mockLoginRateLimiter.checkClientIp("10.0.0.1")).thenReturn(0L);
+
+		loginRateLimitFilter.doFilter(request, response, filterChain);
+
+		verify(mockLoginRateLimiter, never()).checkEmailAddress(anyString());
+		assertEquals(HttpStatus.OK.value(), response.getStatus());
+	}
+
+	@Test
+	void test_doFilter_EmailAddress_Over_254_Chars_Is_Not_A_Limiter_Key() throws Exception {
+		String emailAddress = "a".repeat(LoginRateLimitFilter.MAX_EMAIL_ADDRESS_CHARS) + "@x.com";
+		request.setContent(("{\"emailAddress\":\"" + emailAddress + "\",\"password\":\"P@$$w0rd\"}")
+				.getBytes(StandardCharsets.UTF_8));
+		when(mockLoginRateLimiter.checkClientIp("10.0.0.1")).thenReturn(0L);
+
+		loginRateLimitFilter.doFilter(request, response, filterChain);
+
+		verify(mockLoginRateLimiter, never()).checkEmailAddress(anyString());
+		assertEquals(HttpStatus.OK.value(), response.getStatus(), "Expected: left to validation");
+	}
+
+	@Test
+	void test_doFilter_ForwardedBody_Notifies_ReadListener_At_Once() throws Exception {
+		when(mockLoginRateLimiter.checkClientIp("10.0.0.1")).thenReturn(0L);
+		when(mockLoginRateLimiter.checkEmailAddress("John@x.com")).thenReturn(0L);
+		loginRateLimitFilter.doFilter(request, response, filterChain);
+		ServletInputStream forwarded = filterChain.getRequest().getInputStream();
+		ReadListener readListener = mock(ReadListener.class);
+
+		forwarded.setReadListener(readListener);
+
+		InOrder inOrder = inOrder(readListener);
+		inOrder.verify(readListener).onDataAvailable();
+		inOrder.verify(readListener).onAllDataRead();
+		assertTrue(forwarded.isReady());
+	}
+
+	@Test
+	void test_doFilter_OversizedBody_Returns_400() throws Exception {
+		request.setContent(new byte[LoginRateLimitFilter.MAX_BODY_BYTES + 1]);
+		when(mockLoginRateLimiter.checkClientIp("10.0.0.1")).thenReturn(0L);
+
+		loginRateLimitFilter.doFilter(request, response, filterChain);
+
+		assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatus());
+		assertNull(filterChain.getRequest());
+	}
+}
@@ -0,0 +1,70 @@
+package com.neec.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class ResourceServerAuthenticationFilterTest {
+	private MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/auth/revocations");
+	private MockHttpServletResponse response = new MockHttpServletResponse();
+	private MockFilterChain filterChain = new MockFilterChain();
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void test_doFilter_ClientCredentials_Authenticates_As_ResourceServer() throws Exception {
+		request.addHeader(HttpHeaders.AUTHORIZATION, basic("resource-server:s3cret"));
+
+		new ResourceServerAuthenticationFilter("resource-server", "s3cret").doFilter(request, response, filterChain);
+
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		assertNotNull(authentication);
+		assertEquals("resource-server", authentication.getName());
+		assertEquals(List.of("ROLE_RESOURCE_SERVER"),
+				authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+		assertNotNull(filterChain.getRequest());
+	}
+
+	@Test
+	void test_doFilter_WrongSecret_Or_Malformed_Header_Leaves_Request_Anonymous() throws Exception {
+		for(String authorization : List.of(basic("resource-server:wrong"), basic("other:s3cret"),
+				basic("resource-server"), "Basic not base64!", "Bearer s3cret")) {
+			request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+			new ResourceServerAuthenticationFilter("resource-server", "s3cret")
+				.doFilter(request, response, new MockFilterChain());
+			assertNull(SecurityContextHolder.getContext().getAuthentication(), "Expected: anonymous for " + authorization);
+			request.removeHeader(HttpHeaders.AUTHORIZATION);
+		}
+	}
+
+	@Test
+	void test_doFilter_EmptyConfiguredSecret_Authenticates_Nobody() throws Exception {
+		request.addHeader(HttpHeaders.AUTHORIZATION, basic("resource-server:"));
+
+		new ResourceServerAuthenticationFilter("resource-server", "").doFilter(request, response, filterChain);
+
+		assertNull(SecurityContextHolder.getContext().getAuthentication());
+		assertNotNull(filterChain.getRequest());
+	}
+
+	private String basic(String credentials) {
+		return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,72 @@
+package com.neec.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.neec.dto.RegistrationRequestDTO;
+import com.neec.exception.UserAlreadyExistsException;
+import com.neec.repository.UserLoginRepository;
+import com.neec.service.AuthenticationService;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class UserRegistrationConcurrencyTest {
+	private static final int THREADS = 32;
+
+	@Autowired
+	private AuthenticationService authenticationService;
+	@Autowired
+	private UserLoginRepository userLoginRepository;
+
+	@Test
+	void test_registerUser_SameEmailFromManyThreads_Exactly_One_Registered() throws Exception {
+		String emailAddress = "concurrent." + UUID.randomUUID() + "@gmail.com";
+		RegistrationRequestDTO dto = RegistrationRequestDTO.builder()
+				.emailAddress(emailAddress)
+				.password("P@$$w0rd")
+				.build();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<Boolean>> results = new ArrayList<>();
+		try {
+			for(int i = 0; i < THREADS; i++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					try {
+						authenticationService.registerUser(dto);
+						return true;
+					} catch (UserAlreadyExistsException ex) {
+						return false;
+					}
+				}));
+			}
+			start.countDown();
+			int registered = 0;
+			for(Future<Boolean> result : results) {
+				// any other exception, such as a DataIntegrityViolationException, fails the test here
+				if(result.get(30, TimeUnit.SECONDS)) {
+					registered++;
+				}
+			}
+			assertEquals(1, registered, "Expected: exactly one registration must win");
+			assertTrue(userLoginRepository.findByEmailAddressCanonical(emailAddress).isPresent());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -1,10 +1,12 @@
 package com.neec.repository;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,7 +15,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
+import com.neec.dto.UserCredentialDTO;
 import com.neec.entity.UserLogin;
 import com.neec.enums.EnumRole;
 import com.neec.enums.EnumUserAccountStatus;
@@ -23,9 +27,11 @@ import com.neec.enums.EnumUserAccountStatus;
 public class UserLoginRepositoryTest {
 	@Autowired
 	private UserLoginRepository userLoginRepository;
+	@Autowired
+	private TestEntityManager entityManager;
 
 	@Test
-	void test_findByEmailAddress_Returns_User_When_EmailExists() {
+	void test_findByEmailAddressCanonical_Returns_User_When_EmailExists() {
 		String strUID = UUID.randomUUID().toString();
 		UserLogin newUser = UserLogin.builder()
 				.emailAddress("test@gmail.com")
@@ -36,7 +42,7 @@ public class UserLoginRepositoryTest {
 				.role(EnumRole.APPLICANT)
 				.build();
 		userLoginRepository.save(newUser);
-		Optional<UserLogin> optUser = userLoginRepository.findByEmailAddress("test@gmail.com");
+		Optional<UserLogin> optUser = userLoginRepository.findByEmailAddressCanonical("test@gmail.com");
 		assertTrue(optUser.isPresent(), "Expected: Record must be fetched for existing email");
 		UserLogin user = optUser.get();
 		assertEquals("test@gmail.com", user.getEmailAddress());
@@ -45,9 +51,42 @@ public class UserLoginRepositoryTest {
 	}
 
 	@Test
-	void test_findByEmailAddress_Returns_Nothing_When_EmailNotExists() {
+	void test_findByEmailAddressCanonical_MixedCaseEmail_Stored_Canonical() {
+		UserLogin newUser = UserLogin.builder()
+				.emailAddress("John.Doe@Gmail.com")
+				.hashedPassword("hashed_password")
+				.accountStatus(EnumUserAccountStatus.PENDING_VERIFICATION)
+				.role(EnumRole.APPLICANT)
+				.build();
+		userLoginRepository.save(newUser);
+		Optional<UserLogin> optUser = userLoginRepository.findByEmailAddressCanonical("john.doe@gmail.com");
+		assertTrue(optUser.isPresent(), "Expected: Record must be fetched by its canonical email");
+		assertEquals("John.Doe@Gmail.com", optUser.get().getEmailAddress(), "Expected: email kept as entered");
+	}
+
+	@Test
+	void test_findCredentialByEmailAddressCanonical_Returns_LoginColumns() {
+		UserLogin newUser = UserLogin.builder()
+				.emailAddress("test@gmail.com")
+				.hashedPassword("hashed_password")
+				.accountStatus(EnumUserAccountStatus.ACTIVE)
+				.role(EnumRole.APPLICANT)
+				.build();
+		long userLoginId = userLoginRepository.save(newUser).getUserLoginId();
+		Optional<UserCredentialDTO> optCredential = userLoginRepository.findCredentialByEmailAddressCanonical("test@gmail.com");
+		assertTrue(optCredential.isPresent());
+		UserCredentialDTO credential = optCredential.get();
+		assertEquals(userLoginId, credential.getUserLoginId());
+		assertEquals("test@gmail.com", credential.getEmailAddress());
+		assertEquals("hashed_password", credential.getHashedPassword());
+		assertEquals(EnumUserAccountStatus.ACTIVE, credential.getAccountStatus());
+		assertEquals(EnumRole.APPLICANT, credential.getRole());
+	}
+
+	@Test
+	void test_findByEmailAddressCanonical_Returns_Nothing_When_EmailNotExists() {
 		// when this test starts, database is empty meaning there is no record
-		Optional<UserLogin> optUser = userLoginRepository.findByEmailAddress("test@gmail.com");
+		Optional<UserLogin> optUser = userLoginRepository.findByEmailAddressCanonical("test@gmail.com");
 		assertTrue(optUser.isEmpty());
 	}
 
@@ -73,4 +112,139 @@ public class UserLoginRepositoryTest {
 		assertTrue(optUser.isPresent());
 		assertTrue(optUser.get().getVerificationToken().equals(strUID));
 	}
+
+	@Test
+	void test_verifyByToken_ValidToken_Activates_And_Returns_Canonical_Email() {
+		String strUID = UUID.randomUUID().toString();
+		userLoginRepository.saveAndFlush(pendingUser("Test@Gmail.com", strUID, OffsetDateTime.now(ZoneOffset.UTC).plusHours(24)));
+		UserLoginRepository.VerificationOutcome outcome =
+				userLoginRepository.verifyByToken(strUID, OffsetDateTime.now(ZoneOffset.UTC));
+		assertEquals("test@gmail.com", outcome.getEmailAddressCanonical());
+		assertEquals(Boolean.FALSE, outcome.getExpired());
+		assertTrue(userLoginRepository.findByVerificationToken(strUID).isEmpty(), "Expected: token must be consumed");
+	}
+
+	@Test
+	void test_verifyByToken_ExpiredToken_Reports_Expired() {
+		String strUID = UUID.randomUUID().toString();
+		userLoginRepository.saveAndFlush(pendingUser("test@gmail.com", strUID, OffsetDateTime.now(ZoneOffset.UTC).minusHours(1)));
+		UserLoginRepository.VerificationOutcome outcome =
+				userLoginRepository.verifyByToken(strUID, OffsetDateTime.now(ZoneOffset.UTC));
+		assertNull(outcome.getEmailAddressCanonical());
+		assertEquals(Boolean.TRUE, outcome.getExpired());
+	}
+
+	@Test
+	void test_verifyByToken_UnknownToken_Reports_Nothing() {
+		UserLoginRepository.VerificationOutcome outcome =
+				userLoginRepository.verifyByToken("non-existing-token", OffsetDateTime.now(ZoneOffset.UTC));
+		assertNull(outcome.getEmailAddressCanonical());
+		assertNull(outcome.getExpired());
+	}
+
+	@Test
+	void test_verifyByToken_SuspendedPendingAccount_Stays_Suspended() {
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		String strUID = UUID.randomUUID().toString();
+		userLoginRepository.saveAndFlush(pendingUser("suspended@gmail.com", strUID, now.plusHours(24)));
+		userLoginRepository.updateStatusByEmailAddressCanonicals(List.of("suspended@gmail.com"),
+				List.of(EnumUserAccountStatus.ACTIVE.name(), EnumUserAccountStatus.PENDING_VERIFICATION.name()),
+				EnumUserAccountStatus.SUSPENDED.name(), now);
+
+		userLoginRepository.verifyByToken(strUID, now);
+		entityManager.clear();
+
+		UserLogin user = userLoginRepository.findByEmailAddressCanonical("suspended@gmail.com").get();
+		assertEquals(EnumUserAccountStatus.SUSPENDED, user.getAccountStatus(), "Expected: verification must not lift a suspension");
+		assertNull(user.getVerificationToken(), "Expected: token must be consumed");
+
+		userLoginRepository.updateStatusByEmailAddressCanonicals(List.of("suspended@gmail.com"),
+				List.of(EnumUserAccountStatus.SUSPENDED.name()), EnumUserAccountStatus.ACTIVE.name(), now);
+		entityManager.clear();
+		assertEquals(EnumUserAccountStatus.ACTIVE,
+				userLoginRepository.findByEmailAddressCanonical("suspended@gmail.com").get().getAccountStatus(),
+				"Expected: a verified address is reactivated straight to ACTIVE");
+	}
+
+	@Test
+	void test_deleteExpiredPendingAccounts_Deletes_Only_Expired_Pending() {
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		long expiredId = userLoginRepository.saveAndFlush(
+				pendingUser("expired@gmail.com", UUID.randomUUID().toString(), now.minusDays(5))).getUserLoginId();
+		userLoginRepository.saveAndFlush(pendingUser("fresh@gmail.com", UUID.randomUUID().toString(), now.plusHours(1)));
+		List<UserLoginRepository.AccountKey> deleted =
+				userLoginRepository.deleteExpiredPendingAccounts(now.minusDays(3), 0, 100);
+		assertEquals(1, deleted.size());
+		assertEquals(expiredId, deleted.get(0).getUserLoginId());
+		assertEquals("expired@gmail.com", deleted.get(0).getEmailAddressCanonical());
+		assertTrue(userLoginRepository.findByEmailAddressCanonical("fresh@gmail.com").isPresent());
+	}
+
+	@Test
+	void test_updateStatusByEmailAddressCanonicals_Skips_Accounts_Already_In_Status() {
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		long pendingId = userLoginRepository.saveAndFlush(
+				pendingUser("cheater@gmail.com", UUID.randomUUID().toString(), now.plusHours(1))).getUserLoginId();
+		UserLogin suspended = pendingUser("suspended@gmail.com", UUID.randomUUID().toString(), now.plusHours(1));
+		suspended.setAccountStatus(EnumUserAccountStatus.SUSPENDED);
+		userLoginRepository.saveAndFlush(suspended);
+		List<UserLoginRepository.AccountKey> updated = userLoginRepository.updateStatusByEmailAddressCanonicals(
+				List.of("cheater@gmail.com", "suspended@gmail.com", "unknown@gmail.com"),
+				List.of(EnumUserAccountStatus.ACTIVE.name(), EnumUserAccountStatus.PENDING_VERIFICATION.name()),
+				EnumUserAccountStatus.SUSPENDED.name(), now);
+		assertEquals(1, updated.size());
+		assertEquals(pendingId, updated.get(0).getUserLoginId());
+	}
+
+	@Test
+	void test_updateStatusByFilter_Pages_By_Id() {
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		long firstId = userLoginRepository.saveAndFlush(
+				pendingUser("first@gmail.com", UUID.randomUUID().toString(), now.plusHours(1))).getUserLoginId();
+		long secondId = userLoginRepository.saveAndFlush(
+				pendingUser("second@gmail.com", UUID.randomUUID().toString(), now.plusHours(1))).getUserLoginId();
+		List<String> fromStatuses =
+				List.of(EnumUserAccountStatus.ACTIVE.name(), EnumUserAccountStatus.PENDING_VERIFICATION.name());
+		List<UserLoginRepository.AccountKey> firstChunk = userLoginRepository.updateStatusByFilter(
+				EnumUserAccountStatus.PENDING_VERIFICATION.name(), fromStatuses, now.minusDays(1), now.plusDays(1), 0, 1,
+				EnumUserAccountStatus.SUSPENDED.name(), now);
+		List<UserLoginRepository.AccountKey> secondChunk = userLoginRepository.updateStatusByFilter(
+				EnumUserAccountStatus.PENDING_VERIFICATION.name(), fromStatuses, now.minusDays(1), now.plusDays(1), firstId, 1,
+				EnumUserAccountStatus.SUSPENDED.name(), now);
+		assertEquals(firstId, firstChunk.get(0).getUserLoginId());
+		assertEquals(1, firstChunk.size());
+		assertEquals(secondId, secondChunk.get(0).getUserLoginId());
+	}
+
+	@Test
+	void test_updateStatusByEmailAddressCanonicals_Reactivation_Never_Skips_Verification() {
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		userLoginRepository.saveAndFlush(pendingUser("pending@gmail.com", UUID.randomUUID().toString(), now.plusHours(1)));
+		userLoginRepository.saveAndFlush(pendingUser("unverified@gmail.com", UUID.randomUUID().toString(), now.plusHours(1)));
+		userLoginRepository.updateStatusByEmailAddressCanonicals(List.of("unverified@gmail.com"),
+				List.of(EnumUserAccountStatus.ACTIVE.name(), EnumUserAccountStatus.PENDING_VERIFICATION.name()),
+				EnumUserAccountStatus.SUSPENDED.name(), now);
+
+		List<UserLoginRepository.AccountKey> reactivated = userLoginRepository.updateStatusByEmailAddressCanonicals(
+				List.of("pending@gmail.com", "unverified@gmail.com"), List.of(EnumUserAccountStatus.SUSPENDED.name()), EnumUserAccountStatus.ACTIVE.name(), now);
+		entityManager.clear();
+
+		assertEquals(1, reactivated.size(), "Expected: a pending account is not reactivated");
+		assertEquals(EnumUserAccountStatus.PENDING_VERIFICATION,
+				userLoginRepository.findByEmailAddressCanonical("pending@gmail.com").get().getAccountStatus());
+		assertEquals(EnumUserAccountStatus.PENDING_VERIFICATION,
+				userLoginRepository.findByEmailAddressCanonical("unverified@gmail.com").get().getAccountStatus(),
+				"Expected: a suspended account that never verified goes back to verification");
+	}
+
+	private static UserLogin pendingUser(String emailAddress, String verificationToken, OffsetDateTime expiresAt) {
+		return UserLogin.builder()
+				.emailAddress(emailAddress)
+				.hashedPassword("hashed_password")
+				.accountStatus(EnumUserAccountStatus.PENDING_VERIFICATION)
+				.verificationToken(verificationToken)
+				.verificationTokenExpiresAt(expiresAt)
+				.role(EnumRole.APPLICANT)
+				.build();
+	}
 }
@@ -0,0 +1,151 @@
+package com.neec.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neec.dto.AccountStatusChangeRequestDTO;
+import com.neec.dto.AccountStatusChangeResponseDTO;
+import com.neec.dto.AccountStatusChangedEventDTO;
+import com.neec.enums.EnumUserAccountStatus;
+import com.neec.repository.UserLoginRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountStatusAdminServiceTest {
+	@Mock
+	private UserLoginRepository mockUserLoginRepository;
+	@Mock
+	private TokenRevocationService mockTokenRevocationService;
+	@Mock
+	private CredentialCache mockCredentialCache;
+	@Mock
+	private OutboxService mockOutboxService;
+	private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private AccountStatusAdminService accountStatusAdminService;
+
+	@BeforeEach
+	void setUp() {
+		accountStatusAdminService = new AccountStatusAdminService(mockUserLoginRepository, mockTokenRevocationService,
+				mockCredentialCache, mockOutboxService, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+				meterRegistry);
+		ReflectionTestUtils.setField(accountStatusAdminService, "chunkSize", 2);
+		ReflectionTestUtils.setField(accountStatusAdminService, "topicExchangeName", "email_exchange");
+		ReflectionTestUtils.setField(accountStatusAdminService, "accountStatusRoutingKey", "routing.account.status");
+		accountStatusAdminService.init();
+	}
+
+	@Test
+	void test_changeStatus_Suspend_List_Updates_Chunks_And_Publishes_One_Event_Each() {
+		when(mockUserLoginRepository.updateStatusByEmailAddressCanonicals(eq(List.of("a@x.com", "b@x.com")),
+				eq(List.of("ACTIVE", "PENDING_VERIFICATION")), eq("SUSPENDED"), any()))
+			.thenReturn(List.of(accountKey(1L, "a@x.com"), accountKey(2L, "b@x.com")));
+		when(mockUserLoginRepository.updateStatusByEmailAddressCanonicals(eq(List.of("c@x.com")),
+				eq(List.of("ACTIVE", "PENDING_VERIFICATION")), eq("SUSPENDED"), any()))
+			.thenReturn(List.of(accountKey(3L, "c@x.com")));
+
+		AccountStatusChangeResponseDTO response = accountStatusAdminService.changeStatus(AccountStatusChangeRequestDTO.builder()
+				.status(EnumUserAccountStatus.SUSPENDED)
+				.emailAddresses(List.of("A@x.com ", "b@x.com", "a@x.com", "c@x.com"))
+				.reason("proctoring review")
+				.build());
+
+		assertEquals(3, response.getUpdated());
+		assertEquals(2, response.getChunks());
+		verify(mockTokenRevocationService).revokeAllTokens(List.of(1L, 2L));
+		verify(mockTokenRevocationService).revokeAllTokens(List.of(3L));
+		verify(mockCredentialCache).invalidateAll(List.of("a@x.com", "b@x.com"));
+		ArgumentCaptor<AccountStatusChangedEventDTO> events = ArgumentCaptor.forClass(AccountStatusChangedEventDTO.class);
+		verify(mockOutboxService, times(2)).enqueue(eq("email_exchange"), eq("routing.account.status"), events.capture());
+		assertEquals(List.of(1L, 2L), events.getAllValues().get(0).getUserLoginIds());
+		assertEquals("proctoring review", events.getAllValues().get(0).getReason());
+		assertEquals(3.0, meterRegistry.get("account.status.change.rows").tag("status", "SUSPENDED").counter().count());
+		assertEquals(2, meterRegistry.get("account.status.change.chunk").timer().count());
+	}
+
+	@Test
+	void test_changeStatus_Reactivate_Filter_Pages_By_Id_Without_Revoking() {
+		when(mockUserLoginRepository.updateStatusByFilter(eq("SUSPENDED"), eq(List.of("SUSPENDED")), any(), any(), eq(0L), eq(2),
+				eq("ACTIVE"), any()))
+			.thenReturn(List.of(accountKey(4L, "d@x.com"), accountKey(9L, "e@x.com")));
+		when(mockUserLoginRepository.updateStatusByFilter(eq("SUSPENDED"), eq(List.of("SUSPENDED")), any(), any(), eq(9L), eq(2),
+				eq("ACTIVE"), any()))
+			.thenReturn(List.of());
+
+		AccountStatusChangeResponseDTO response = accountStatusAdminService.changeStatus(AccountStatusChangeRequestDTO.builder()
+				.status(EnumUserAccountStatus.ACTIVE)
+				.currentStatus(EnumUserAccountStatus.SUSPENDED)
+				.build());
+
+		assertEquals(2, response.getUpdated());
+		assertEquals(1, response.getChunks());
+		verify(mockTokenRevocationService, never()).revokeAllTokens(anyCollection());
+		verify(mockCredentialCache).invalidateAll(List.of("d@x.com", "e@x.com"));
+		verify(mockOutboxService, times(1)).enqueue(anyString(), anyString(), any());
+	}
+
+	@Test
+	void test_changeStatus_NothingMatches_Publishes_Nothing() {
+		when(mockUserLoginRepository.updateStatusByFilter(anyString(), anyList(), any(), any(), anyLong(), anyInt(), anyString(), any()))
+			.thenReturn(List.of());
+
+		AccountStatusChangeResponseDTO response = accountStatusAdminService.changeStatus(AccountStatusChangeRequestDTO.builder()
+				.status(EnumUserAccountStatus.SUSPENDED)
+				.currentStatus(EnumUserAccountStatus.ACTIVE)
+				.build());
+
+		assertEquals(0, response.getUpdated());
+		verify(mockCredentialCache, never()).invalidateAll(anyCollection());
+		verify(mockOutboxService, never()).enqueue(anyString(), anyString(), any());
+	}
+
+	@Test
+	void test_changeStatus_Reactivate_Pending_Rejected_Without_Update() {
+		assertThrows(IllegalArgumentException.class, () -> accountStatusAdminService.changeStatus(
+				AccountStatusChangeRequestDTO.builder()
+					.status(EnumUserAccountStatus.ACTIVE)
+					.currentStatus(EnumUserAccountStatus.PENDING_VERIFICATION)
+					.build()));
+
+		verify(mockUserLoginRepository, never()).updateStatusByFilter(anyString(), anyList(), any(), any(), anyLong(),
+				anyInt(), anyString(), any());
+	}
+
+	private static UserLoginRepository.AccountKey accountKey(long userLoginId, String emailAddressCanonical) {
+		return new UserLoginRepository.AccountKey() {
+			@Override
+			public Long getUserLoginId() {
+				return userLoginId;
+			}
+
+			@Override
+			public String getEmailAddressCanonical() {
+				return emailAddressCanonical;
+			}
+		};
+	}
+}
@@ -1,14 +1,18 @@
 package com.neec.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -18,23 +22,36 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 import org.aopalliance.intercept.Invocation;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.neec.dto.LoginRequestDTO;
+import com.neec.dto.LoginResponseDTO;
 import com.neec.dto.RegistrationRequestDTO;
+import com.neec.dto.UserCredentialDTO;
 import com.neec.entity.UserLogin;
 import com.neec.enums.EnumRole;
 import com.neec.enums.EnumUserAccountStatus;
+import com.neec.exception.AccountLockedException;
+import com.neec.exception.InvalidAccessTokenException;
+import com.neec.exception.InvalidRefreshTokenException;
 import com.neec.exception.InvalidTokenException;
 import com.neec.exception.UserAccountSuspendedException;
 import com.neec.exception.UserAlreadyExistsException;
@@ -42,18 +59,48 @@ import com.neec.exception.UserNotFoundException;
 import com.neec.exception.UserNotVerifiedException;
 import com.neec.repository.UserLoginRepository;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+
 @ExtendWith(MockitoExtension.class)
 public class AuthenticationServiceImplTest {
 	@Mock
 	private UserLoginRepository mockUserLoginRepository;
 	@Mock
-	private BCryptPasswordEncoder mockBCryptPasswordEncoder;
+	private PasswordHashingService mockPasswordHashingService;
+	@Mock
+	private PasswordRehashService mockPasswordRehashService;
 	@Mock
-	private RabbitTemplate mockRabbitTemplate;
+	private OutboxService mockOutboxService;
 	@Mock
 	private JwtService mockJwtService;
+	@Mock
+	private RefreshTokenService mockRefreshTokenService;
+	@Mock
+	private TokenRevocationService mockTokenRevocationService;
+	@Mock
+	private EmailExistenceFilter mockEmailExistenceFilter;
+	@Mock
+	private CredentialCache mockCredentialCache;
+	@Mock
+	private LoginFailureTracker mockLoginFailureTracker;
+	@Mock
+	private LastLoginTracker mockLastLoginTracker;
+	private PlatformTransactionManager mockTransactionManager = mock(PlatformTransactionManager.class);
+	@Spy
+	private TransactionTemplate transactionTemplate = new TransactionTemplate(mockTransactionManager);
 	@InjectMocks
 	private AuthenticationServiceImpl authenticationServiceImpl;
+
+	@BeforeEach
+	void setUp() {
+		lenient().when(mockEmailExistenceFilter.mightExist(anyString())).thenReturn(true);
+		// read through to the repository
+		lenient().when(mockCredentialCache.getAsync(anyString(), any())).thenAnswer(invocation ->
+			invocation.<Function<String, CompletableFuture<Optional<UserCredentialDTO>>>>getArgument(1)
+				.apply(invocation.getArgument(0)));
+	}
 	
 	@Test
 	void test_registerUser_ExistingEmailAddress_Raise_UserAlreadyExistsException() {
@@ -61,14 +108,16 @@ public class AuthenticationServiceImplTest {
 				.emailAddress("existing.email.address@gmail.com")
 				.password("P@$$w0rd")
 				.build();
-		Optional<UserLogin> optMockUserLogin = Optional.of(UserLogin.builder().build());
-		when(mockUserLoginRepository.findByEmailAddress("existing.email.address@gmail.com"))
-			.thenReturn(optMockUserLogin);
+		when(mockPasswordHashingService.encode(dto.getPassword()))
+			.thenReturn("hashed-password");
+		when(mockUserLoginRepository.insertIfAbsent(eq("existing.email.address@gmail.com"), anyString(), anyString(),
+				anyString(), anyString(), anyString(), any(OffsetDateTime.class)))
+			.thenReturn(Optional.empty());
 		UserAlreadyExistsException userAlreadyExistsException =
 				assertThrows(UserAlreadyExistsException.class, 
 						() -> authenticationServiceImpl.registerUser(dto));
-		verify(mockUserLoginRepository).findByEmailAddress("existing.email.address@gmail.com");
-		verify(mockUserLoginRepository, never()).save(any(UserLogin.class));
+		verify(mockUserLoginRepository, never()).findByEmailAddressCanonical(anyString());
+		verify(mockOutboxService, never()).enqueue(anyString(), anyString(), any());
 		assertEquals("Email is already used.", userAlreadyExistsException.getMessage(), 
 				"Expected: Exception message must be: Email is already used.");
 	}
@@ -76,36 +125,53 @@ public class AuthenticationServiceImplTest {
 	@Test
 	void test_registerUser_NewEmailAddress_Save_User() {
 		RegistrationRequestDTO dto = RegistrationRequestDTO.builder()
-				.emailAddress("new.email.address@gmail.com")
+				.emailAddress(" New.Email.Address@gmail.com ")
 				.password("P@$$w0rd")
 				.build();
-		UserLogin mockSavedUser = UserLogin.builder()
-				.userLoginId(1L)
-				.emailAddress("new.email.address@gmail.com")
-				.verificationToken("7775c963-1d25-4f0b-b89d-b1b1d88cc4cb")
-				.accountStatus(EnumUserAccountStatus.ACTIVE)
-				.build();
-		when(mockUserLoginRepository.findByEmailAddress("new.email.address@gmail.com"))
-			.thenReturn(Optional.empty());
-		when(mockBCryptPasswordEncoder.encode(dto.getPassword()))
+		when(mockPasswordHashingService.encode(dto.getPassword()))
 			.thenReturn("hashed-password");
-		when(mockUserLoginRepository.save(any(UserLogin.class))).thenReturn(mockSavedUser);
+		when(mockUserLoginRepository.insertIfAbsent(anyString(), anyString(), anyString(), anyString(), anyString(),
+				anyString(), any(OffsetDateTime.class)))
+			.thenReturn(Optional.of(1L));
 		
 		authenticationServiceImpl.registerUser(dto);
 		
-		verify(mockUserLoginRepository).findByEmailAddress("new.email.address@gmail.com");
-		verify(mockBCryptPasswordEncoder).encode(dto.getPassword());
-		
-		ArgumentCaptor<UserLogin> userLoginCaptor = ArgumentCaptor.forClass(UserLogin.class);
-		verify(mockUserLoginRepository, times(1)).save(userLoginCaptor.capture());
-		UserLogin tobeSavedUserLogin = userLoginCaptor.getValue();
-		assertEquals("new.email.address@gmail.com", tobeSavedUserLogin.getEmailAddress(),
-				"Expected: correct email address must be set");
-		assertEquals("hashed-password", tobeSavedUserLogin.getHashedPassword(),
-				"Expected: password must be hashed");
-		assertEquals(EnumUserAccountStatus.PENDING_VERIFICATION, tobeSavedUserLogin.getAccountStatus());
-		assertNotNull(tobeSavedUserLogin.getVerificationToken(), "Expected: verification token must be set");
-		assertNotNull(tobeSavedUserLogin.getVerificationTokenExpiresAt(), "Expected: verification token expiring datetime must be set");
+		verify(mockPasswordHashingService).encode(dto.getPassword());
+		ArgumentCaptor<String> verificationTokenCaptor = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<OffsetDateTime> expiresAtCaptor = ArgumentCaptor.forClass(OffsetDateTime.class);
+		verify(mockUserLoginRepository, times(1)).insertIfAbsent(eq("New.Email.Address@gmail.com"),
+				eq("new.email.address@gmail.com"), eq("hashed-password"), eq(EnumUserAccountStatus.PENDING_VERIFICATION.name()), eq(EnumRole.APPLICANT.name()),
+				verificationTokenCaptor.capture(), expiresAtCaptor.capture());
+		verify(mockUserLoginRepository, never()).findByEmailAddressCanonical(anyString());
+		verify(mockUserLoginRepository, never()).save(any(UserLogin.class));
+		assertNotNull(verificationTokenCaptor.getValue(), "Expected: verification token must be set");
+		assertTrue(expiresAtCaptor.getValue().isAfter(OffsetDateTime.now(ZoneOffset.UTC).plusHours(23)),
+				"Expected: verification token expiring datetime must be set");
+	}
+
+	@Test
+	void test_registerUser_Hashes_Before_Transaction_Opens() {
+		RegistrationRequestDTO dto = RegistrationRequestDTO.builder()
+				.emailAddress("new.email.address@gmail.com")
+				.password("P@$$w0rd")
+				.build();
+		when(mockPasswordHashingService.encode(dto.getPassword()))
+			.thenReturn("hashed-password");
+		when(mockUserLoginRepository.insertIfAbsent(anyString(), anyString(), anyString(), anyString(), anyString(),
+				anyString(), any(OffsetDateTime.class)))
+			.thenReturn(Optional.of(1L));
+
+		authenticationServiceImpl.registerUser(dto);
+
+		InOrder inOrder = inOrder(mockPasswordHashingService, mockTransactionManager, mockUserLoginRepository,
+				mockOutboxService, mockEmailExistenceFilter);
+		inOrder.verify(mockPasswordHashingService).encode(dto.getPassword());
+		inOrder.verify(mockTransactionManager).getTransaction(any(TransactionDefinition.class));
+		inOrder.verify(mockUserLoginRepository).insertIfAbsent(anyString(), anyString(), anyString(), anyString(),
+				anyString(), anyString(), any(OffsetDateTime.class));
+		inOrder.verify(mockOutboxService).enqueue(any(), any(), any());
+		inOrder.verify(mockTransactionManager).commit(any());
+		inOrder.verify(mockEmailExistenceFilter).add("new.email.address@gmail.com");
 	}
 
 	@Test
@@ -117,32 +183,27 @@ public class AuthenticationServiceImplTest {
 				.emailAddress("new.email.address@gmail.com")
 				.password("P@$$w0rd")
 				.build();
-		when(mockUserLoginRepository.findByEmailAddress("new.email.address@gmail.com"))
-			.thenReturn(Optional.empty());
-		when(mockBCryptPasswordEncoder.encode(dto.getPassword()))
+		when(mockPasswordHashingService.encode(dto.getPassword()))
 			.thenReturn("hashed-password");
-		UserLogin mockSavedUser = UserLogin.builder()
-				.emailAddress("new.email.address@gmail.com")
-				.verificationToken("7775c963-1d25-4f0b-b89d-b1b1d88cc4cb")
-				.build();
-		when(mockUserLoginRepository.save(any(UserLogin.class))).thenReturn(mockSavedUser);
+		ArgumentCaptor<String> verificationTokenCaptor = ArgumentCaptor.forClass(String.class);
+		when(mockUserLoginRepository.insertIfAbsent(anyString(), anyString(), anyString(), anyString(), anyString(),
+				verificationTokenCaptor.capture(), any(OffsetDateTime.class)))
+			.thenReturn(Optional.of(1L));
 
 		authenticationServiceImpl.registerUser(dto);
 
-		verify(mockUserLoginRepository).findByEmailAddress("new.email.address@gmail.com");
-		verify(mockUserLoginRepository, times(1)).save(any(UserLogin.class));
-
 		ArgumentCaptor<String> emailExchangeNameCaptor = ArgumentCaptor.forClass(String.class);
 		ArgumentCaptor<String> routingKeyCaptor = ArgumentCaptor.forClass(String.class);
 		@SuppressWarnings("unchecked")
 		ArgumentCaptor<Map<String, String>> messageCaptor = ArgumentCaptor.forClass(Map.class);
-		verify(mockRabbitTemplate).convertAndSend(emailExchangeNameCaptor.capture(),
+		verify(mockOutboxService).enqueue(emailExchangeNameCaptor.capture(),
 				routingKeyCaptor.capture(), messageCaptor.capture());
 		assertEquals("email_exchange", emailExchangeNameCaptor.getValue(), "Expected: correct Exchange name must be set");
 		assertEquals("routing.key", routingKeyCaptor.getValue(), "Expected: correct message routing key must be set");
 		Map<String, String> messageSent = messageCaptor.getValue();
 		assertEquals("new.email.address@gmail.com", messageSent.get("email"), "Expected: correct email must be set");
-		assertEquals("7775c963-1d25-4f0b-b89d-b1b1d88cc4cb", messageSent.get("token"), "Expected: correct token be set");
+		assertEquals(verificationTokenCaptor.getValue(), messageSent.get("token"), "Expected: correct token be set");
+		verify(mockEmailExistenceFilter).add("new.email.address@gmail.com");
 	}
 
 	@Test
@@ -150,11 +211,29 @@ public class AuthenticationServiceImplTest {
 		LoginRequestDTO loginRequestDTO = LoginRequestDTO.builder()
 				.emailAddress("unavailable.email.address@gmail.com")
 				.build();
-		when(mockUserLoginRepository.findByEmailAddress("unavailable.email.address@gmail.com"))
+		when(mockUserLoginRepository.findCredentialByEmailAddressCanonical("unavailable.email.address@gmail.com"))
 			.thenReturn(Optional.empty());
-		UserNotFoundException ex = assertThrows(UserNotFoundException.class,
-				() -> authenticationServiceImpl.login(loginRequestDTO));
-		verify(mockUserLoginRepository).findByEmailAddress("unavailable.email.address@gmail.com");
+		when(mockPasswordHashingService.matchesNothingAsync(loginRequestDTO.getPassword()))
+			.thenReturn(CompletableFuture.completedFuture(false));
+		UserNotFoundException ex = assertLoginFails(UserNotFoundException.class, authenticationServiceImpl.login(loginRequestDTO));
+		verify(mockUserLoginRepository).findCredentialByEmailAddressCanonical("unavailable.email.address@gmail.com");
+		verify(mockEmailExistenceFilter).recordFalsePositive();
+		verify(mockPasswordHashingService).matchesNothingAsync(loginRequestDTO.getPassword());
+		assertEquals("invalid email or password.", ex.getMessage());
+	}
+
+	@Test
+	void testLogin_EmailAddressNotInFilter_RaiseUserNotFoundException_Without_Lookup() {
+		LoginRequestDTO loginRequestDTO = LoginRequestDTO.builder()
+				.emailAddress("unavailable.email.address@gmail.com")
+				.password("P@$$w0rd")
+				.build();
+		when(mockEmailExistenceFilter.mightExist("unavailable.email.address@gmail.com")).thenReturn(false);
+		when(mockPasswordHashingService.matchesNothingAsync("P@$$w0rd")).thenReturn(CompletableFuture.completedFuture(false));
+		UserNotFoundException ex = assertLoginFails(UserNotFoundException.class, authenticationServiceImpl.login(loginRequestDTO));
+		verify(mockUserLoginRepository, never()).findCredentialByEmailAddressCanonical(anyString());
+		verify(mockPasswordHashingService).matchesNothingAsync("P@$$w0rd");
+		verify(mockLoginFailureTracker).recordFailure("unavailable.email.address@gmail.com");
 		assertEquals("invalid email or password.", ex.getMessage());
 	}
 
@@ -164,46 +243,64 @@ public class AuthenticationServiceImplTest {
 				.emailAddress("available.email.address@gmail.com")
 				.password("invalid-password")
 				.build();
-		Optional<UserLogin> optUserLogin =
+		Optional<UserCredentialDTO> optUserLogin =
 				Optional.of(
-						UserLogin.builder()
+						UserCredentialDTO.builder()
 						.hashedPassword("hashed-password")
 						.build()
 				);
-		when(mockUserLoginRepository.findByEmailAddress(any(String.class)))
+		when(mockUserLoginRepository.findCredentialByEmailAddressCanonical(any(String.class)))
 			.thenReturn(optUserLogin);
-		when(mockBCryptPasswordEncoder.matches(any(String.class), any(String.class)))
-			.thenReturn(false);
+		when(mockPasswordHashingService.matchesAsync(any(String.class), any(String.class)))
+			.thenReturn(CompletableFuture.completedFuture(false));
 		UserNotFoundException ex =
-				assertThrows(UserNotFoundException.class,
-						() -> authenticationServiceImpl.login(loginRequestDTO));
-		verify(mockUserLoginRepository).findByEmailAddress(any(String.class));
-		verify(mockBCryptPasswordEncoder).matches(any(String.class), any(String.class));
+				assertLoginFails(UserNotFoundException.class, authenticationServiceImpl.login(loginRequestDTO));
+		verify(mockUserLoginRepository).findCredentialByEmailAddressCanonical(any(String.class));
+		verify(mockPasswordHashingService).matchesAsync(any(String.class), any(String.class));
+		verify(mockPasswordRehashService, never()).rehashIfNeeded(anyLong(), anyString(), anyString(), anyString());
+		verify(mockLoginFailureTracker).recordFailure("available.email.address@gmail.com");
+		verify(mockLastLoginTracker, never()).recordLogin(anyLong());
 		assertEquals("invalid email or password.", ex.getMessage());
 	}
 
+	@Test
+	void testLogin_LockedEmailAddress_RaiseAccountLockedException_Without_Lookup_Or_Hashing() {
+		LoginRequestDTO loginRequestDTO = LoginRequestDTO.builder()
+				.emailAddress("Available.Email.Address@gmail.com")
+				.password("valid-password")
+				.build();
+		when(mockLoginFailureTracker.lockedForSeconds("available.email.address@gmail.com")).thenReturn(120L);
+		AccountLockedException ex =
+				assertLoginFails(AccountLockedException.class, authenticationServiceImpl.login(loginRequestDTO));
+		verify(mockEmailExistenceFilter, never()).mightExist(anyString());
+		verify(mockUserLoginRepository, never()).findCredentialByEmailAddressCanonical(anyString());
+		verify(mockPasswordHashingService, never()).matchesAsync(anyString(), anyString());
+		verify(mockPasswordHashingService, never()).matchesNothingAsync(anyString());
+		verify(mockLoginFailureTracker, never()).recordFailure(anyString());
+		assertEquals(120L, ex.getRetryAfterSeconds());
+	}
+
 	@Test
 	void testLogin_ValidLoginCredentials_AccountIsSuspended() {
 		LoginRequestDTO loginRequestDTO = LoginRequestDTO.builder()
 				.emailAddress("available.email.address@gmail.com")
 				.password("valid-password")
 				.build();
-		Optional<UserLogin> optUserLogin =
+		Optional<UserCredentialDTO> optUserLogin =
 				Optional.of(
-						UserLogin.builder()
+						UserCredentialDTO.builder()
 						.hashedPassword("hashed-password")
 						.accountStatus(EnumUserAccountStatus.SUSPENDED)
 						.build()
 				);
-		when(mockUserLoginRepository.findByEmailAddress(any(String.class)))
+		when(mockUserLoginRepository.findCredentialByEmailAddressCanonical(any(String.class)))
 			.thenReturn(optUserLogin);
-		when(mockBCryptPasswordEncoder.matches(any(String.class), any(String.class)))
-			.thenReturn(true);
+		when(mockPasswordHashingService.matchesAsync(any(String.class), any(String.class)))
+			.thenReturn(CompletableFuture.completedFuture(true));
 		UserAccountSuspendedException ex =
-				assertThrows(UserAccountSuspendedException.class,
-						() -> authenticationServiceImpl.login(loginRequestDTO));
-		verify(mockUserLoginRepository).findByEmailAddress(any(String.class));
-		verify(mockBCryptPasswordEncoder).matches(any(String.class), any(String.class));
+				assertLoginFails(UserAccountSuspendedException.class, authenticationServiceImpl.login(loginRequestDTO));
+		verify(mockUserLoginRepository).findCredentialByEmailAddressCanonical(any(String.class));
+		verify(mockPasswordHashingService).matchesAsync(any(String.class), any(String.class));
 		assertEquals("Your account is suspended. Please contact Administrator",
 				ex.getMessage());
 	}
@@ -214,22 +311,21 @@ public class AuthenticationServiceImplTest {
 				.emailAddress("available.email.address@gmail.com")
 				.password("valid-password")
 				.build();
-		Optional<UserLogin> optUserLogin =
+		Optional<UserCredentialDTO> optUserLogin =
 				Optional.of(
-						UserLogin.builder()
+						UserCredentialDTO.builder()
 						.hashedPassword("hashed-password")
 						.accountStatus(EnumUserAccountStatus.PENDING_VERIFICATION)
 						.build()
 				);
-		when(mockUserLoginRepository.findByEmailAddress(any(String.class)))
+		when(mockUserLoginRepository.findCredentialByEmailAddressCanonical(any(String.class)))
 			.thenReturn(optUserLogin);
-		when(mockBCryptPasswordEncoder.matches(any(String.class), any(String.class)))
-			.thenReturn(true);
+		when(mockPasswordHashingService.matchesAsync(any(String.class), any(String.class)))
+			.thenReturn(CompletableFuture.completedFuture(true));
 		UserNotVerifiedException ex =
-				assertThrows(UserNotVerifiedException.class,
-						() -> authenticationServiceImpl.login(loginRequestDTO));
-		verify(mockUserLoginRepository).findByEmailAddress(any(String.class));
-		verify(mockBCryptPasswordEncoder).matches(any(String.class), any(String.class));
+				assertLoginFails(UserNotVerifiedException.class, authenticationServiceImpl.login(loginRequestDTO));
+		verify(mockUserLoginRepository).findCredentialByEmailAddressCanonical(any(String.class));
+		verify(mockPasswordHashingService).matchesAsync(any(String.class), any(String.class));
 		assertEquals("Your account is not verified. Please check your email.",
 				ex.getMessage());
 	}
@@ -240,9 +336,9 @@ public class AuthenticationServiceImplTest {
 				.emailAddress("available.email.address@gmail.com")
 				.password("valid-password")
 				.build();
-		Optional<UserLogin> optUserLogin =
+		Optional<UserCredentialDTO> optUserLogin =
 				Optional.of(
-						UserLogin.builder()
+						UserCredentialDTO.builder()
 						.userLoginId(1L)
 						.emailAddress("available.email.address@gmail.com")
 						.hashedPassword("hashed-password")
@@ -250,16 +346,17 @@ public class AuthenticationServiceImplTest {
 						.role(EnumRole.APPLICANT)
 						.build()
 				);
-		when(mockUserLoginRepository.findByEmailAddress(any(String.class)))
+		when(mockUserLoginRepository.findCredentialByEmailAddressCanonical(any(String.class)))
 			.thenReturn(optUserLogin);
-		when(mockBCryptPasswordEncoder.matches(any(String.class), any(String.class)))
-			.thenReturn(true);
+		when(mockPasswordHashingService.matchesAsync(any(String.class), any(String.class)))
+			.thenReturn(CompletableFuture.completedFuture(true));
 		String mockJwtToken = "mock-jwt-token";
 		when(mockJwtService.generateJwtToken(anyLong(), anyString(), anyString()))
 			.thenReturn(mockJwtToken);
-		String jwtToken = authenticationServiceImpl.login(loginRequestDTO);
-		verify(mockUserLoginRepository).findByEmailAddress(any(String.class));
-		verify(mockBCryptPasswordEncoder).matches(any(String.class), any(String.class));
+		when(mockRefreshTokenService.issue(1L)).thenReturn("mock-refresh-token");
+		LoginResponseDTO loginResponseDTO = authenticationServiceImpl.login(loginRequestDTO).join();
+		verify(mockUserLoginRepository).findCredentialByEmailAddressCanonical(any(String.class));
+		verify(mockPasswordHashingService).matchesAsync(any(String.class), any(String.class));
 
 		ArgumentCaptor<Long> userIdCaptor = ArgumentCaptor.forClass(Long.class);
 		ArgumentCaptor<String> emailAddressCaptor = ArgumentCaptor.forClass(String.class);
@@ -269,57 +366,132 @@ public class AuthenticationServiceImplTest {
 		assertEquals(1L, userIdCaptor.getValue());
 		assertEquals("available.email.address@gmail.com", emailAddressCaptor.getValue());
 		assertEquals(EnumRole.APPLICANT.name(), userRoleCaptor.getValue());
-		assertEquals("mock-jwt-token", jwtToken);
+		assertEquals("mock-jwt-token", loginResponseDTO.getJwtToken());
+		assertEquals("mock-refresh-token", loginResponseDTO.getRefreshToken());
+		verify(mockPasswordRehashService).rehashIfNeeded(eq(1L), anyString(), eq("valid-password"), eq("hashed-password"));
+		verify(mockLoginFailureTracker).recordSuccess("available.email.address@gmail.com");
+		verify(mockLastLoginTracker).recordLogin(1L);
+	}
+
+	@Test
+	void testRefreshToken_ValidToken_Rotates_And_Returns_New_JwtToken() {
+		RefreshTokenService.RefreshToken token = new RefreshTokenService.RefreshToken(UUID.randomUUID(), 1L, 0, 100L, 0L);
+		when(mockRefreshTokenService.verify("refresh-token")).thenReturn(token);
+		when(mockUserLoginRepository.findById(1L)).thenReturn(Optional.of(UserLogin.builder()
+				.userLoginId(1L)
+				.emailAddress("available.email.address@gmail.com")
+				.accountStatus(EnumUserAccountStatus.ACTIVE)
+				.role(EnumRole.APPLICANT)
+				.build()));
+		when(mockRefreshTokenService.rotate(token)).thenReturn("next-refresh-token");
+		when(mockJwtService.generateJwtToken(1L, "available.email.address@gmail.com", "APPLICANT"))
+			.thenReturn("mock-jwt-token");
+		LoginResponseDTO loginResponseDTO = authenticationServiceImpl.refreshToken("refresh-token");
+		assertEquals("mock-jwt-token", loginResponseDTO.getJwtToken());
+		assertEquals("next-refresh-token", loginResponseDTO.getRefreshToken());
+		verify(mockPasswordHashingService, never()).matches(any(String.class), any(String.class));
+	}
+
+	@Test
+	void testRefreshToken_SuspendedAccount_Raise_UserAccountSuspendedException() {
+		RefreshTokenService.RefreshToken token = new RefreshTokenService.RefreshToken(UUID.randomUUID(), 1L, 0, 100L, 0L);
+		when(mockRefreshTokenService.verify("refresh-token")).thenReturn(token);
+		when(mockUserLoginRepository.findById(1L)).thenReturn(Optional.of(UserLogin.builder()
+				.userLoginId(1L)
+				.accountStatus(EnumUserAccountStatus.SUSPENDED)
+				.build()));
+		assertThrows(UserAccountSuspendedException.class, () -> authenticationServiceImpl.refreshToken("refresh-token"));
+		verify(mockRefreshTokenService, never()).rotate(any());
+		verify(mockJwtService, never()).generateJwtToken(anyLong(), anyString(), anyString());
+	}
+
+	@Test
+	void testRefreshToken_IssuedBeforeLogout_Raise_InvalidRefreshTokenException() {
+		RefreshTokenService.RefreshToken token = new RefreshTokenService.RefreshToken(UUID.randomUUID(), 1L, 2, 100L, 0L);
+		when(mockRefreshTokenService.verify("refresh-token")).thenReturn(token);
+		when(mockTokenRevocationService.isRevoked(1L, 100L)).thenReturn(true);
+		assertThrows(InvalidRefreshTokenException.class, () -> authenticationServiceImpl.refreshToken("refresh-token"));
+		verify(mockUserLoginRepository, never()).findById(anyLong());
+		verify(mockRefreshTokenService, never()).rotate(any());
+	}
+
+	@Test
+	void testLogout_ValidToken_Revokes_All_Tokens_Of_Subject() {
+		Claims claims = Jwts.claims().subject("7").build();
+		when(mockJwtService.parseToken("jwt-token")).thenReturn(claims);
+		authenticationServiceImpl.logout("jwt-token");
+		verify(mockTokenRevocationService).revokeAllTokens(7L);
+	}
+
+	@Test
+	void testLogout_InvalidToken_Raise_InvalidAccessTokenException() {
+		when(mockJwtService.parseToken("jwt-token")).thenThrow(new MalformedJwtException("malformed"));
+		assertThrows(InvalidAccessTokenException.class, () -> authenticationServiceImpl.logout("jwt-token"));
+		verify(mockTokenRevocationService, never()).revokeAllTokens(anyLong());
 	}
 
 	@Test
 	void testVerifyUserEmailAddress_NonExistingToken_Raise_InvalidTokenException() {
 		String nonExistingToken = "some-invalid-token";
-		when(mockUserLoginRepository.findByVerificationToken(nonExistingToken))
-			.thenReturn(Optional.empty());
+		when(mockUserLoginRepository.verifyByToken(eq(nonExistingToken), any(OffsetDateTime.class)))
+			.thenReturn(verificationOutcome(null, null));
 		InvalidTokenException ex =
 				assertThrows(InvalidTokenException.class,
 						() -> authenticationServiceImpl.verifyUser(nonExistingToken));
-		verify(mockUserLoginRepository).findByVerificationToken(nonExistingToken);
-		verify(mockUserLoginRepository, never()).save(any(UserLogin.class));
+		verify(mockCredentialCache, never()).invalidate(anyString());
 		assertTrue(ex.getMessage().equals("invalid or expired verification token."));
 	}
 
 	@Test
 	void testVerifyUserEmailAddress_ExistingExpiredToken_Raise_InvalidTokenException() {
 		String existingToken = "existingToken";
-		OffsetDateTime yesterdayExpirationDateTime =
-				OffsetDateTime.now(ZoneOffset.UTC).minusDays(1);
-		UserLogin userLogin = UserLogin.builder()
-				.verificationTokenExpiresAt(yesterdayExpirationDateTime)
-				.build();
-		when(mockUserLoginRepository.findByVerificationToken(existingToken))
-			.thenReturn(Optional.of(userLogin));
+		when(mockUserLoginRepository.verifyByToken(eq(existingToken), any(OffsetDateTime.class)))
+			.thenReturn(verificationOutcome(null, true));
 		InvalidTokenException ex =
 				assertThrows(InvalidTokenException.class,
 						() -> authenticationServiceImpl.verifyUser(existingToken));
-		verify(mockUserLoginRepository).findByVerificationToken(existingToken);
+		verify(mockCredentialCache, never()).invalidate(anyString());
 		assertTrue(ex.getMessage().equals("Verification token has expired."));
 	}
 
+	@Test
+	void testVerifyUserEmailAddress_TokenConsumedConcurrently_Raise_InvalidTokenException() {
+		String existingToken = "existingToken";
+		when(mockUserLoginRepository.verifyByToken(eq(existingToken), any(OffsetDateTime.class)))
+			.thenReturn(verificationOutcome(null, false));
+		InvalidTokenException ex =
+				assertThrows(InvalidTokenException.class,
+						() -> authenticationServiceImpl.verifyUser(existingToken));
+		assertTrue(ex.getMessage().equals("invalid or expired verification token."));
+	}
+
 	@Test
 	void testVerifyUserEmailAddress_ExistingActiveToken_UpdateTokenInDB() {
 		String existingToken = "existingToken";
-		OffsetDateTime tomorrowExpirationDateTime =
-				OffsetDateTime.now(ZoneOffset.UTC).plusDays(1);
-		UserLogin userLogin = UserLogin.builder()
-				.verificationTokenExpiresAt(tomorrowExpirationDateTime)
-				.build();
-		when(mockUserLoginRepository.findByVerificationToken(existingToken))
-			.thenReturn(Optional.of(userLogin));
+		when(mockUserLoginRepository.verifyByToken(eq(existingToken), any(OffsetDateTime.class)))
+			.thenReturn(verificationOutcome("new.email.address@gmail.com", false));
 		authenticationServiceImpl.verifyUser(existingToken);
-		ArgumentCaptor<UserLogin> argCaptorUserLogin =
-				ArgumentCaptor.forClass(UserLogin.class);
-		verify(mockUserLoginRepository, times(1)).save(argCaptorUserLogin.capture());
-		UserLogin captoredUserLogin = argCaptorUserLogin.getValue();
-		assertEquals(EnumUserAccountStatus.ACTIVE, captoredUserLogin.getAccountStatus());
-		assertNull(captoredUserLogin.getVerificationToken());
-		assertNull(captoredUserLogin.getVerificationTokenExpiresAt());
+		verify(mockUserLoginRepository, never()).save(any(UserLogin.class));
+		verify(mockCredentialCache).invalidate("new.email.address@gmail.com");
+	}
+
+	private static UserLoginRepository.VerificationOutcome verificationOutcome(String emailAddressCanonical,
+			Boolean expired) {
+		return new UserLoginRepository.VerificationOutcome() {
+			@Override
+			public String getEmailAddressCanonical() {
+				return emailAddressCanonical;
+			}
+
+			@Override
+			public Boolean getExpired() {
+				return expired;
+			}
+		};
+	}
 
+	private static <T extends Throwable> T assertLoginFails(Class<T> expectedType, CompletableFuture<LoginResponseDTO> login) {
+		CompletionException ex = assertThrows(CompletionException.class, login::join);
+		return assertInstanceOf(expectedType, ex.getCause());
 	}
 }
@@ -0,0 +1,161 @@
+package com.neec.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchingAmqpPublisherTest {
+	@Mock
+	private RabbitTemplate mockRabbitTemplate;
+	@Mock
+	private RabbitOperations mockRabbitOperations;
+	private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private BatchingAmqpPublisher batchingAmqpPublisher;
+
+	@BeforeEach
+	void setUp() {
+		batchingAmqpPublisher = new BatchingAmqpPublisher(mockRabbitTemplate, meterRegistry);
+		ReflectionTestUtils.setField(batchingAmqpPublisher, "batchSize", 3);
+		ReflectionTestUtils.setField(batchingAmqpPublisher, "lingerMillis", 200L);
+		ReflectionTestUtils.setField(batchingAmqpPublisher, "queueCapacity", 100);
+		ReflectionTestUtils.setField(batchingAmqpPublisher, "confirmTimeoutMillis", 1000L);
+		ReflectionTestUtils.setField(batchingAmqpPublisher, "maxAttempts", 3);
+		ReflectionTestUtils.setField(batchingAmqpPublisher, "retryBackoffMillis", 10L);
+		batchingAmqpPublisher.init();
+		when(mockRabbitTemplate.invoke(any())).thenAnswer(invocation ->
+			invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(mockRabbitOperations));
+	}
+
+	@AfterEach
+	void tearDown() {
+		batchingAmqpPublisher.shutdown();
+	}
+
+	@Test
+	void test_publish_AckedMessages_Sent_In_One_Batch() throws Exception {
+		confirmWith(attempt -> new CorrelationData.Confirm(true, null));
+
+		List<CompletableFuture<Void>> futures = List.of(
+				batchingAmqpPublisher.publish("email_exchange", "routing.key", "one"),
+				batchingAmqpPublisher.publish("email_exchange", "routing.key", "two"),
+				batchingAmqpPublisher.publish("email_exchange", "routing.key", "three"));
+		CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+		verify(mockRabbitTemplate, times(1)).invoke(any());
+		assertEquals(1, meterRegistry.get("amqp.publisher.batch.size").summary().count());
+		assertEquals(3.0, meterRegistry.get("amqp.publisher.batch.size").summary().totalAmount());
+		assertEquals(3, meterRegistry.get("amqp.publisher.latency").timer().count());
+		assertEquals(0.0, meterRegistry.get("amqp.publisher.in.flight").gauge().value());
+	}
+
+	@Test
+	void test_publish_NackedOnce_Retried_And_Confirmed() throws Exception {
+		confirmWith(attempt -> new CorrelationData.Confirm(attempt > 1, attempt > 1 ? null : "broker refused"));
+
+		batchingAmqpPublisher.publish("email_exchange", "routing.key", "one").get(5, TimeUnit.SECONDS);
+
+		verify(mockRabbitOperations, times(2)).convertAndSend(anyString(), anyString(), any(Object.class),
+				any(CorrelationData.class));
+		assertEquals(1.0, meterRegistry.get("amqp.publisher.retried").counter().count());
+		assertEquals(0.0, meterRegistry.get("amqp.publisher.failed").counter().count());
+	}
+
+	@Test
+	void test_publish_AlwaysNacked_Fails_After_MaxAttempts() {
+		confirmWith(attempt -> new CorrelationData.Confirm(false, "broker refused"));
+
+		CompletableFuture<Void> future = batchingAmqpPublisher.publish("email_exchange", "routing.key", "one");
+
+		ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(AmqpException.class, ex.getCause());
+		assertEquals("nack: broker refused", ex.getCause().getMessage());
+		verify(mockRabbitOperations, times(3)).convertAndSend(anyString(), anyString(), any(Object.class),
+				any(CorrelationData.class));
+		assertEquals(1.0, meterRegistry.get("amqp.publisher.failed").counter().count());
+		assertEquals(0.0, meterRegistry.get("amqp.publisher.in.flight").gauge().value());
+	}
+
+	@Test
+	void test_publish_ReturnedMessage_Fails_Without_Retry() {
+		doAnswer(invocation -> {
+			CorrelationData correlationData = invocation.getArgument(3);
+			correlationData.setReturned(new ReturnedMessage(new Message(new byte[0], new MessageProperties()),
+					312, "NO_ROUTE", "email_exchange", "routing.key"));
+			correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+			return null;
+		}).when(mockRabbitOperations).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+
+		CompletableFuture<Void> future = batchingAmqpPublisher.publish("email_exchange", "routing.key", "one");
+
+		ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+		assertEquals("returned: NO_ROUTE", ex.getCause().getMessage());
+		assertEquals(0.0, meterRegistry.get("amqp.publisher.retried").counter().count());
+	}
+
+	@Test
+	void test_publish_SendThrowsMidBatch_Retries_Each_Message_Once() throws Exception {
+		ReflectionTestUtils.setField(batchingAmqpPublisher, "confirmTimeoutMillis", 100L);
+		AtomicInteger sends = new AtomicInteger();
+		doAnswer(invocation -> {
+			CorrelationData correlationData = invocation.getArgument(3);
+			if(sends.incrementAndGet() == 2) {
+				throw new AmqpException("channel closed");
+			}
+			correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+			return null;
+		}).when(mockRabbitOperations).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+
+		List<CompletableFuture<Void>> futures = List.of(
+				batchingAmqpPublisher.publish("email_exchange", "routing.key", "one"),
+				batchingAmqpPublisher.publish("email_exchange", "routing.key", "two"),
+				batchingAmqpPublisher.publish("email_exchange", "routing.key", "three"));
+		CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+		// past the confirm timeout of the send that threw
+		Thread.sleep(300);
+
+		assertEquals(4, sends.get(), "Expected: the failed and the unsent message sent once more each");
+		assertEquals(2.0, meterRegistry.get("amqp.publisher.retried").counter().count());
+		assertEquals(0.0, meterRegistry.get("amqp.publisher.failed").counter().count());
+		assertEquals(0.0, meterRegistry.get("amqp.publisher.in.flight").gauge().value());
+	}
+
+	private void confirmWith(IntFunction<CorrelationData.Confirm> confirmForAttempt) {
+		AtomicInteger attempts = new AtomicInteger();
+		doAnswer(invocation -> {
+			CorrelationData correlationData = invocation.getArgument(3);
+			correlationData.getFuture().complete(confirmForAttempt.apply(attempts.incrementAndGet()));
+			return null;
+		}).when(mockRabbitOperations).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+	}
+}
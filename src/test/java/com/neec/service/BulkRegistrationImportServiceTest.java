@@ -0,0 +1,196 @@
+package com.neec.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neec.dto.BulkImportRowResultDTO;
+import com.neec.enums.EnumBulkImportRowStatus;
+import com.neec.exception.InvalidBulkImportException;
+import com.neec.service.BulkRegistrationImportService.Format;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkRegistrationImportServiceTest {
+	@Mock
+	private PasswordEncoder mockPasswordEncoder;
+	@Mock
+	private JdbcTemplate mockJdbcTemplate;
+	@Mock
+	private OutboxService mockOutboxService;
+	@Mock
+	private EmailExistenceFilter mockEmailExistenceFilter;
+	private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private BulkRegistrationImportService bulkRegistrationImportService;
+	private List<List<BulkImportRowResultDTO>> reports = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		bulkRegistrationImportService = new BulkRegistrationImportService(mockPasswordEncoder, mockJdbcTemplate,
+				new TransactionTemplate(mock(PlatformTransactionManager.class)), mockOutboxService,
+				mockEmailExistenceFilter, Validation.buildDefaultValidatorFactory().getValidator(),
+				new ObjectMapper(), meterRegistry);
+		ReflectionTestUtils.setField(bulkRegistrationImportService, "chunkSize", 2);
+		ReflectionTestUtils.setField(bulkRegistrationImportService, "hashingPoolSize", 2);
+		ReflectionTestUtils.setField(bulkRegistrationImportService, "maxLineLength", 100);
+		ReflectionTestUtils.setField(bulkRegistrationImportService, "topicExchangeName", "email_exchange");
+		ReflectionTestUtils.setField(bulkRegistrationImportService, "routingKey", "routing.verification");
+		bulkRegistrationImportService.init();
+	}
+
+	@AfterEach
+	void tearDown() {
+		bulkRegistrationImportService.shutdown();
+	}
+
+	@Test
+	void test_importRegistrations_Csv_Reports_Each_Row_Per_Chunk() throws Exception {
+		when(mockPasswordEncoder.encode(anyString())).thenReturn("hashed");
+		insertedRows(List.of("john@x.com"), List.of("mary@x.com"));
+
+		bulkRegistrationImportService.importRegistrations(input("""
+				emailAddress,password
+				John@x.com,"P@ss,w0rd"
+				not-an-email,P@$$w0rd1
+				mary@x.com,P@$$w0rd1
+				"""), Format.CSV, reports::add);
+
+		assertEquals(2, reports.size());
+		List<BulkImportRowResultDTO> rows = reports.stream().flatMap(List::stream).toList();
+		assertEquals(List.of(2L, 3L, 4L), rows.stream().map(BulkImportRowResultDTO::getLine).toList());
+		assertEquals(EnumBulkImportRowStatus.REGISTERED, rows.get(0).getStatus());
+		assertEquals("John@x.com", rows.get(0).getEmailAddress());
+		assertEquals(EnumBulkImportRowStatus.INVALID, rows.get(1).getStatus());
+		assertTrue(rows.get(1).getErrors().containsKey("emailAddress"));
+		assertEquals(EnumBulkImportRowStatus.REGISTERED, rows.get(2).getStatus());
+		verify(mockPasswordEncoder).encode("P@ss,w0rd");
+		verify(mockEmailExistenceFilter).add("john@x.com");
+		verify(mockEmailExistenceFilter).add("mary@x.com");
+		assertEquals(2, meterRegistry.get("bulk.import.rows").tag("status", "REGISTERED").counter().count());
+	}
+
+	@Test
+	void test_importRegistrations_Ndjson_Marks_Existing_And_Repeated_Addresses_Duplicate() throws Exception {
+		when(mockPasswordEncoder.encode(anyString())).thenReturn("hashed");
+		insertedRows(List.of(), List.of("new@x.com"));
+
+		bulkRegistrationImportService.importRegistrations(input("""
+				{"emailAddress":"taken@x.com","password":"P@$$w0rd1"}
+				{"emailAddress":"TAKEN@x.com","password":"P@$$w0rd1"}
+				{"emailAddress":"new@x.com","password":"P@$$w0rd1"}
+				"""), Format.NDJSON, reports::add);
+
+		List<BulkImportRowResultDTO> rows = reports.stream().flatMap(List::stream).toList();
+		assertEquals(List.of(EnumBulkImportRowStatus.DUPLICATE, EnumBulkImportRowStatus.DUPLICATE,
+				EnumBulkImportRowStatus.REGISTERED), rows.stream().map(BulkImportRowResultDTO::getStatus).toList());
+		assertNull(rows.get(0).getErrors());
+		verify(mockPasswordEncoder, times(2)).encode(anyString());
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Map<String, String>>> payloads = ArgumentCaptor.forClass(List.class);
+		verify(mockOutboxService, times(2))
+			.enqueueAll(eq("email_exchange"), eq("routing.verification"), payloads.capture());
+		assertEquals(List.of(), payloads.getAllValues().get(0));
+		assertEquals("new@x.com", payloads.getAllValues().get(1).get(0).get("email"));
+	}
+
+	@Test
+	void test_importRegistrations_InsertFails_Marks_Chunk_Failed() throws Exception {
+		when(mockPasswordEncoder.encode(anyString())).thenReturn("hashed");
+		doThrow(new QueryTimeoutException("timeout"))
+			.when(mockJdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+		bulkRegistrationImportService.importRegistrations(input("""
+				{"emailAddress":"john@x.com","password":"P@$$w0rd1"}
+				"""), Format.NDJSON, reports::add);
+
+		assertEquals(EnumBulkImportRowStatus.FAILED, reports.get(0).get(0).getStatus());
+		verify(mockOutboxService, never()).enqueueAll(anyString(), anyString(), anyList());
+		verify(mockEmailExistenceFilter, never()).add(anyString());
+	}
+
+	@Test
+	void test_importRegistrations_CsvWithoutPasswordColumn_Throws_InvalidBulkImportException() {
+		assertThrows(InvalidBulkImportException.class, () -> bulkRegistrationImportService.importRegistrations(
+				input("emailAddress,name\njohn@x.com,John\n"), Format.CSV, reports::add));
+		assertTrue(reports.isEmpty());
+	}
+
+	@Test
+	void test_importRegistrations_Reports_Overlong_Line_Invalid_And_Reads_On() throws Exception {
+		when(mockPasswordEncoder.encode(anyString())).thenReturn("hashed");
+		insertedRows(List.of("mary@x.com"));
+
+		bulkRegistrationImportService.importRegistrations(input("emailAddress,password\r\n"
+				+ "john@x.com," + "x".repeat(200) + "\r\n"
+				+ "mary@x.com,P@$$w0rd1\r\n"), Format.CSV, reports::add);
+
+		List<BulkImportRowResultDTO> rows = reports.get(0);
+		assertEquals(EnumBulkImportRowStatus.INVALID, rows.get(0).getStatus());
+		assertEquals("Line is longer than 100 characters", rows.get(0).getErrors().get("Request_Body_Error"));
+		assertEquals(3L, rows.get(1).getLine());
+		assertEquals(EnumBulkImportRowStatus.REGISTERED, rows.get(1).getStatus());
+		verify(mockPasswordEncoder).encode("P@$$w0rd1");
+	}
+
+	@Test
+	void test_splitCsvLine_Handles_Quotes_And_Empty_Fields() {
+		assertEquals(List.of("a", "b,\"c\"", ""), BulkRegistrationImportService.splitCsvLine("a,\"b,\"\"c\"\"\","));
+	}
+
+	// the n-th insert statement reports the n-th list as the canonical addresses it inserted
+	@SafeVarargs
+	private void insertedRows(List<String>... insertedPerChunk) throws Exception {
+		int[] chunk = {0};
+		doAnswer(invocation -> {
+			RowCallbackHandler handler = invocation.getArgument(1);
+			for(String emailAddressCanonical : insertedPerChunk[chunk[0]++]) {
+				ResultSet resultSet = mock(ResultSet.class);
+				when(resultSet.getString(1)).thenReturn(emailAddressCanonical);
+				handler.processRow(resultSet);
+			}
+			return null;
+		}).when(mockJdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+	}
+
+	private static ByteArrayInputStream input(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
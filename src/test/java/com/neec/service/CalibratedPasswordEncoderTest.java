@@ -0,0 +1,49 @@
+package com.neec.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public class CalibratedPasswordEncoderTest {
+	private CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(6, 1);
+
+	@Test
+	void test_encode_Prefixes_Algorithm_And_Strength() {
+		String encoded = encoder.encode("P@$$w0rd");
+		assertTrue(encoded.startsWith("{bcrypt}$2a$06$"), "Expected: algorithm id and cost stored with hash: " + encoded);
+		assertTrue(encoder.matches("P@$$w0rd", encoded));
+		assertFalse(encoder.upgradeEncoding(encoded));
+	}
+
+	@Test
+	void test_matches_Legacy_Unprefixed_Hash_Needs_Upgrade() {
+		String legacyHash = new BCryptPasswordEncoder(4).encode("P@$$w0rd");
+		assertTrue(encoder.matches("P@$$w0rd", legacyHash), "Expected: legacy hashes must keep working");
+		assertTrue(encoder.upgradeEncoding(legacyHash));
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {4, 8, 9})
+	void test_upgradeEncoding_Strength_Outside_Band(int storedStrength) {
+		String encoded = "{bcrypt}" + new BCryptPasswordEncoder(storedStrength).encode("P@$$w0rd");
+		assertTrue(encoder.upgradeEncoding(encoded), "Expected: rehash for strength " + storedStrength);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {5, 6, 7})
+	void test_upgradeEncoding_Strength_Inside_Band(int storedStrength) {
+		String encoded = "{bcrypt}" + new BCryptPasswordEncoder(storedStrength).encode("P@$$w0rd");
+		assertFalse(encoder.upgradeEncoding(encoded), "Expected: no rehash for strength " + storedStrength);
+	}
+
+	@Test
+	void test_calibrate_Never_Below_Minimum_Strength() {
+		CalibratedPasswordEncoder calibrated = CalibratedPasswordEncoder.calibrate(0, 4, 6, 1);
+		assertEquals(4, calibrated.getStrength());
+	}
+}
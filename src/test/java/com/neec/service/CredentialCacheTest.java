@@ -0,0 +1,266 @@
+package com.neec.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.neec.dto.UserCredentialDTO;
+import com.neec.enums.EnumRole;
+import com.neec.enums.EnumUserAccountStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class CredentialCacheTest {
+	@Mock
+	private DataSource mockDataSource;
+	@Mock
+	private Connection mockConnection;
+	@Mock
+	private Statement mockStatement;
+	@Mock
+	private PGConnection mockPgConnection;
+	@Mock
+	private JdbcTemplate mockJdbcTemplate;
+	private BlockingQueue<PGNotification> notifications = new LinkedBlockingQueue<>();
+	private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private CredentialCache credentialCache;
+	private AtomicInteger loads = new AtomicInteger();
+	private Function<String, Optional<UserCredentialDTO>> loader = emailAddressCanonical -> {
+		loads.incrementAndGet();
+		return Optional.of(UserCredentialDTO.builder()
+				.userLoginId(1L)
+				.emailAddress(emailAddressCanonical)
+				.hashedPassword("hashed-password")
+				.accountStatus(EnumUserAccountStatus.ACTIVE)
+				.role(EnumRole.APPLICANT)
+				.build());
+	};
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		lenient().when(mockDataSource.getConnection()).thenReturn(mockConnection);
+		lenient().when(mockConnection.createStatement()).thenReturn(mockStatement);
+		lenient().when(mockConnection.unwrap(PGConnection.class)).thenReturn(mockPgConnection);
+		lenient().when(mockPgConnection.getNotifications(anyInt())).thenAnswer(invocation -> {
+			PGNotification notification = notifications.poll(invocation.getArgument(0, Integer.class), TimeUnit.MILLISECONDS);
+			return notification == null ? null : new PGNotification[] { notification };
+		});
+		credentialCache = new CredentialCache(mockDataSource, mockJdbcTemplate, meterRegistry);
+		ReflectionTestUtils.setField(credentialCache, "maximumSize", 100L);
+		ReflectionTestUtils.setField(credentialCache, "expireAfterWriteSeconds", 300L);
+		ReflectionTestUtils.setField(credentialCache, "listenerPollMillis", 20);
+		ReflectionTestUtils.setField(credentialCache, "listenerRetryMillis", 20L);
+	}
+
+	@AfterEach
+	void tearDown() {
+		credentialCache.shutdown();
+	}
+
+	@Test
+	void test_get_Listening_Loads_Once_Then_Hits() throws Exception {
+		startListening();
+
+		credentialCache.get("john@x.com", loader);
+		Optional<UserCredentialDTO> credential = credentialCache.get("john@x.com", loader);
+
+		assertEquals(1, loads.get());
+		assertEquals("hashed-password", credential.get().getHashedPassword());
+		assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "user.credential").tag("result", "hit")
+				.functionCounter().count());
+	}
+
+	@Test
+	void test_get_NotListening_Bypasses_Cache() throws Exception {
+		when(mockDataSource.getConnection()).thenThrow(new SQLException("connection refused"));
+		credentialCache.init();
+		verify(mockDataSource, timeout(1000).atLeastOnce()).getConnection();
+
+		credentialCache.get("john@x.com", loader);
+		credentialCache.get("john@x.com", loader);
+
+		assertEquals(2, loads.get());
+		assertEquals(0.0, meterRegistry.get("user.credential.cache.listening").gauge().value());
+	}
+
+	@Test
+	void test_get_UnknownEmail_Not_Cached() throws Exception {
+		startListening();
+
+		credentialCache.get("nobody@x.com", email -> {
+			loads.incrementAndGet();
+			return Optional.empty();
+		});
+		credentialCache.get("nobody@x.com", loader);
+
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void test_get_Loads_Without_Cache_Lock_And_Invalidation_During_Load_Is_Not_Cached() throws Exception {
+		startListening();
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Optional<UserCredentialDTO>> first = CompletableFuture.supplyAsync(
+				() -> credentialCache.get("john@x.com", blockingLoader(loading, release)));
+		assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+		// would block until the load finished if the loader ran inside the cache's compute
+		CompletableFuture.runAsync(() -> credentialCache.invalidate("john@x.com")).get(1, TimeUnit.SECONDS);
+		release.countDown();
+
+		assertTrue(first.get(5, TimeUnit.SECONDS).isPresent());
+		credentialCache.get("john@x.com", loader);
+		assertEquals(2, loads.get(), "Expected: a value loaded across an invalidation is not cached");
+	}
+
+	@Test
+	void test_get_ConcurrentMisses_Load_Once() throws Exception {
+		startListening();
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Function<String, Optional<UserCredentialDTO>> blockingLoader = blockingLoader(loading, release);
+		CompletableFuture<Optional<UserCredentialDTO>> first =
+				CompletableFuture.supplyAsync(() -> credentialCache.get("john@x.com", blockingLoader));
+		assertTrue(loading.await(5, TimeUnit.SECONDS));
+		CompletableFuture<Optional<UserCredentialDTO>> second =
+				CompletableFuture.supplyAsync(() -> credentialCache.get("john@x.com", blockingLoader));
+		release.countDown();
+
+		assertTrue(first.get(5, TimeUnit.SECONDS).isPresent());
+		assertTrue(second.get(5, TimeUnit.SECONDS).isPresent());
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void test_invalidate_Evicts_And_Notifies() throws Exception {
+		startListening();
+		credentialCache.get("john@x.com", loader);
+
+		credentialCache.invalidate("john@x.com");
+		credentialCache.get("john@x.com", loader);
+
+		assertEquals(2, loads.get());
+		verify(mockJdbcTemplate).query(eq("select pg_notify(?, ?)"), any(ResultSetExtractor.class),
+				eq(CredentialCache.CHANNEL), anyString());
+	}
+
+	@Test
+	void test_notification_FromOtherInstance_Evicts_And_Records_Lag() throws Exception {
+		startListening();
+		credentialCache.get("john@x.com", loader);
+		PGNotification notification = mock(PGNotification.class);
+		when(notification.getParameter()).thenReturn(System.currentTimeMillis() + ":john@x.com");
+
+		notifications.add(notification);
+		awaitUntil(() -> meterRegistry.get("user.credential.cache.invalidations").counter().count() == 1.0);
+		credentialCache.get("john@x.com", loader);
+
+		assertEquals(2, loads.get());
+		assertEquals(1, meterRegistry.get("user.credential.cache.invalidation.lag").timer().count());
+	}
+
+	@Test
+	void test_invalidateAll_Packs_Addresses_Into_Payload_Sized_Notifications() throws Exception {
+		startListening();
+		credentialCache.get("john@x.com", loader);
+		List<String> emailAddressCanonicals = new ArrayList<>();
+		emailAddressCanonicals.add("john@x.com");
+		for(int index = 0; index < 400; index++) {
+			emailAddressCanonicals.add("candidate." + index + "@example.com");
+		}
+
+		credentialCache.invalidateAll(emailAddressCanonicals);
+		credentialCache.get("john@x.com", loader);
+
+		assertEquals(2, loads.get());
+		ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+		verify(mockJdbcTemplate, times(2)).query(eq("select pg_notify(?, ?)"), any(ResultSetExtractor.class),
+				eq(CredentialCache.CHANNEL), payloads.capture());
+		assertTrue(payloads.getAllValues().stream().allMatch(payload -> payload.length() <= CredentialCache.MAX_PAYLOAD_CHARS));
+		assertEquals(401, payloads.getAllValues().stream()
+				.mapToInt(payload -> payload.substring(payload.indexOf(':') + 1).split("\n").length).sum());
+	}
+
+	@Test
+	void test_notification_WithSeveralAddresses_Evicts_Each() throws Exception {
+		startListening();
+		credentialCache.get("john@x.com", loader);
+		credentialCache.get("mary@x.com", loader);
+		PGNotification notification = mock(PGNotification.class);
+		when(notification.getParameter()).thenReturn(System.currentTimeMillis() + ":john@x.com\nmary@x.com");
+
+		notifications.add(notification);
+		awaitUntil(() -> meterRegistry.get("user.credential.cache.invalidations").counter().count() == 1.0);
+		credentialCache.get("john@x.com", loader);
+		credentialCache.get("mary@x.com", loader);
+
+		assertEquals(4, loads.get());
+	}
+
+	private Function<String, Optional<UserCredentialDTO>> blockingLoader(CountDownLatch loading, CountDownLatch release) {
+		return emailAddressCanonical -> {
+			loading.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return loader.apply(emailAddressCanonical);
+		};
+	}
+
+	private void startListening() throws Exception {
+		credentialCache.init();
+		awaitUntil(() -> meterRegistry.get("user.credential.cache.listening").gauge().value() == 1.0);
+		verify(mockStatement).execute("LISTEN " + CredentialCache.CHANNEL);
+	}
+
+	private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while(!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "Expected: condition met within 5 seconds");
+			Thread.sleep(5);
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.neec.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neec.repository.UserLoginRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailExistenceFilterTest {
+	@Mock
+	private UserLoginRepository mockUserLoginRepository;
+	@Mock
+	private JdbcTemplate mockJdbcTemplate;
+	private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private EmailExistenceFilter emailExistenceFilter;
+	private static final OffsetDateTime STARTUP_OLDEST_OPEN = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+
+	@BeforeEach
+	void setUp() {
+		emailExistenceFilter = new EmailExistenceFilter(mockUserLoginRepository,
+				new TransactionTemplate(mock(PlatformTransactionManager.class)), mockJdbcTemplate, meterRegistry);
+		ReflectionTestUtils.setField(emailExistenceFilter, "expectedEntries", 1_000L);
+		ReflectionTestUtils.setField(emailExistenceFilter, "falsePositiveProbability", 0.001);
+		when(mockJdbcTemplate.queryForObject(anyString(), eq(OffsetDateTime.class))).thenReturn(STARTUP_OLDEST_OPEN);
+		when(mockUserLoginRepository.streamEmailAddressesCreatedFrom(any(OffsetDateTime.class)))
+			.thenReturn(Stream.of("existing.email.address@gmail.com"));
+		emailExistenceFilter.init();
+	}
+
+	@Test
+	void test_mightExist_LoadedAtStartup_Returns_True() {
+		assertTrue(emailExistenceFilter.mightExist("existing.email.address@gmail.com"));
+		assertTrue(emailExistenceFilter.mightExist(" Existing.Email.Address@gmail.com "),
+				"Expected: lookups must ignore case and surrounding spaces");
+	}
+
+	@Test
+	void test_mightExist_UnknownEmail_Returns_False_And_Counts_AvoidedLookup() {
+		assertFalse(emailExistenceFilter.mightExist("unknown.email.address@gmail.com"));
+		assertEquals(1.0, meterRegistry.get("email.filter.lookups.avoided").counter().count());
+	}
+
+	@Test
+	void test_add_RegisteredEmail_Visible_Immediately() {
+		emailExistenceFilter.add("new.email.address@gmail.com");
+		assertTrue(emailExistenceFilter.mightExist("new.email.address@gmail.com"));
+	}
+
+	@Test
+	void test_sync_EmailRegisteredElsewhere_Added() {
+		when(mockUserLoginRepository.streamEmailAddressesCreatedFrom(any(OffsetDateTime.class)))
+			.thenReturn(Stream.of("other.instance@gmail.com"));
+		emailExistenceFilter.sync();
+		assertTrue(emailExistenceFilter.mightExist("other.instance@gmail.com"));
+		assertEquals(2.0, meterRegistry.get("email.filter.entries").gauge().value());
+		assertTrue(meterRegistry.get("email.filter.memory.bytes").gauge().value() > 0);
+	}
+
+	@Test
+	void test_sync_Resumes_From_Oldest_Transaction_Open_At_Previous_Sync() {
+		// a registration that started before the startup load but committed after it
+		when(mockJdbcTemplate.queryForObject(anyString(), eq(OffsetDateTime.class)))
+			.thenReturn(STARTUP_OLDEST_OPEN.plusMinutes(1));
+		when(mockUserLoginRepository.streamEmailAddressesCreatedFrom(STARTUP_OLDEST_OPEN))
+			.thenReturn(Stream.of("late.commit@gmail.com"));
+
+		emailExistenceFilter.sync();
+		assertTrue(emailExistenceFilter.mightExist("late.commit@gmail.com"));
+
+		when(mockUserLoginRepository.streamEmailAddressesCreatedFrom(STARTUP_OLDEST_OPEN.plusMinutes(1)))
+			.thenReturn(Stream.empty());
+		emailExistenceFilter.sync();
+		verify(mockUserLoginRepository).streamEmailAddressesCreatedFrom(STARTUP_OLDEST_OPEN.plusMinutes(1));
+	}
+}
@@ -0,0 +1,65 @@
+package com.neec.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+public class HmacJwtSignerTest {
+	private static final long ISSUED_AT = 1760774400L;
+	private static final long ISSUED_AT_MILLIS = ISSUED_AT * 1000 + 123;
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"India is my country. I love my country.",
+			"India is my country. I love my country. All Indians are",
+			"India is my country. I love my country. All Indians are my brothers and sisters."})
+	void test_sign_Matches_Jjwt_For_Every_HMAC_Key_Size(String secretText) {
+		SecretKey secretKey = Keys.hmacShaKeyFor(secretText.getBytes(StandardCharsets.UTF_8));
+		HmacJwtSigner signer = new HmacJwtSigner(secretKey);
+		assertEquals(jjwtToken(secretKey, 42L, "john.doe@gmail.com", "APPLICANT"),
+				signer.sign(42L, "john.doe@gmail.com", "APPLICANT", ISSUED_AT_MILLIS, ISSUED_AT + 600));
+	}
+
+	@ParameterizedTest
+	@CsvSource(delimiter = '|', value = {
+			"1|a@b.co|APPLICANT",
+			"9223372036854775807|test.name+alias@gmail.com|ADMIN",
+			"0|quote\"back\\\\slash/@x.com|APPLICANT",
+			"7|ctrl\u0001\u001f\b\f@x.com|APPLICANT",
+			"8|jörg.müller@例え.jp|APPLICANT",
+			"9|emoji😀@x.com|APPLICANT"})
+	void test_sign_Matches_Jjwt_For_Claim_Values(long subject, String emailAddress, String role) {
+		SecretKey secretKey = Keys.hmacShaKeyFor(
+				"India is my country. I love my country.".getBytes(StandardCharsets.UTF_8));
+		HmacJwtSigner signer = new HmacJwtSigner(secretKey);
+		for(int run = 0; run < 2; run++) {
+			assertEquals(jjwtToken(secretKey, subject, emailAddress, role),
+					signer.sign(subject, emailAddress, role, ISSUED_AT_MILLIS, ISSUED_AT + 600),
+					"Expected: identical token on run " + run);
+		}
+	}
+
+	private String jjwtToken(SecretKey secretKey, long subject, String emailAddress, String role) {
+		return Jwts.builder()
+				.claim("emailAddress", emailAddress)
+				.claim("roles", List.of(role))
+				.subject(String.valueOf(subject))
+				.issuedAt(Date.from(Instant.ofEpochSecond(ISSUED_AT)))
+				.expiration(Date.from(Instant.ofEpochSecond(ISSUED_AT + 600)))
+				.claim("issuedAtMillis", ISSUED_AT_MILLIS)
+				.signWith(secretKey)
+				.compact();
+	}
+}
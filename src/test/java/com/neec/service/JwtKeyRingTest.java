@@ -0,0 +1,153 @@
+package com.neec.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.neec.entity.JwtSigningKey;
+import com.neec.enums.EnumJwtSigningAlgorithm;
+import com.neec.repository.JwtSigningKeyRepository;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtKeyRingTest {
+	private static final String SECRET_TEXT = "0123456789abcdef0123456789abcdef";
+
+	@Mock
+	private JwtSigningKeyRepository mockJwtSigningKeyRepository;
+	private List<JwtSigningKey> storedKeys = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		lenient().when(mockJwtSigningKeyRepository.save(any(JwtSigningKey.class))).thenAnswer(invocation -> {
+			storedKeys.add(invocation.getArgument(0));
+			return invocation.getArgument(0);
+		});
+		lenient().when(mockJwtSigningKeyRepository.findByExpiresAtAfterOrderByActivatesAtDesc(any(OffsetDateTime.class)))
+			.thenAnswer(invocation -> {
+				OffsetDateTime now = invocation.getArgument(0);
+				return storedKeys.stream().filter(key -> key.getExpiresAt().isAfter(now))
+						.sorted(Comparator.comparing(JwtSigningKey::getActivatesAt).reversed()).toList();
+			});
+	}
+
+	@Test
+	void test_init_HS256_DoesNot_TouchRepository() {
+		JwtKeyRing jwtKeyRing = createKeyRing(EnumJwtSigningAlgorithm.HS256, 720);
+		assertEquals("{\"keys\":[]}", jwtKeyRing.jwks().json());
+		verifyNoInteractions(mockJwtSigningKeyRepository);
+	}
+
+	@Test
+	void test_ES256_Token_Carries_Kid_And_Verifies() {
+		JwtKeyRing jwtKeyRing = createKeyRing(EnumJwtSigningAlgorithm.ES256, 720);
+		JwtService jwtService = createJwtService(jwtKeyRing, EnumJwtSigningAlgorithm.ES256);
+		String jwtToken = jwtService.generateJwtToken(42L, "john@example.com", "APPLICANT");
+
+		String header = new String(Base64.getUrlDecoder().decode(jwtToken.substring(0, jwtToken.indexOf('.'))),
+				StandardCharsets.UTF_8);
+		String kid = jwtKeyRing.currentSigningKey().kid();
+		assertEquals("{\"kid\":\"" + kid + "\",\"alg\":\"ES256\"}", header);
+		Claims claims = jwtService.parseToken(jwtToken);
+		assertEquals("42", claims.getSubject());
+		assertTrue(jwtKeyRing.jwks().json().contains("\"kid\":\"" + kid + "\""));
+	}
+
+	@Test
+	void test_EdDSA_Token_Verifies() {
+		JwtKeyRing jwtKeyRing = createKeyRing(EnumJwtSigningAlgorithm.EdDSA, 720);
+		JwtService jwtService = createJwtService(jwtKeyRing, EnumJwtSigningAlgorithm.EdDSA);
+		String jwtToken = jwtService.generateJwtToken(42L, "john@example.com", "APPLICANT");
+		assertEquals("john@example.com", jwtService.parseToken(jwtToken).get("emailAddress", String.class));
+		assertTrue(jwtKeyRing.jwks().json().contains("\"crv\":\"Ed25519\""));
+	}
+
+	@Test
+	void test_rotate_NearRetirement_Publishes_Successor_Before_Activating_It() {
+		// rotation interval of 1 hour is inside the 2 hour publish-ahead window
+		JwtKeyRing jwtKeyRing = createKeyRing(EnumJwtSigningAlgorithm.ES256, 1);
+		JwtKeyRing.SigningKey current = jwtKeyRing.currentSigningKey();
+
+		assertEquals(2, storedKeys.size());
+		JwtSigningKey successor = storedKeys.get(1);
+		assertEquals(current.retiresAt(), successor.getActivatesAt());
+		assertEquals(current.kid(), jwtKeyRing.currentSigningKey().kid());
+		assertTrue(jwtKeyRing.jwks().json().contains(successor.getKid()));
+	}
+
+	@Test
+	void test_rotate_Keeps_Retired_Key_Verifiable_Until_Its_Tokens_Expire() {
+		JwtKeyRing jwtKeyRing = createKeyRing(EnumJwtSigningAlgorithm.ES256, 720);
+		JwtService jwtService = createJwtService(jwtKeyRing, EnumJwtSigningAlgorithm.ES256);
+		String jwtToken = jwtService.generateJwtToken(42L, "john@example.com", "APPLICANT");
+		JwtSigningKey first = storedKeys.get(0);
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		first.setActivatesAt(now.minusHours(721));
+		first.setRetiresAt(now.minusMinutes(1));
+
+		jwtKeyRing.rotate();
+		assertNotEquals(first.getKid(), jwtKeyRing.currentSigningKey().kid());
+		assertEquals("42", jwtService.parseToken(jwtToken).getSubject());
+	}
+
+	@Test
+	void test_parseToken_UnknownKid_Reloads_Then_Rejects() {
+		JwtKeyRing jwtKeyRing = createKeyRing(EnumJwtSigningAlgorithm.ES256, 720);
+		JwtService jwtService = createJwtService(jwtKeyRing, EnumJwtSigningAlgorithm.ES256);
+		String jwtToken = jwtService.generateJwtToken(42L, "john@example.com", "APPLICANT");
+		storedKeys.clear();
+		jwtKeyRing.rotate();
+		assertThrows(JwtException.class, () -> jwtService.parseToken(jwtToken));
+	}
+
+	@Test
+	void test_parseToken_ES256_Accepts_Tokens_Signed_Before_Switch_From_HS256() {
+		JwtService hmacJwtService = createJwtService(null, EnumJwtSigningAlgorithm.HS256);
+		String jwtToken = hmacJwtService.generateJwtToken(42L, "john@example.com", "APPLICANT");
+		JwtService jwtService = createJwtService(createKeyRing(EnumJwtSigningAlgorithm.ES256, 720),
+				EnumJwtSigningAlgorithm.ES256);
+		assertEquals("42", jwtService.parseToken(jwtToken).getSubject());
+	}
+
+	private JwtKeyRing createKeyRing(EnumJwtSigningAlgorithm algorithm, long rotationIntervalHours) {
+		JwtKeyRing jwtKeyRing = new JwtKeyRing(mockJwtSigningKeyRepository);
+		ReflectionTestUtils.setField(jwtKeyRing, "signingAlgorithm", algorithm);
+		ReflectionTestUtils.setField(jwtKeyRing, "jwtSecretText", SECRET_TEXT);
+		ReflectionTestUtils.setField(jwtKeyRing, "jwtTokenExpireDurationInMinutes", 10L);
+		ReflectionTestUtils.setField(jwtKeyRing, "rotationIntervalHours", rotationIntervalHours);
+		ReflectionTestUtils.setField(jwtKeyRing, "publishAheadMinutes", 120L);
+		ReflectionTestUtils.setField(jwtKeyRing, "unknownKidReloadIntervalMillis", 0L);
+		jwtKeyRing.init();
+		return jwtKeyRing;
+	}
+
+	private JwtService createJwtService(JwtKeyRing jwtKeyRing, EnumJwtSigningAlgorithm algorithm) {
+		JwtService jwtService = new JwtService(jwtKeyRing);
+		ReflectionTestUtils.setField(jwtService, "jwtSecretText", SECRET_TEXT);
+		ReflectionTestUtils.setField(jwtService, "jwtTokenExpireDurationInMinutes", 10L);
+		ReflectionTestUtils.setField(jwtService, "signingAlgorithm", algorithm);
+		jwtService.init();
+		return jwtService;
+	}
+}
@@ -0,0 +1,90 @@
+package com.neec.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class LastLoginTrackerTest {
+	@Mock
+	private JdbcTemplate mockJdbcTemplate;
+	private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private AtomicLong now = new AtomicLong(1_000_000_000L);
+	private LastLoginTracker lastLoginTracker;
+
+	@BeforeEach
+	void setUp() {
+		lastLoginTracker = new LastLoginTracker(mockJdbcTemplate, meterRegistry);
+		lastLoginTracker.clock = now::get;
+		lastLoginTracker.init();
+	}
+
+	@Test
+	void test_flush_Coalesces_Repeated_Logins_Into_One_Row_Each() {
+		lastLoginTracker.recordLogin(7L);
+		now.addAndGet(1000);
+		lastLoginTracker.recordLogin(7L);
+		lastLoginTracker.recordLogin(8L);
+
+		lastLoginTracker.flush();
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+		verify(mockJdbcTemplate).batchUpdate(anyString(), rows.capture(), any(int[].class));
+		assertEquals(2, rows.getValue().size());
+		Object[] latest = rows.getValue().stream().filter(row -> row[1].equals(7L)).findFirst().orElseThrow();
+		assertEquals(new Timestamp(now.get()), latest[0]);
+		assertEquals(1.0, meterRegistry.get("login.last.coalesced").counter().count());
+		assertEquals(0.0, meterRegistry.get("login.last.pending").gauge().value());
+	}
+
+	@Test
+	void test_flush_Nothing_Pending_Writes_Nothing() {
+		lastLoginTracker.flush();
+
+		verify(mockJdbcTemplate, never()).batchUpdate(anyString(), any(List.class), any(int[].class));
+	}
+
+	@Test
+	void test_flush_Failure_Keeps_Timestamps_For_Next_Interval() {
+		lastLoginTracker.recordLogin(7L);
+		doThrow(new QueryTimeoutException("timeout"))
+			.doReturn(new int[] {1})
+			.when(mockJdbcTemplate).batchUpdate(anyString(), any(List.class), any(int[].class));
+
+		lastLoginTracker.flush();
+		assertEquals(1.0, meterRegistry.get("login.last.pending").gauge().value());
+		lastLoginTracker.flush();
+
+		verify(mockJdbcTemplate, times(2)).batchUpdate(anyString(), any(List.class), any(int[].class));
+		assertEquals(0.0, meterRegistry.get("login.last.pending").gauge().value());
+	}
+
+	@Test
+	void test_shutdown_Drains_Pending_Timestamps() {
+		lastLoginTracker.recordLogin(7L);
+
+		lastLoginTracker.shutdown();
+
+		verify(mockJdbcTemplate).batchUpdate(anyString(), any(List.class), any(int[].class));
+	}
+}
@@ -0,0 +1,183 @@
+package com.neec.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class LoginFailureTrackerTest {
+	@Mock
+	private JdbcTemplate mockJdbcTemplate;
+	private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private AtomicLong now = new AtomicLong(1_000_000_000L);
+	private LoginFailureTracker loginFailureTracker;
+
+	@BeforeEach
+	void setUp() {
+		loginFailureTracker = new LoginFailureTracker(mockJdbcTemplate, meterRegistry);
+		ReflectionTestUtils.setField(loginFailureTracker, "lockoutThreshold", 3);
+		ReflectionTestUtils.setField(loginFailureTracker, "lockoutBaseSeconds", 60L);
+		ReflectionTestUtils.setField(loginFailureTracker, "lockoutMaxSeconds", 150L);
+		ReflectionTestUtils.setField(loginFailureTracker, "resetMinutes", 30L);
+		loginFailureTracker.clock = now::get;
+		loginFailureTracker.init();
+	}
+
+	@Test
+	void test_recordFailure_Locks_At_Threshold_And_Doubles_Up_To_Max() {
+		loginFailureTracker.recordFailure("seven@gmail.com");
+		loginFailureTracker.recordFailure("seven@gmail.com");
+		assertEquals(0, loginFailureTracker.lockedForSeconds("seven@gmail.com"));
+
+		loginFailureTracker.recordFailure("seven@gmail.com");
+		assertEquals(60, loginFailureTracker.lockedForSeconds("seven@gmail.com"));
+
+		now.addAndGet(TimeUnit.SECONDS.toMillis(60));
+		loginFailureTracker.recordFailure("seven@gmail.com");
+		assertEquals(120, loginFailureTracker.lockedForSeconds("seven@gmail.com"));
+
+		now.addAndGet(TimeUnit.SECONDS.toMillis(120));
+		loginFailureTracker.recordFailure("seven@gmail.com");
+		assertEquals(150, loginFailureTracker.lockedForSeconds("seven@gmail.com"), "Expected: lock capped at the maximum");
+		assertEquals(3.0, meterRegistry.get("login.lockouts").counter().count());
+		assertEquals(3.0, meterRegistry.get("login.locked.rejected").counter().count());
+	}
+
+	@Test
+	void test_recordFailure_AfterResetWindow_Starts_Over() {
+		loginFailureTracker.recordFailure("seven@gmail.com");
+		loginFailureTracker.recordFailure("seven@gmail.com");
+		now.addAndGet(TimeUnit.MINUTES.toMillis(31));
+
+		loginFailureTracker.recordFailure("seven@gmail.com");
+
+		assertEquals(0, loginFailureTracker.lockedForSeconds("seven@gmail.com"));
+	}
+
+	@Test
+	void test_recordSuccess_Clears_Failures() {
+		loginFailureTracker.recordFailure("seven@gmail.com");
+		loginFailureTracker.recordFailure("seven@gmail.com");
+		loginFailureTracker.recordSuccess("seven@gmail.com");
+
+		loginFailureTracker.recordFailure("seven@gmail.com");
+
+		assertEquals(0, loginFailureTracker.lockedForSeconds("seven@gmail.com"));
+	}
+
+	@Test
+	void test_flush_Writes_Changed_Addresses_In_One_Batch_And_Deletes_Cleared() {
+		loginFailureTracker.recordFailure("seven@gmail.com");
+		loginFailureTracker.recordFailure("seven@gmail.com");
+		loginFailureTracker.recordFailure("eight@gmail.com");
+		loginFailureTracker.recordFailure("nine@gmail.com");
+		loginFailureTracker.recordSuccess("nine@gmail.com");
+
+		loginFailureTracker.flush();
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Object[]>> upserts = ArgumentCaptor.forClass(List.class);
+		verify(mockJdbcTemplate).batchUpdate(startsWith("insert into LOGIN_FAILURE"), upserts.capture(), any(int[].class));
+		assertEquals(2, upserts.getValue().size());
+		Object[] twice = upserts.getValue().stream().filter(row -> row[0].equals("seven@gmail.com")).findFirst().orElseThrow();
+		assertEquals(2, twice[1]);
+		assertEquals(new Timestamp(now.get()), twice[2]);
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Object[]>> deletes = ArgumentCaptor.forClass(List.class);
+		verify(mockJdbcTemplate).batchUpdate(startsWith("delete from LOGIN_FAILURE"), deletes.capture(), any(int[].class));
+		assertEquals("nine@gmail.com", deletes.getValue().get(0)[0]);
+
+		loginFailureTracker.flush();
+		verify(mockJdbcTemplate, times(2)).batchUpdate(anyString(), any(List.class), any(int[].class));
+	}
+
+	@Test
+	void test_flush_Applies_Locks_Set_Elsewhere_And_Lifts_Cleared_Ones() throws SQLException {
+		for(int failure = 0; failure < 3; failure++) {
+			loginFailureTracker.recordFailure("seven@gmail.com");
+		}
+		assertEquals(60, loginFailureTracker.lockedForSeconds("seven@gmail.com"));
+		// the table holds a lock for eight, taken on another instance, and none for seven any more
+		ResultSet resultSet = mock(ResultSet.class);
+		when(resultSet.getString("EMAIL_ADDRESS_CANONICAL")).thenReturn("eight@gmail.com");
+		when(resultSet.getInt("FAILED_LOGIN_ATTEMPTS")).thenReturn(3);
+		when(resultSet.getTimestamp("LAST_FAILED_LOGIN_AT")).thenReturn(new Timestamp(now.get()));
+		when(resultSet.getTimestamp("LOCKED_UNTIL")).thenReturn(new Timestamp(now.get() + TimeUnit.SECONDS.toMillis(90)));
+		doAnswer(invocation -> {
+			invocation.<RowCallbackHandler>getArgument(1).processRow(resultSet);
+			return null;
+		}).when(mockJdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object.class));
+
+		loginFailureTracker.flush();
+
+		assertEquals(90, loginFailureTracker.lockedForSeconds("eight@gmail.com"));
+		assertEquals(0, loginFailureTracker.lockedForSeconds("seven@gmail.com"), "Expected: lock lifted once its row was cleared");
+	}
+
+	@Test
+	void test_flush_Keeps_Lock_Taken_After_Write() {
+		doAnswer(invocation -> {
+			// the row was written before this failure, so it is not yet in the table
+			loginFailureTracker.recordFailure("eight@gmail.com");
+			loginFailureTracker.recordFailure("eight@gmail.com");
+			loginFailureTracker.recordFailure("eight@gmail.com");
+			return null;
+		}).when(mockJdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object.class));
+
+		loginFailureTracker.flush();
+
+		assertEquals(60, loginFailureTracker.lockedForSeconds("eight@gmail.com"));
+	}
+
+	@Test
+	void test_flush_Failure_Retries_Next_Interval() {
+		loginFailureTracker.recordFailure("seven@gmail.com");
+		doThrow(new QueryTimeoutException("timeout"))
+			.doReturn(new int[] {1})
+			.when(mockJdbcTemplate).batchUpdate(anyString(), any(List.class), any(int[].class));
+
+		loginFailureTracker.flush();
+		loginFailureTracker.flush();
+
+		verify(mockJdbcTemplate, times(2)).batchUpdate(anyString(), any(List.class), any(int[].class));
+	}
+
+	@Test
+	void test_flush_Forgets_Stale_Failures_And_Persists_Them_Cleared() {
+		loginFailureTracker.recordFailure("seven@gmail.com");
+		loginFailureTracker.flush();
+		now.addAndGet(TimeUnit.MINUTES.toMillis(31));
+
+		loginFailureTracker.flush();
+
+		assertEquals(0.0, meterRegistry.get("login.failure.tracked").gauge().value());
+		verify(mockJdbcTemplate, times(2)).batchUpdate(anyString(), any(List.class), any(int[].class));
+	}
+}
@@ -0,0 +1,166 @@
+package com.neec.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neec.entity.OutboxMessage;
+import com.neec.repository.OutboxMessageRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+	@Mock
+	private OutboxMessageRepository mockOutboxMessageRepository;
+	@Mock
+	private BatchingAmqpPublisher mockBatchingAmqpPublisher;
+	private PlatformTransactionManager mockTransactionManager = mock(PlatformTransactionManager.class);
+	private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private OutboxRelay outboxRelay;
+
+	@BeforeEach
+	void setUp() {
+		outboxRelay = new OutboxRelay(mockOutboxMessageRepository, mockBatchingAmqpPublisher,
+				new TransactionTemplate(mockTransactionManager), meterRegistry);
+		ReflectionTestUtils.setField(outboxRelay, "batchSize", 10);
+		ReflectionTestUtils.setField(outboxRelay, "confirmTimeoutMillis", 200L);
+		ReflectionTestUtils.setField(outboxRelay, "claimMillis", 60000L);
+		ReflectionTestUtils.setField(outboxRelay, "backoffInitialMillis", 1000L);
+		ReflectionTestUtils.setField(outboxRelay, "backoffMaxMillis", 60000L);
+	}
+
+	@Test
+	void test_relay_AckedMessages_Published_With_Original_Type_And_Deleted() {
+		OutboxMessage outboxMessage = outboxMessage(1L);
+		when(mockOutboxMessageRepository.lockDueMessages(any(OffsetDateTime.class), anyInt()))
+			.thenReturn(List.of(outboxMessage));
+		when(mockBatchingAmqpPublisher.publish(anyString(), anyString(), any(Object.class)))
+			.thenReturn(CompletableFuture.completedFuture(null));
+
+		outboxRelay.relay();
+
+		ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+		verify(mockBatchingAmqpPublisher).publish(eq("email_exchange"), eq("routing.key"), messageCaptor.capture());
+		Message message = messageCaptor.getValue();
+		assertEquals(outboxMessage.getPayload(), new String(message.getBody(), StandardCharsets.UTF_8));
+		assertEquals("com.neec.dto.AccountStatusChangedEventDTO", message.getMessageProperties().getHeader("__TypeId__"));
+		assertEquals(MessageProperties.CONTENT_TYPE_JSON, message.getMessageProperties().getContentType());
+		verify(mockOutboxMessageRepository).deleteAllByIdInBatch(List.of(1L));
+		assertEquals(1.0, meterRegistry.get("outbox.relay.published").counter().count());
+	}
+
+	@Test
+	void test_relay_Claims_Rows_Then_Awaits_Confirms_Outside_The_Transaction() {
+		OutboxMessage outboxMessage = outboxMessage(1L);
+		when(mockOutboxMessageRepository.lockDueMessages(any(OffsetDateTime.class), anyInt()))
+			.thenReturn(List.of(outboxMessage));
+		when(mockBatchingAmqpPublisher.publish(anyString(), anyString(), any(Object.class)))
+			.thenReturn(CompletableFuture.completedFuture(null));
+		OffsetDateTime before = OffsetDateTime.now(ZoneOffset.UTC);
+
+		outboxRelay.relay();
+
+		assertTrue(outboxMessage.getNextAttemptAt().isAfter(before.plusSeconds(59)),
+				"Expected: claimed rows hidden from other relays while their confirms are awaited");
+		InOrder inOrder = inOrder(mockTransactionManager, mockOutboxMessageRepository, mockBatchingAmqpPublisher);
+		inOrder.verify(mockOutboxMessageRepository).lockDueMessages(any(OffsetDateTime.class), anyInt());
+		inOrder.verify(mockTransactionManager).commit(any());
+		inOrder.verify(mockBatchingAmqpPublisher).publish(anyString(), anyString(), any(Object.class));
+		inOrder.verify(mockTransactionManager).getTransaction(any());
+		inOrder.verify(mockOutboxMessageRepository).deleteAllByIdInBatch(List.of(1L));
+		inOrder.verify(mockTransactionManager).commit(any());
+	}
+
+	@Test
+	void test_relay_Row_Without_PayloadType_Published_Without_TypeId() {
+		OutboxMessage outboxMessage = outboxMessage(1L);
+		outboxMessage.setPayloadType(null);
+		when(mockOutboxMessageRepository.lockDueMessages(any(OffsetDateTime.class), anyInt()))
+			.thenReturn(List.of(outboxMessage));
+		when(mockBatchingAmqpPublisher.publish(anyString(), anyString(), any(Object.class)))
+			.thenReturn(CompletableFuture.completedFuture(null));
+
+		outboxRelay.relay();
+
+		ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+		verify(mockBatchingAmqpPublisher).publish(anyString(), anyString(), messageCaptor.capture());
+		assertNull(messageCaptor.getValue().getMessageProperties().getHeader("__TypeId__"));
+	}
+
+	@Test
+	void test_relay_NackedMessage_Rescheduled_With_Backoff() {
+		OutboxMessage outboxMessage = outboxMessage(1L);
+		when(mockOutboxMessageRepository.lockDueMessages(any(OffsetDateTime.class), anyInt()))
+			.thenReturn(List.of(outboxMessage));
+		when(mockBatchingAmqpPublisher.publish(anyString(), anyString(), any(Object.class)))
+			.thenReturn(CompletableFuture.failedFuture(new AmqpException("nack: broker refused")));
+		OffsetDateTime before = OffsetDateTime.now(ZoneOffset.UTC);
+
+		outboxRelay.relay();
+
+		verify(mockOutboxMessageRepository, never()).deleteAllByIdInBatch(any());
+		ArgumentCaptor<OffsetDateTime> nextAttemptAt = ArgumentCaptor.forClass(OffsetDateTime.class);
+		verify(mockOutboxMessageRepository).reschedule(eq(1L), eq(1), nextAttemptAt.capture(), startsWith("nack"));
+		assertTrue(nextAttemptAt.getValue().isAfter(before.plusNanos(400_000_000))
+				&& nextAttemptAt.getValue().isBefore(before.plusSeconds(2)),
+				"Expected: retry pushed back by the initial backoff, not the claim");
+		assertEquals(1.0, meterRegistry.get("outbox.relay.failed").counter().count());
+	}
+
+	@Test
+	void test_relay_NoConfirm_TimesOut_And_Reschedules() {
+		OutboxMessage outboxMessage = outboxMessage(1L);
+		outboxMessage.setAttempts(3);
+		when(mockOutboxMessageRepository.lockDueMessages(any(OffsetDateTime.class), anyInt()))
+			.thenReturn(List.of(outboxMessage));
+		when(mockBatchingAmqpPublisher.publish(anyString(), anyString(), any(Object.class)))
+			.thenReturn(new CompletableFuture<>());
+
+		outboxRelay.relay();
+
+		verify(mockOutboxMessageRepository).reschedule(eq(1L), eq(4), any(OffsetDateTime.class), eq("confirm timed out"));
+	}
+
+	private OutboxMessage outboxMessage(long id) {
+		return OutboxMessage.builder()
+				.outboxMessageId(id)
+				.exchange("email_exchange")
+				.routingKey("routing.key")
+				.payload("{\"status\":\"SUSPENDED\",\"userLoginIds\":[7],\"emailAddresses\":[\"new.email.address@gmail.com\"],"
+						+ "\"changedAt\":1760774400000}")
+				.payloadType("com.neec.dto.AccountStatusChangedEventDTO")
+				.nextAttemptAt(OffsetDateTime.now(ZoneOffset.UTC))
+				.build();
+	}
+}
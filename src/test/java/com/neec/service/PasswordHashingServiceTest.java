@@ -0,0 +1,123 @@
+package com.neec.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.neec.exception.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class PasswordHashingServiceTest {
+	@Mock
+	private PasswordEncoder mockPasswordEncoder;
+	private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private PasswordHashingService passwordHashingService;
+
+	@AfterEach
+	void tearDown() {
+		passwordHashingService.shutdown();
+	}
+
+	@Test
+	void test_encode_DelegatesToEncoder_On_HashingPool() {
+		createService(1, 1, 1000);
+		when(mockPasswordEncoder.encode("P@$$w0rd")).thenAnswer(invocation -> {
+			assertTrue(Thread.currentThread().getName().startsWith("password-hashing-"),
+					"Expected: hashing must run on the hashing pool");
+			return "hashed-password";
+		});
+		assertEquals("hashed-password", passwordHashingService.encode("P@$$w0rd"));
+	}
+
+	@Test
+	void test_matches_QueueFull_Raise_ServiceOverloadedException() throws Exception {
+		createService(1, 1, 5000);
+		CountDownLatch workerBusy = new CountDownLatch(1);
+		CountDownLatch releaseWorker = new CountDownLatch(1);
+		when(mockPasswordEncoder.matches(any(CharSequence.class), any(String.class))).thenAnswer(invocation -> {
+			workerBusy.countDown();
+			releaseWorker.await(5, TimeUnit.SECONDS);
+			return true;
+		});
+		CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(
+				() -> passwordHashingService.matches("P@$$w0rd", "hashed-password"));
+		assertTrue(workerBusy.await(5, TimeUnit.SECONDS));
+		CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(
+				() -> passwordHashingService.matches("P@$$w0rd", "hashed-password"));
+		waitForQueueDepth(1);
+
+		ServiceOverloadedException ex = assertThrows(ServiceOverloadedException.class,
+				() -> passwordHashingService.matches("P@$$w0rd", "hashed-password"));
+		assertEquals(2L, ex.getRetryAfterSeconds());
+		releaseWorker.countDown();
+		assertTrue(running.get(5, TimeUnit.SECONDS));
+		assertTrue(queued.get(5, TimeUnit.SECONDS));
+		assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+	}
+
+	@Test
+	void test_matches_QueueWaitExceeded_Raise_ServiceOverloadedException() throws Exception {
+		createService(1, 10, 50);
+		CountDownLatch workerBusy = new CountDownLatch(1);
+		when(mockPasswordEncoder.matches(any(CharSequence.class), any(String.class))).thenAnswer(invocation -> {
+			workerBusy.countDown();
+			Thread.sleep(300);
+			return true;
+		});
+		CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(
+				() -> passwordHashingService.matches("P@$$w0rd", "hashed-password"));
+		assertTrue(workerBusy.await(5, TimeUnit.SECONDS));
+		assertThrows(ServiceOverloadedException.class,
+				() -> passwordHashingService.matches("P@$$w0rd", "hashed-password"));
+		assertTrue(running.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void test_matchesNothingAsync_Computes_Dummy_Hash_Once() {
+		createService(1, 10, 1000);
+		when(mockPasswordEncoder.encode(any(CharSequence.class))).thenReturn("dummy-hash");
+		when(mockPasswordEncoder.matches(any(CharSequence.class), any(String.class))).thenReturn(false);
+
+		assertFalse(passwordHashingService.matchesNothingAsync("P@$$w0rd").join());
+		assertFalse(passwordHashingService.matchesNothingAsync("P@$$w0rd").join());
+
+		verify(mockPasswordEncoder, times(1)).encode(any(CharSequence.class));
+		verify(mockPasswordEncoder, times(2)).matches("P@$$w0rd", "dummy-hash");
+	}
+
+	private void createService(int poolSize, int queueCapacity, long maxQueueWaitMillis) {
+		passwordHashingService = new PasswordHashingService(mockPasswordEncoder, meterRegistry);
+		ReflectionTestUtils.setField(passwordHashingService, "poolSize", poolSize);
+		ReflectionTestUtils.setField(passwordHashingService, "queueCapacity", queueCapacity);
+		ReflectionTestUtils.setField(passwordHashingService, "maxQueueWaitMillis", maxQueueWaitMillis);
+		ReflectionTestUtils.setField(passwordHashingService, "retryAfterSeconds", 2L);
+		passwordHashingService.init();
+	}
+
+	private void waitForQueueDepth(int expectedDepth) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while(meterRegistry.get("password.hashing.queue.depth").gauge().value() < expectedDepth
+				&& System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+	}
+}
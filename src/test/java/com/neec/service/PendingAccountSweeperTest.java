@@ -0,0 +1,109 @@
+package com.neec.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neec.repository.UserLoginRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class PendingAccountSweeperTest {
+	@Mock
+	private UserLoginRepository mockUserLoginRepository;
+	@Mock
+	private SchedulerLeaseService mockSchedulerLeaseService;
+	@Mock
+	private CredentialCache mockCredentialCache;
+	private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private PendingAccountSweeper pendingAccountSweeper;
+
+	@BeforeEach
+	void setUp() {
+		pendingAccountSweeper = new PendingAccountSweeper(mockUserLoginRepository, mockSchedulerLeaseService,
+				mockCredentialCache, new TransactionTemplate(mock(PlatformTransactionManager.class)), meterRegistry);
+		ReflectionTestUtils.setField(pendingAccountSweeper, "gracePeriodHours", 72L);
+		ReflectionTestUtils.setField(pendingAccountSweeper, "chunkSize", 2);
+		ReflectionTestUtils.setField(pendingAccountSweeper, "throttleMillis", 0L);
+		ReflectionTestUtils.setField(pendingAccountSweeper, "leaseSeconds", 120L);
+	}
+
+	@Test
+	void test_sweep_LeaseHeldElsewhere_Deletes_Nothing() {
+		when(mockSchedulerLeaseService.tryAcquire(PendingAccountSweeper.LEASE_NAME, Duration.ofSeconds(120)))
+			.thenReturn(false);
+
+		pendingAccountSweeper.sweep();
+
+		verify(mockUserLoginRepository, never()).deleteExpiredPendingAccounts(any(), anyLong(), anyInt());
+		assertEquals(0, meterRegistry.get("pending.account.sweeper.run").timer().count());
+	}
+
+	@Test
+	void test_sweep_Pages_By_Keyset_Until_Short_Chunk() {
+		when(mockSchedulerLeaseService.tryAcquire(PendingAccountSweeper.LEASE_NAME, Duration.ofSeconds(120)))
+			.thenReturn(true);
+		when(mockUserLoginRepository.deleteExpiredPendingAccounts(any(OffsetDateTime.class), eq(0L), eq(2)))
+			.thenReturn(List.of(deletedAccount(7L, "a@x.com"), deletedAccount(3L, "b@x.com")));
+		when(mockUserLoginRepository.deleteExpiredPendingAccounts(any(OffsetDateTime.class), eq(7L), eq(2)))
+			.thenReturn(List.of(deletedAccount(9L, "c@x.com")));
+
+		pendingAccountSweeper.sweep();
+
+		verify(mockUserLoginRepository, times(2)).deleteExpiredPendingAccounts(any(OffsetDateTime.class), anyLong(), eq(2));
+		verify(mockCredentialCache).invalidate("a@x.com");
+		verify(mockCredentialCache).invalidate("b@x.com");
+		verify(mockCredentialCache).invalidate("c@x.com");
+		verify(mockSchedulerLeaseService, times(2)).tryAcquire(PendingAccountSweeper.LEASE_NAME, Duration.ofSeconds(120));
+		assertEquals(3.0, meterRegistry.get("pending.account.sweeper.deleted").counter().count());
+		assertEquals(1, meterRegistry.get("pending.account.sweeper.run").timer().count());
+	}
+
+	@Test
+	void test_sweep_LeaseLostBetweenChunks_Stops() {
+		when(mockSchedulerLeaseService.tryAcquire(PendingAccountSweeper.LEASE_NAME, Duration.ofSeconds(120)))
+			.thenReturn(true, false);
+		when(mockUserLoginRepository.deleteExpiredPendingAccounts(any(OffsetDateTime.class), eq(0L), eq(2)))
+			.thenReturn(List.of(deletedAccount(1L, "a@x.com"), deletedAccount(2L, "b@x.com")));
+
+		pendingAccountSweeper.sweep();
+
+		verify(mockUserLoginRepository, times(1)).deleteExpiredPendingAccounts(any(OffsetDateTime.class), anyLong(), anyInt());
+		assertEquals(2.0, meterRegistry.get("pending.account.sweeper.deleted").counter().count());
+	}
+
+	private static UserLoginRepository.AccountKey deletedAccount(long userLoginId, String emailAddressCanonical) {
+		return new UserLoginRepository.AccountKey() {
+			@Override
+			public Long getUserLoginId() {
+				return userLoginId;
+			}
+
+			@Override
+			public String getEmailAddressCanonical() {
+				return emailAddressCanonical;
+			}
+		};
+	}
+}
@@ -0,0 +1,138 @@
+package com.neec.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.neec.exception.InvalidRefreshTokenException;
+import com.neec.repository.RefreshTokenFamilyRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class RefreshTokenServiceTest {
+	@Mock
+	private RefreshTokenFamilyRepository mockRefreshTokenFamilyRepository;
+	private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private RefreshTokenService refreshTokenService;
+
+	@BeforeEach
+	void setUp() {
+		refreshTokenService = createService("0123456789abcdef0123456789abcdef", 480L);
+	}
+
+	@Test
+	void test_issue_Then_verify_Return_Generation_Zero() {
+		RefreshTokenService.RefreshToken token = refreshTokenService.verify(refreshTokenService.issue(42L));
+		assertEquals(42L, token.userLoginId());
+		assertEquals(0, token.generation());
+	}
+
+	@Test
+	void test_verify_TamperedToken_Raise_InvalidRefreshTokenException() {
+		String refreshToken = refreshTokenService.issue(42L);
+		// a middle signature character; the last one also carries padding bits, which decoding ignores
+		int index = (refreshToken.indexOf('.') + 1 + refreshToken.length()) / 2;
+		char replaced = refreshToken.charAt(index) == 'A' ? 'B' : 'A';
+		String tampered = refreshToken.substring(0, index) + replaced + refreshToken.substring(index + 1);
+		assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.verify(tampered));
+		assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.verify("not-a-token"));
+		assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.verify("a.b.c"));
+	}
+
+	@Test
+	void test_verify_TokenSignedWithOtherSecret_Raise_InvalidRefreshTokenException() {
+		String refreshToken = createService("another secret text, also 32 bytes", 480L).issue(42L);
+		assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.verify(refreshToken));
+	}
+
+	@Test
+	void test_verify_ExpiredToken_Raise_InvalidRefreshTokenException() {
+		String refreshToken = createService("0123456789abcdef0123456789abcdef", -1L).issue(42L);
+		assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.verify(refreshToken));
+	}
+
+	@Test
+	void test_rotate_FirstRefresh_Creates_Family_At_Next_Generation() {
+		RefreshTokenService.RefreshToken token = refreshTokenService.verify(refreshTokenService.issue(42L));
+		when(mockRefreshTokenFamilyRepository.advanceGeneration(eq(token.familyId()), eq(0), any(OffsetDateTime.class),
+				any(OffsetDateTime.class))).thenReturn(0);
+		when(mockRefreshTokenFamilyRepository.insertIfAbsent(eq(token.familyId()), eq(42L), eq(1),
+				any(OffsetDateTime.class), any(OffsetDateTime.class))).thenReturn(1);
+
+		RefreshTokenService.RefreshToken next = refreshTokenService.verify(refreshTokenService.rotate(token));
+		assertEquals(token.familyId(), next.familyId());
+		assertEquals(1, next.generation());
+		verify(mockRefreshTokenFamilyRepository, never()).revokeFamily(any(UUID.class), any(OffsetDateTime.class));
+	}
+
+	@Test
+	void test_rotate_CurrentGeneration_Advances_Without_Insert() {
+		long familyExpiresAt = Instant.now().getEpochSecond() + 600;
+		RefreshTokenService.RefreshToken token =
+				new RefreshTokenService.RefreshToken(UUID.randomUUID(), 42L, 3, 0L, familyExpiresAt);
+		when(mockRefreshTokenFamilyRepository.advanceGeneration(eq(token.familyId()), eq(3), any(OffsetDateTime.class),
+				any(OffsetDateTime.class))).thenReturn(1);
+
+		RefreshTokenService.RefreshToken next = refreshTokenService.verify(refreshTokenService.rotate(token));
+		assertEquals(4, next.generation());
+		assertEquals(familyExpiresAt, next.expiresAtEpochSeconds(),
+				"Expected: the family's expiry carried forward, not a fresh lifetime");
+		verify(mockRefreshTokenFamilyRepository).advanceGeneration(eq(token.familyId()), eq(3),
+				eq(OffsetDateTime.ofInstant(Instant.ofEpochSecond(familyExpiresAt), ZoneOffset.UTC)),
+				any(OffsetDateTime.class));
+		verify(mockRefreshTokenFamilyRepository, never()).insertIfAbsent(any(UUID.class), anyLong(), anyInt(),
+				any(OffsetDateTime.class), any(OffsetDateTime.class));
+	}
+
+	@Test
+	void test_rotate_ReusedToken_Revokes_Family() {
+		RefreshTokenService.RefreshToken token = refreshTokenService.verify(refreshTokenService.issue(42L));
+		when(mockRefreshTokenFamilyRepository.advanceGeneration(eq(token.familyId()), eq(0), any(OffsetDateTime.class),
+				any(OffsetDateTime.class))).thenReturn(0);
+		when(mockRefreshTokenFamilyRepository.insertIfAbsent(eq(token.familyId()), eq(42L), eq(1),
+				any(OffsetDateTime.class), any(OffsetDateTime.class))).thenReturn(0);
+
+		assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(token));
+		verify(mockRefreshTokenFamilyRepository).revokeFamily(eq(token.familyId()), any(OffsetDateTime.class));
+		assertEquals(1.0, meterRegistry.get("jwt.refresh.reuse.detected").counter().count());
+	}
+
+	@Test
+	void test_purgeExpiredFamilies_Deletes_In_Chunks_Until_Short() {
+		when(mockRefreshTokenFamilyRepository.deleteExpired(any(OffsetDateTime.class), eq(100))).thenReturn(100, 100, 7);
+
+		refreshTokenService.purgeExpiredFamilies();
+
+		verify(mockRefreshTokenFamilyRepository, times(3)).deleteExpired(any(OffsetDateTime.class), eq(100));
+		assertEquals(207.0, meterRegistry.get("jwt.refresh.family.purged").counter().count());
+	}
+
+	private RefreshTokenService createService(String secretText, long expireDurationInMinutes) {
+		RefreshTokenService service = new RefreshTokenService(mockRefreshTokenFamilyRepository, meterRegistry);
+		ReflectionTestUtils.setField(service, "jwtSecretText", secretText);
+		ReflectionTestUtils.setField(service, "refreshTokenExpireDurationInMinutes", expireDurationInMinutes);
+		ReflectionTestUtils.setField(service, "purgeChunkSize", 100);
+		service.init();
+		return service;
+	}
+}
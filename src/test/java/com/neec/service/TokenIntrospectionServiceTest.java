@@ -0,0 +1,110 @@
+package com.neec.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.neec.dto.IntrospectionResponseDTO;
+import com.neec.enums.EnumJwtSigningAlgorithm;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TokenIntrospectionServiceTest {
+	private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private TokenRevocationService mockTokenRevocationService = mock(TokenRevocationService.class);
+	private JwtService jwtService;
+	private TokenIntrospectionService tokenIntrospectionService;
+
+	@BeforeEach
+	void setUp() {
+		jwtService = spy(new JwtService(mock(JwtKeyRing.class)));
+		ReflectionTestUtils.setField(jwtService, "jwtSecretText", "0123456789abcdef0123456789abcdef");
+		ReflectionTestUtils.setField(jwtService, "signingAlgorithm", EnumJwtSigningAlgorithm.HS256);
+		ReflectionTestUtils.setField(jwtService, "jwtTokenExpireDurationInMinutes", 10L);
+		jwtService.init();
+		tokenIntrospectionService = new TokenIntrospectionService(jwtService, mockTokenRevocationService, meterRegistry);
+		ReflectionTestUtils.setField(tokenIntrospectionService, "cacheMaximumSize", 100L);
+		tokenIntrospectionService.init();
+	}
+
+	@Test
+	void test_introspect_ValidToken_Return_ActiveWithClaims() {
+		String jwtToken = jwtService.generateJwtToken(42L, "john@example.com", "STUDENT");
+		IntrospectionResponseDTO response = tokenIntrospectionService.introspect(jwtToken);
+		assertTrue(response.isActive());
+		assertEquals("42", response.getSub());
+		assertEquals("john@example.com", response.getEmailAddress());
+		assertEquals(List.of("STUDENT"), response.getRoles());
+		assertEquals(600L, response.getExp() - response.getIat());
+	}
+
+	@Test
+	void test_introspect_RepeatedToken_Verifies_SignatureOnce() {
+		String jwtToken = jwtService.generateJwtToken(42L, "john@example.com", "STUDENT");
+		tokenIntrospectionService.introspect(jwtToken);
+		IntrospectionResponseDTO response = tokenIntrospectionService.introspect(jwtToken);
+		assertTrue(response.isActive());
+		verify(jwtService, times(1)).parseToken(jwtToken);
+		assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.introspection").tag("result", "hit")
+				.functionCounter().count());
+	}
+
+	@Test
+	void test_introspect_TamperedToken_Return_Inactive_NotCached() {
+		String jwtToken = jwtService.generateJwtToken(42L, "john@example.com", "STUDENT");
+		String tampered = jwtToken.substring(0, jwtToken.length() - 2) + (jwtToken.endsWith("AA") ? "BB" : "AA");
+		IntrospectionResponseDTO response = tokenIntrospectionService.introspect(tampered);
+		assertFalse(response.isActive());
+		assertNull(response.getSub());
+		tokenIntrospectionService.introspect(tampered);
+		verify(jwtService, times(2)).parseToken(tampered);
+	}
+
+	@Test
+	void test_introspect_ExpiredToken_Return_Inactive() {
+		ReflectionTestUtils.setField(jwtService, "jwtTokenExpireDurationInMinutes", -1L);
+		String jwtToken = jwtService.generateJwtToken(42L, "john@example.com", "STUDENT");
+		assertFalse(tokenIntrospectionService.introspect(jwtToken).isActive());
+	}
+
+	@Test
+	void test_introspect_CachedToken_RevokedAfterwards_Return_Inactive() {
+		String jwtToken = jwtService.generateJwtToken(42L, "john@example.com", "STUDENT");
+		assertTrue(tokenIntrospectionService.introspect(jwtToken).isActive());
+		when(mockTokenRevocationService.isRevoked(eq(42L), anyLong())).thenReturn(true);
+		assertFalse(tokenIntrospectionService.introspect(jwtToken).isActive());
+		verify(jwtService, times(1)).parseToken(jwtToken);
+	}
+
+	@Test
+	void test_introspect_Checks_Revocation_With_Millisecond_Issue_Time() {
+		long before = System.currentTimeMillis();
+		String jwtToken = jwtService.generateJwtToken(42L, "john@example.com", "STUDENT");
+		long after = System.currentTimeMillis();
+		assertTrue(tokenIntrospectionService.introspect(jwtToken).isActive());
+		ArgumentCaptor<Long> issuedAtMillis = ArgumentCaptor.forClass(Long.class);
+		verify(mockTokenRevocationService).isRevoked(eq(42L), issuedAtMillis.capture());
+		assertTrue(issuedAtMillis.getValue() >= before && issuedAtMillis.getValue() <= after,
+				"Expected: issuedAtMillis claim, not iat rounded to the second");
+	}
+
+	@Test
+	void test_introspect_Garbage_Return_Inactive() {
+		assertFalse(tokenIntrospectionService.introspect("not-a-jwt").isActive());
+	}
+}
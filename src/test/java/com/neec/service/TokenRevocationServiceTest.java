@@ -0,0 +1,163 @@
+package com.neec.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.neec.dto.RevocationDeltaDTO;
+import com.neec.entity.TokenRevocation;
+import com.neec.repository.TokenRevocationRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenRevocationServiceTest {
+	@Mock
+	private TokenRevocationRepository mockTokenRevocationRepository;
+	@Mock
+	private JdbcTemplate mockJdbcTemplate;
+	private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private TokenRevocationService tokenRevocationService;
+	private static final OffsetDateTime STARTUP_OLDEST_OPEN = OffsetDateTime.parse("2026-01-01T10:00:00Z");
+
+	@BeforeEach
+	void setUp() {
+		tokenRevocationService = new TokenRevocationService(mockTokenRevocationRepository,
+				new TransactionTemplate(mock(PlatformTransactionManager.class)), mockJdbcTemplate, meterRegistry);
+		ReflectionTestUtils.setField(tokenRevocationService, "jwtTokenExpireDurationInMinutes", 10L);
+		ReflectionTestUtils.setField(tokenRevocationService, "refreshTokenExpireDurationInMinutes", 480L);
+		ReflectionTestUtils.setField(tokenRevocationService, "bloomExpectedEntries", 1000L);
+		ReflectionTestUtils.setField(tokenRevocationService, "bloomFalsePositiveProbability", 0.01);
+		lenient().when(mockJdbcTemplate.queryForObject(anyString(), eq(OffsetDateTime.class))).thenReturn(STARTUP_OLDEST_OPEN);
+	}
+
+	@Test
+	void test_revokeAllTokens_Revokes_Tokens_Issued_Before_Only() {
+		tokenRevocationService.init();
+		long now = System.currentTimeMillis();
+		tokenRevocationService.revokeAllTokens(42L);
+
+		assertTrue(tokenRevocationService.isRevoked(42L, now - 60_000));
+		assertFalse(tokenRevocationService.isRevoked(42L, now + 60_000));
+		assertFalse(tokenRevocationService.isRevoked(43L, now - 60_000));
+		ArgumentCaptor<TokenRevocation> captor = ArgumentCaptor.forClass(TokenRevocation.class);
+		verify(mockTokenRevocationRepository).save(captor.capture());
+		assertEquals(42L, captor.getValue().getSubject());
+		assertEquals(captor.getValue().getRevokedBefore().plusMinutes(481), captor.getValue().getExpiresAt(),
+				"Expected: entry kept until refresh tokens issued before it have expired");
+		assertEquals(1.0, meterRegistry.get("token.revocation.entries").gauge().value());
+	}
+
+	@Test
+	void test_revokeAllTokens_ManySubjects_Saves_One_Batch() {
+		tokenRevocationService.init();
+		long now = System.currentTimeMillis();
+		tokenRevocationService.revokeAllTokens(List.of(7L, 8L));
+
+		assertTrue(tokenRevocationService.isRevoked(7L, now - 60_000));
+		assertTrue(tokenRevocationService.isRevoked(8L, now - 60_000));
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<TokenRevocation>> captor = ArgumentCaptor.forClass(List.class);
+		verify(mockTokenRevocationRepository).saveAll(captor.capture());
+		assertEquals(List.of(7L, 8L), captor.getValue().stream().map(TokenRevocation::getSubject).toList());
+		assertEquals(2.0, meterRegistry.get("token.revocation.revoked").counter().count());
+	}
+
+	@Test
+	void test_isRevoked_Same_Second_Compares_Milliseconds() {
+		OffsetDateTime revokedBefore = OffsetDateTime.now(ZoneOffset.UTC).withNano(500_000_000);
+		when(mockTokenRevocationRepository.findByCreatedAtGreaterThanEqualAndExpiresAtAfterOrderByCreatedAt(any(), any()))
+			.thenReturn(List.of(revocation(7L, revokedBefore, revokedBefore.plusMinutes(10), revokedBefore)));
+		tokenRevocationService.init();
+		long revokedBeforeMillis = revokedBefore.toInstant().toEpochMilli();
+
+		assertTrue(tokenRevocationService.isRevoked(7L, revokedBeforeMillis - 1));
+		assertFalse(tokenRevocationService.isRevoked(7L, revokedBeforeMillis),
+				"Expected: a token issued after a logout in the same second stays valid");
+		assertFalse(tokenRevocationService.isRevoked(7L, revokedBeforeMillis + 1));
+	}
+
+	@Test
+	void test_sync_Loads_Revocations_From_Other_Instances() {
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		when(mockTokenRevocationRepository.findByCreatedAtGreaterThanEqualAndExpiresAtAfterOrderByCreatedAt(any(), any()))
+			.thenReturn(List.of(revocation(7L, now, now.plusMinutes(10), now)));
+		tokenRevocationService.init();
+		assertTrue(tokenRevocationService.isRevoked(7L, now.toInstant().toEpochMilli() - 1));
+	}
+
+	@Test
+	void test_sync_Purges_Expired_Entries() {
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		when(mockTokenRevocationRepository.findByCreatedAtGreaterThanEqualAndExpiresAtAfterOrderByCreatedAt(any(), any()))
+			.thenReturn(List.of(revocation(7L, now, now.plusSeconds(1), now)), List.of());
+		tokenRevocationService.init();
+		ReflectionTestUtils.invokeMethod(tokenRevocationService, "purgeExpired", now.toEpochSecond() + 2);
+		assertFalse(tokenRevocationService.isRevoked(7L, now.toInstant().toEpochMilli() - 1));
+		assertEquals(0.0, meterRegistry.get("token.revocation.entries").gauge().value());
+	}
+
+	@Test
+	void test_sync_Resumes_From_Oldest_Transaction_Open_At_Previous_Sync() {
+		tokenRevocationService.init();
+		// a suspension chunk that started before the startup load but committed after it
+		OffsetDateTime lateCommit = STARTUP_OLDEST_OPEN.plusSeconds(1);
+		when(mockJdbcTemplate.queryForObject(anyString(), eq(OffsetDateTime.class)))
+			.thenReturn(STARTUP_OLDEST_OPEN.plusMinutes(1));
+		when(mockTokenRevocationRepository.findByCreatedAtGreaterThanEqualAndExpiresAtAfterOrderByCreatedAt(
+				eq(STARTUP_OLDEST_OPEN), any()))
+			.thenReturn(List.of(revocation(7L, lateCommit, OffsetDateTime.now(ZoneOffset.UTC).plusMinutes(10), lateCommit)));
+
+		tokenRevocationService.sync();
+		assertTrue(tokenRevocationService.isRevoked(7L, lateCommit.toInstant().toEpochMilli() - 1));
+
+		tokenRevocationService.sync();
+		verify(mockTokenRevocationRepository).findByCreatedAtGreaterThanEqualAndExpiresAtAfterOrderByCreatedAt(
+				eq(STARTUP_OLDEST_OPEN.plusMinutes(1)), any());
+	}
+
+	@Test
+	void test_delta_Returns_Entries_And_Oldest_Open_Transaction_As_Cursor() {
+		OffsetDateTime createdAt = OffsetDateTime.now(ZoneOffset.UTC);
+		when(mockTokenRevocationRepository.findByCreatedAtGreaterThanEqualAndExpiresAtAfterOrderByCreatedAt(any(), any()))
+			.thenReturn(List.of(revocation(7L, createdAt, createdAt.plusMinutes(10), createdAt)));
+		RevocationDeltaDTO delta = tokenRevocationService.delta(0L);
+		assertEquals(STARTUP_OLDEST_OPEN.toInstant().toEpochMilli(), delta.getCursor(),
+				"Expected: the next pull resumes from the oldest transaction still open");
+		assertEquals(1, delta.getRevocations().size());
+		assertEquals(7L, delta.getRevocations().get(0).getSub());
+		assertEquals(createdAt.toInstant().toEpochMilli(), delta.getRevocations().get(0).getRevokedBeforeMillis());
+	}
+
+	private TokenRevocation revocation(long subject, OffsetDateTime revokedBefore, OffsetDateTime expiresAt,
+			OffsetDateTime createdAt) {
+		return TokenRevocation.builder()
+				.subject(subject)
+				.revokedBefore(revokedBefore)
+				.expiresAt(expiresAt)
+				.createdAt(createdAt)
+				.build();
+	}
+}
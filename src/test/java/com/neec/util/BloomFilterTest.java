@@ -0,0 +1,38 @@
+package com.neec.util;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTest {
+	@Test
+	void test_mightContain_PutKeys_NeverFalseNegative() {
+		BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+		LongStream.range(0, 10_000).forEach(bloomFilter::put);
+		assertTrue(LongStream.range(0, 10_000).allMatch(bloomFilter::mightContain));
+	}
+
+	@Test
+	void test_mightContain_AbsentKeys_FalsePositiveRate_NearTarget() {
+		BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+		LongStream.range(0, 10_000).forEach(bloomFilter::put);
+		long falsePositives = LongStream.range(1_000_000, 1_100_000).filter(bloomFilter::mightContain).count();
+		assertTrue(falsePositives < 2_000, "Expected: about 1% false positives, was " + falsePositives);
+	}
+
+	@Test
+	void test_put_Concurrent_NeverFalseNegative() {
+		BloomFilter bloomFilter = new BloomFilter(100_000, 0.01);
+		LongStream.range(0, 100_000).parallel().forEach(bloomFilter::put);
+		assertTrue(LongStream.range(0, 100_000).allMatch(bloomFilter::mightContain));
+	}
+
+	@Test
+	void test_constructor_InvalidProbability_Raise_IllegalArgumentException() {
+		assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+		assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+	}
+}
@@ -0,0 +1,38 @@
+package com.neec.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ClientIpResolverTest {
+	private ClientIpResolver clientIpResolver = new ClientIpResolver(List.of("10.0.0.0/8", " 192.168.1.5 ", ""));
+
+	@Test
+	void test_resolve_UntrustedPeer_Ignores_ForwardedFor() {
+		assertEquals("203.0.113.7", clientIpResolver.resolve("203.0.113.7", List.of("1.1.1.1")));
+		assertEquals("203.0.113.7", new ClientIpResolver(List.of()).resolve("203.0.113.7", List.of("1.1.1.1")));
+	}
+
+	@Test
+	void test_resolve_TrustedProxies_Return_Rightmost_Untrusted_Hop() {
+		assertEquals("203.0.113.7", clientIpResolver.resolve("10.0.0.2", List.of("203.0.113.7")));
+		assertEquals("203.0.113.7",
+				clientIpResolver.resolve("10.0.0.2", List.of("1.1.1.1, 203.0.113.7, 192.168.1.5")),
+				"Expected: the client's own entries to the left are not believed");
+		assertEquals("203.0.113.7", clientIpResolver.resolve("10.0.0.2", List.of("1.1.1.1", "203.0.113.7")),
+				"Expected: header lines read in order, as one list");
+		assertEquals("10.0.0.2", clientIpResolver.resolve("10.0.0.2", List.of()));
+	}
+
+	@Test
+	void test_resolve_Only_TrustedHops_Return_Leftmost() {
+		assertEquals("10.1.1.1", clientIpResolver.resolve("10.0.0.2", List.of("10.1.1.1, 192.168.1.5")));
+	}
+
+	@Test
+	void test_resolve_HostName_Is_Not_A_Trusted_Proxy() {
+		assertEquals("proxy.example.com", clientIpResolver.resolve("10.0.0.2", List.of("proxy.example.com , ,")));
+	}
+}
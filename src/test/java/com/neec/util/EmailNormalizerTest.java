@@ -0,0 +1,17 @@
+package com.neec.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class EmailNormalizerTest {
+	@Test
+	void test_canonical_MixedCaseAndSpaces_Lowercased_And_Trimmed() {
+		assertEquals("john.doe@gmail.com", EmailNormalizer.canonical("  John.Doe@GMAIL.com "));
+	}
+
+	@Test
+	void test_canonical_PlusTagAndDots_Kept() {
+		assertEquals("john.doe+exams@x.com", EmailNormalizer.canonical("John.Doe+Exams@X.com"));
+	}
+}
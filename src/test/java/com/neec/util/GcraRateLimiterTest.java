@@ -0,0 +1,50 @@
+package com.neec.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class GcraRateLimiterTest {
+	private AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+
+	@Test
+	void test_tryAcquire_Burst_Then_Rejected_Until_Refill() {
+		GcraRateLimiter limiter = new GcraRateLimiter(3, 1000, 100, clock::get);
+		for(int attempt = 0; attempt < 3; attempt++) {
+			assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+		}
+		assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.tryAcquire("10.0.0.1"));
+
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+		assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+		assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+	}
+
+	@Test
+	void test_tryAcquire_Keys_Limited_Independently() {
+		GcraRateLimiter limiter = new GcraRateLimiter(1, 1000, 100, clock::get);
+		assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+		assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+		assertEquals(0, limiter.tryAcquire("10.0.0.2"));
+	}
+
+	@Test
+	void test_tryAcquire_Concurrent_Admits_Exactly_Burst() {
+		GcraRateLimiter limiter = new GcraRateLimiter(50, 60_000, 100);
+		long admitted = IntStream.range(0, 10_000).parallel()
+				.filter(attempt -> limiter.tryAcquire("10.0.0.1") == 0)
+				.count();
+		assertEquals(50, admitted);
+	}
+
+	@Test
+	void test_constructor_InvalidBurst_Raise_IllegalArgumentException() {
+		assertThrows(IllegalArgumentException.class, () -> new GcraRateLimiter(0, 1000, 100));
+	}
+}
@@ -0,0 +1,58 @@
+package com.neec.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.PooledOptimizer;
+import org.junit.jupiter.api.Test;
+
+import com.neec.entity.OutboxMessage;
+import com.neec.entity.UserLogin;
+
+public class PooledSequenceGeneratorTest {
+	@Test
+	void test_configure_Uses_Configured_Allocation_Size_And_Pooled_Optimizer() {
+		try(SessionFactory sessionFactory = sessionFactory(Map.of(PooledSequenceGenerator.ALLOCATION_SIZE_SETTING, "25"))) {
+			PooledSequenceGenerator generator = generator(sessionFactory, UserLogin.class);
+
+			assertEquals("USER_LOGIN_USER_LOGIN_ID_SEQ", generator.getDatabaseStructure().getPhysicalName().render());
+			assertEquals(25, generator.getDatabaseStructure().getIncrementSize());
+			assertInstanceOf(PooledOptimizer.class, generator.getOptimizer());
+		}
+	}
+
+	@Test
+	void test_configure_WithoutSetting_Uses_Default_Allocation_Size() {
+		try(SessionFactory sessionFactory = sessionFactory(Map.of())) {
+			PooledSequenceGenerator generator = generator(sessionFactory, OutboxMessage.class);
+
+			assertEquals(PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE, generator.getDatabaseStructure().getIncrementSize());
+		}
+	}
+
+	// mapping only: no JDBC access, so no database is needed
+	private static SessionFactory sessionFactory(Map<String, Object> settings) {
+		StandardServiceRegistryBuilder registryBuilder = new StandardServiceRegistryBuilder()
+				.applySetting(AvailableSettings.DIALECT, PostgreSQLDialect.class.getName())
+				.applySetting(AvailableSettings.ALLOW_METADATA_ON_BOOT, false)
+				.applySettings(settings);
+		return new MetadataSources(registryBuilder.build())
+				.addAnnotatedClass(UserLogin.class)
+				.addAnnotatedClass(OutboxMessage.class)
+				.buildMetadata()
+				.buildSessionFactory();
+	}
+
+	private static PooledSequenceGenerator generator(SessionFactory sessionFactory, Class<?> entityClass) {
+		return assertInstanceOf(PooledSequenceGenerator.class, sessionFactory.unwrap(SessionFactoryImplementor.class)
+				.getMappingMetamodel().getEntityDescriptor(entityClass).getGenerator());
+	}
+}
@@ -0,0 +1,49 @@
+package com.neec.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+public class ScalableBloomFilterTest {
+	@Test
+	void test_put_BeyondCapacity_Grows_And_NeverFalseNegative() {
+		ScalableBloomFilter bloomFilter = new ScalableBloomFilter(1_000, 0.01);
+		LongStream.range(0, 20_000).forEach(bloomFilter::put);
+		assertTrue(bloomFilter.layerCount() > 1, "Expected: layers added past the initial capacity");
+		assertTrue(LongStream.range(0, 20_000).allMatch(bloomFilter::mightContain));
+	}
+
+	@Test
+	void test_mightContain_BeyondCapacity_FalsePositiveRate_StaysUnderBound() {
+		ScalableBloomFilter bloomFilter = new ScalableBloomFilter(1_000, 0.01);
+		LongStream.range(0, 20_000).forEach(bloomFilter::put);
+		long falsePositives = LongStream.range(1_000_000, 1_100_000).filter(bloomFilter::mightContain).count();
+		assertTrue(falsePositives < 1_500, "Expected: under 1% false positives, was " + falsePositives);
+		assertTrue(bloomFilter.expectedFalsePositiveProbability() < 0.01);
+	}
+
+	@Test
+	void test_put_DuplicateKeys_Counted_Once() {
+		ScalableBloomFilter bloomFilter = new ScalableBloomFilter(1_000, 0.01);
+		bloomFilter.put(42L);
+		bloomFilter.put(42L);
+		assertEquals(1, bloomFilter.size());
+	}
+
+	@Test
+	void test_put_Concurrent_NeverFalseNegative() {
+		ScalableBloomFilter bloomFilter = new ScalableBloomFilter(1_000, 0.01);
+		LongStream.range(0, 50_000).parallel().forEach(bloomFilter::put);
+		assertTrue(LongStream.range(0, 50_000).allMatch(bloomFilter::mightContain));
+	}
+
+	@Test
+	void test_constructor_InvalidProbability_Raise_IllegalArgumentException() {
+		assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(100, 0));
+		assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(100, 1));
+	}
+}